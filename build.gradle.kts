@@ -2,6 +2,7 @@ plugins {
 	java
 	id("org.springframework.boot") version "4.0.2"
 	id("io.spring.dependency-management") version "1.1.7"
+	id("me.champeau.jmh") version "0.7.3"
 }
 
 group = "com.tfxsoftware"
@@ -24,6 +25,18 @@ repositories {
 	mavenCentral()
 }
 
+// Offline balance lab: ./gradlew balanceLab (sources in src/lab/java, kept out of the application jar)
+sourceSets {
+	create("lab") {
+		compileClasspath += sourceSets.main.get().output + sourceSets.main.get().compileClasspath
+		runtimeClasspath += output + compileClasspath + sourceSets.main.get().runtimeClasspath
+	}
+	test {
+		compileClasspath += sourceSets["lab"].output
+		runtimeClasspath += sourceSets["lab"].output
+	}
+}
+
 dependencies {
 	// Spring Boot Starters - Core functionality
 	implementation("org.springframework.boot:spring-boot-starter-data-jpa")
@@ -59,6 +72,19 @@ tasks.withType<Test> {
 	useJUnitPlatform()
 }
 
+// Micro-benchmarks for the engine hot path: ./gradlew jmh (sources in src/jmh/java)
+jmh {
+	jmhVersion = "1.37"
+	benchmarkMode = listOf("thrpt")
+	timeUnit = "ms"
+	profilers = listOf("gc")
+	fork = 1
+	warmupIterations = 3
+	iterations = 5
+	resultFormat = "JSON"
+	includes = providers.gradleProperty("jmhIncludes").map { listOf(it) }.orElse(listOf(".*"))
+}
+
 tasks.register<JavaExec>("dev") {
     group = "application"
     description = "Runs the Spring Boot application"
@@ -68,3 +94,12 @@ tasks.register<JavaExec>("dev") {
 		dependsOn("classes")
 }
 
+tasks.register<JavaExec>("balanceLab") {
+    group = "application"
+    description = "Simulates synthetic leagues in memory to report hero pick/win rates (no database)"
+
+    classpath = sourceSets["lab"].runtimeClasspath
+    mainClass.set("com.tfxsoftware.memserver.modules.matches.lab.BalanceLab")
+    providers.gradleProperty("labArgs").orNull?.let { args(it.split(" ")) }
+    dependsOn("labClasses")
+}
@@ -0,0 +1,36 @@
+package com.tfxsoftware.memserver.modules.events.league;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Season planning for a double round robin league. Match count grows as n(n-1), so throughput per match
+ * should stay flat across team counts.
+ */
+@State(Scope.Benchmark)
+public class SeasonPlanBenchmark {
+
+    @Param({"16", "32", "64"})
+    public int teams;
+
+    private List<UUID> rosterIds;
+    private LocalDateTime startsAt;
+
+    @Setup
+    public void setUp() {
+        rosterIds = new ArrayList<>(teams);
+        for (int i = 0; i < teams; i++) {
+            rosterIds.add(UUID.randomUUID());
+        }
+        startsAt = LocalDateTime.of(2026, 1, 1, 12, 0);
+    }
+
+    @Benchmark
+    public LeagueGenerator.SeasonPlan planSeason() {
+        return LeagueGenerator.planSeason(rosterIds, 2, startsAt, 4, 15, 60);
+    }
+}
@@ -0,0 +1,41 @@
+package com.tfxsoftware.memserver.modules.matches.engine;
+
+import com.tfxsoftware.memserver.modules.heroes.HeroCatalog;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+
+/**
+ * Draft resolution under different ban/intent configurations:
+ * defaults only, preferred heroes without overlap, both teams fighting over the same heroes, and heavy bans.
+ */
+@State(Scope.Benchmark)
+public class DraftResolverBenchmark {
+
+    @Param({"DEFAULTS", "INTENTS", "CONFLICTING_INTENTS", "HEAVY_BANS"})
+    public String scenario;
+
+    private HeroCatalog catalog;
+    private MatchSnapshot match;
+    private List<DraftIntent> homeIntentions;
+    private List<DraftIntent> awayIntentions;
+
+    @Setup
+    public void setUp() {
+        catalog = EngineFixtures.catalog(12, 1L);
+        match = switch (scenario) {
+            case "DEFAULTS" -> EngineFixtures.match(catalog, false, false, 0, 2L);
+            case "INTENTS" -> EngineFixtures.match(catalog, true, false, 2, 2L);
+            case "CONFLICTING_INTENTS" -> EngineFixtures.match(catalog, true, true, 2, 2L);
+            case "HEAVY_BANS" -> EngineFixtures.match(catalog, true, true, 10, 2L);
+            default -> throw new IllegalArgumentException(scenario);
+        };
+        homeIntentions = match.homeIntentions().isEmpty() ? DraftResolver.defaultIntentions(match, match.home()) : match.homeIntentions();
+        awayIntentions = match.awayIntentions().isEmpty() ? DraftResolver.defaultIntentions(match, match.away()) : match.awayIntentions();
+    }
+
+    @Benchmark
+    public DraftResolver.DraftPicks resolve() {
+        return DraftResolver.resolve(homeIntentions, awayIntentions, match.homeBans(), match.awayBans(), catalog);
+    }
+}
@@ -0,0 +1,113 @@
+package com.tfxsoftware.memserver.modules.matches.engine;
+
+import com.tfxsoftware.memserver.modules.heroes.Hero;
+import com.tfxsoftware.memserver.modules.heroes.Hero.HeroArchetype;
+import com.tfxsoftware.memserver.modules.heroes.Hero.HeroRole;
+import com.tfxsoftware.memserver.modules.heroes.Hero.MetaTier;
+import com.tfxsoftware.memserver.modules.heroes.HeroCatalog;
+import com.tfxsoftware.memserver.modules.matches.Match;
+import com.tfxsoftware.memserver.modules.players.Player.PlayerTrait;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Deterministic in-memory inputs for the engine benchmarks (fixed seed, no Spring, no database).
+ */
+public final class EngineFixtures {
+
+    private EngineFixtures() {
+    }
+
+    /**
+     * A hero pool with heroesPerRole heroes for each role, spread over tiers and archetypes.
+     */
+    public static HeroCatalog catalog(int heroesPerRole, long seed) {
+        Random random = new Random(seed);
+        HeroArchetype[] archetypes = HeroArchetype.values();
+        MetaTier[] tiers = MetaTier.values();
+        HeroRole[] roles = HeroRole.values();
+        List<Hero> heroes = new ArrayList<>();
+        int i = 0;
+        for (HeroRole role : roles) {
+            for (int n = 0; n < heroesPerRole; n++) {
+                boolean flex = random.nextInt(4) == 0;
+                heroes.add(Hero.builder()
+                        .id(new UUID(seed, i))
+                        .name("Hero" + i)
+                        .primaryRole(role)
+                        .primaryTier(tiers[random.nextInt(tiers.length)])
+                        .secondaryRole(flex ? roles[random.nextInt(roles.length)] : null)
+                        .secondaryTier(flex ? tiers[random.nextInt(tiers.length)] : null)
+                        .archetype(archetypes[random.nextInt(archetypes.length)])
+                        .build());
+                i++;
+            }
+        }
+        return HeroCatalog.of(1L, heroes);
+    }
+
+    /**
+     * A match between two five-player rosters. With intents, each player names three preferred heroes of
+     * their role; conflicting makes both teams want the same heroes. banCount bans per team from the top of the pool.
+     */
+    public static MatchSnapshot match(HeroCatalog catalog, boolean intents, boolean conflicting, int banCount, long seed) {
+        Random random = new Random(seed);
+        Map<UUID, PlayerSnapshot> players = new HashMap<>();
+        RosterSnapshot home = roster("Home", players, catalog, random);
+        RosterSnapshot away = roster("Away", players, catalog, random);
+
+        List<UUID> homeBans = new ArrayList<>();
+        List<UUID> awayBans = new ArrayList<>();
+        List<Hero> pool = catalog.getHeroes();
+        for (int b = 0; b < banCount; b++) {
+            homeBans.add(pool.get((b * 2) % pool.size()).getId());
+            awayBans.add(pool.get((b * 2 + 1) % pool.size()).getId());
+        }
+
+        List<DraftIntent> homeIntentions = intents ? intentions(home, catalog, 0, 1) : List.of();
+        List<DraftIntent> awayIntentions = intents ? intentions(away, catalog, conflicting ? 0 : 3, 2) : List.of();
+
+        return new MatchSnapshot(new UUID(seed, seed), Match.MatchStatus.SCHEDULED, null, LocalDateTime.of(2026, 1, 1, 18, 0),
+                null, false, home, away, homeBans, awayBans, homeIntentions, awayIntentions, players);
+    }
+
+    private static RosterSnapshot roster(String name, Map<UUID, PlayerSnapshot> players, HeroCatalog catalog, Random random) {
+        PlayerTrait[] traits = PlayerTrait.values();
+        List<UUID> members = new ArrayList<>();
+        for (HeroRole role : HeroRole.values()) {
+            UUID id = new UUID(random.nextLong(), random.nextLong());
+            members.add(id);
+
+            Map<HeroRole, Integer> roleLevels = new EnumMap<>(HeroRole.class);
+            for (HeroRole r : HeroRole.values()) {
+                roleLevels.put(r, r == role ? 5 + random.nextInt(25) : 1 + random.nextInt(10));
+            }
+            Map<UUID, Integer> heroLevels = new HashMap<>();
+            for (Hero hero : catalog.getHeroesForRole(role)) {
+                heroLevels.put(hero.getId(), 1 + random.nextInt(30));
+            }
+            Set<PlayerTrait> playerTraits = random.nextBoolean() ? Set.of(traits[random.nextInt(traits.length)]) : Set.of();
+
+            players.put(id, new PlayerSnapshot(id, name + "-" + role, playerTraits, roleLevels, heroLevels));
+        }
+        return new RosterSnapshot(UUID.nameUUIDFromBytes(name.getBytes()), name, new BigDecimal("6.50"), new BigDecimal("7.00"), 85, members);
+    }
+
+    private static List<DraftIntent> intentions(RosterSnapshot roster, HeroCatalog catalog, int offset, int firstPick) {
+        List<DraftIntent> intentions = new ArrayList<>();
+        HeroRole[] roles = HeroRole.values();
+        for (int i = 0; i < roster.memberIds().size(); i++) {
+            List<Hero> forRole = catalog.getHeroesForRole(roles[i]);
+            intentions.add(new DraftIntent(roster.memberIds().get(i), roles[i],
+                    heroAt(forRole, offset), heroAt(forRole, offset + 1), heroAt(forRole, offset + 2),
+                    firstPick + i * 2));
+        }
+        return intentions;
+    }
+
+    private static UUID heroAt(List<Hero> heroes, int index) {
+        return heroes.isEmpty() ? null : heroes.get(index % heroes.size()).getId();
+    }
+}
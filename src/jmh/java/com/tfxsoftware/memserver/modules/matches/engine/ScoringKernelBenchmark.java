@@ -0,0 +1,42 @@
+package com.tfxsoftware.memserver.modules.matches.engine;
+
+import com.tfxsoftware.memserver.modules.heroes.Hero;
+import com.tfxsoftware.memserver.modules.heroes.HeroCatalog;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Counter/synergy scoring and a full team score for an already resolved draft.
+ */
+@State(Scope.Benchmark)
+public class ScoringKernelBenchmark {
+
+    private HeroCatalog catalog;
+    private MatchSnapshot match;
+    private Hero[] home;
+    private Hero[] away;
+
+    @Setup
+    public void setUp() {
+        catalog = EngineFixtures.catalog(12, 1L);
+        match = EngineFixtures.match(catalog, true, false, 2, 2L);
+        DraftResolver.DraftPicks draft = DraftResolver.resolve(match.homeIntentions(), match.awayIntentions(),
+                match.homeBans(), match.awayBans(), catalog);
+        home = draft.home();
+        away = draft.away();
+    }
+
+    @Benchmark
+    public int counterPoints() {
+        return ScoringKernel.counterPoints(home, away, catalog);
+    }
+
+    @Benchmark
+    public int synergyPoints() {
+        return ScoringKernel.synergyPoints(home, catalog);
+    }
+
+    @Benchmark
+    public TeamScorer.TeamScore teamScore() {
+        return TeamScorer.score(match, match.home(), match.homeIntentions(), home, away, catalog);
+    }
+}
@@ -0,0 +1,26 @@
+package com.tfxsoftware.memserver.modules.matches.engine;
+
+import com.tfxsoftware.memserver.modules.heroes.HeroCatalog;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * One full match simulation (intentions, draft, scoring, winner draw) on the pure kernel.
+ */
+@State(Scope.Benchmark)
+public class SimulationKernelBenchmark {
+
+    private HeroCatalog catalog;
+    private MatchSnapshot match;
+    private long seed;
+
+    @Setup
+    public void setUp() {
+        catalog = EngineFixtures.catalog(12, 1L);
+        match = EngineFixtures.match(catalog, true, false, 2, 2L);
+    }
+
+    @Benchmark
+    public SimulationOutcome simulate() {
+        return SimulationKernel.simulate(match, catalog, seed++);
+    }
+}
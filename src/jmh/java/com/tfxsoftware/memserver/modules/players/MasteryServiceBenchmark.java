@@ -0,0 +1,26 @@
+package com.tfxsoftware.memserver.modules.players;
+
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Experience-to-level lookup, at the bottom, middle and top of the experience table.
+ */
+@State(Scope.Benchmark)
+public class MasteryServiceBenchmark {
+
+    @Param({"100", "50000", "5000000"})
+    public long experience;
+
+    private MasteryService masteryService;
+
+    @Setup
+    public void setUp() {
+        // calculateLevel doesn't touch the repositories
+        masteryService = new MasteryService(null);
+    }
+
+    @Benchmark
+    public int calculateLevel() {
+        return masteryService.calculateLevel(experience);
+    }
+}
@@ -0,0 +1,51 @@
+package com.tfxsoftware.memserver.modules.rosters;
+
+import com.tfxsoftware.memserver.modules.heroes.Hero.HeroRole;
+import com.tfxsoftware.memserver.modules.players.Player;
+import com.tfxsoftware.memserver.modules.players.PlayerHeroMastery;
+import com.tfxsoftware.memserver.modules.players.PlayerRoleMastery;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Roster strength shown on roster responses, over detached entities with a realistic mastery count.
+ */
+@State(Scope.Benchmark)
+public class RosterServiceBenchmark {
+
+    @Param({"10", "60"})
+    public int heroMasteriesPerPlayer;
+
+    private RosterService rosterService;
+    private Roster roster;
+
+    @Setup
+    public void setUp() {
+        // calculateRosterStrength doesn't touch the repository or PlayerService
+        rosterService = new RosterService(null, null);
+
+        Random random = new Random(1L);
+        List<Player> players = new ArrayList<>();
+        for (int p = 0; p < 5; p++) {
+            List<PlayerRoleMastery> roles = new ArrayList<>();
+            for (HeroRole role : HeroRole.values()) {
+                roles.add(PlayerRoleMastery.builder().role(role).level(1 + random.nextInt(30)).build());
+            }
+            List<PlayerHeroMastery> heroes = new ArrayList<>();
+            for (int h = 0; h < heroMasteriesPerPlayer; h++) {
+                heroes.add(PlayerHeroMastery.builder().heroId(UUID.randomUUID()).level(1 + random.nextInt(30)).build());
+            }
+            players.add(Player.builder().nickname("Player" + p).roleMasteries(roles).heroMasteries(heroes).build());
+        }
+        roster = Roster.builder().name("Benchmark").players(players).build();
+    }
+
+    @Benchmark
+    public double calculateRosterStrength() {
+        return rosterService.calculateRosterStrength(roster);
+    }
+}
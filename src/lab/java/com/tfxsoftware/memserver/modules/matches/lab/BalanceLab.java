@@ -0,0 +1,325 @@
+package com.tfxsoftware.memserver.modules.matches.lab;
+
+import com.tfxsoftware.memserver.modules.events.league.LeagueGenerator;
+import com.tfxsoftware.memserver.modules.heroes.Hero;
+import com.tfxsoftware.memserver.modules.heroes.Hero.HeroArchetype;
+import com.tfxsoftware.memserver.modules.heroes.Hero.HeroRole;
+import com.tfxsoftware.memserver.modules.heroes.HeroCatalog;
+import com.tfxsoftware.memserver.modules.heroes.HeroDataInitializer;
+import com.tfxsoftware.memserver.modules.matches.Match;
+import com.tfxsoftware.memserver.modules.matches.engine.DraftIntent;
+import com.tfxsoftware.memserver.modules.matches.engine.MatchSnapshot;
+import com.tfxsoftware.memserver.modules.matches.engine.PlayerSnapshot;
+import com.tfxsoftware.memserver.modules.matches.engine.RosterSnapshot;
+import com.tfxsoftware.memserver.modules.matches.engine.SimulationKernel;
+import com.tfxsoftware.memserver.modules.matches.engine.SimulationOutcome;
+import com.tfxsoftware.memserver.modules.players.Player.PlayerTrait;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Offline "balance lab": simulates whole synthetic leagues with the pure {@link SimulationKernel} to see how
+ * the meta shifts before hero tiers are changed in {@link HeroDataInitializer}.
+ *
+ * Runs fully in memory (no Spring context, no database). Leagues are split across a fork/join pool; each league
+ * is generated from its own seed, so results don't depend on how the work was split.
+ *
+ * Run with: ./gradlew balanceLab -PlabArgs="--leagues=12000 --teams=10 --round-robins=2 --seed=42"
+ */
+public final class BalanceLab {
+
+    /**
+     * Lab parameters. Leagues are round robins over synthetic rosters scheduled by {@link LeagueGenerator#roundRobin}.
+     */
+    public record Config(int leagues, int teamsPerLeague, int roundRobinCount, int bansPerTeam,
+                         double defaultDraftRate, long seed, int parallelism) {
+
+        public static Config defaults() {
+            return new Config(12_000, 10, 2, 2, 0.25, 42L, Runtime.getRuntime().availableProcessors());
+        }
+    }
+
+    private static final int LEAGUES_PER_TASK = 16;
+    private static final LocalDateTime LAB_TIME = LocalDateTime.of(2026, 1, 1, 18, 0);
+
+    private final Config config;
+    private final HeroCatalog catalog;
+    private final Map<UUID, Integer> heroIndex = new HashMap<>();
+    private final List<int[]> schedule;
+    private final Hero[] banPool;
+
+    public BalanceLab(Config config, HeroCatalog catalog) {
+        if (catalog.isEmpty()) {
+            throw new IllegalStateException("Balance lab needs a non-empty hero pool");
+        }
+        this.config = config;
+        this.catalog = catalog;
+        List<Hero> heroes = catalog.getHeroes();
+        for (int i = 0; i < heroes.size(); i++) heroIndex.put(heroes.get(i).getId(), i);
+        this.schedule = LeagueGenerator.roundRobin(config.teamsPerLeague(), config.roundRobinCount());
+
+        // Bans come from the top of the meta, like real managers' bans
+        this.banPool = catalog.getHeroesForTier(Hero.MetaTier.S).toArray(new Hero[0]);
+    }
+
+    public static void main(String[] args) {
+        Config config = parse(args);
+        BalanceReport report = new BalanceLab(config, seedCatalog()).run();
+        System.out.print(report.format());
+    }
+
+    /**
+     * The seeded hero pool with stable ids derived from hero names.
+     */
+    public static HeroCatalog seedCatalog() {
+        List<Hero> heroes = HeroDataInitializer.seedHeroes();
+        for (Hero hero : heroes) {
+            hero.setId(UUID.nameUUIDFromBytes(hero.getName().getBytes(StandardCharsets.UTF_8)));
+        }
+        return HeroCatalog.of(0L, heroes);
+    }
+
+    public BalanceReport run() {
+        long started = System.nanoTime();
+        ForkJoinPool pool = new ForkJoinPool(Math.max(1, config.parallelism()));
+        Stats stats;
+        try {
+            stats = pool.invoke(new LeagueRangeTask(0, config.leagues()));
+        } finally {
+            pool.shutdown();
+        }
+        long elapsedMillis = (System.nanoTime() - started) / 1_000_000;
+        return report(stats, elapsedMillis);
+    }
+
+    private final class LeagueRangeTask extends RecursiveTask<Stats> {
+        private final int from;
+        private final int to;
+
+        private LeagueRangeTask(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Stats compute() {
+            if (to - from <= LEAGUES_PER_TASK) {
+                Stats stats = new Stats(catalog.size());
+                for (int league = from; league < to; league++) {
+                    simulateLeague(league, stats);
+                }
+                return stats;
+            }
+            int mid = (from + to) >>> 1;
+            LeagueRangeTask left = new LeagueRangeTask(from, mid);
+            left.fork();
+            Stats right = new LeagueRangeTask(mid, to).compute();
+            return left.join().merge(right);
+        }
+    }
+
+    private void simulateLeague(int league, Stats stats) {
+        SplittableRandom random = new SplittableRandom(config.seed() * 0x9E3779B97F4A7C15L + league);
+
+        Map<UUID, PlayerSnapshot> players = new HashMap<>();
+        RosterSnapshot[] rosters = new RosterSnapshot[config.teamsPerLeague()];
+        List<DraftIntent>[] playbooks = newPlaybooks(rosters.length);
+        for (int t = 0; t < rosters.length; t++) {
+            rosters[t] = syntheticRoster(league, t, players, random);
+            playbooks[t] = random.nextDouble() < config.defaultDraftRate() ? List.of() : playbook(rosters[t], random);
+        }
+
+        for (int m = 0; m < schedule.size(); m++) {
+            int[] pairing = schedule.get(m);
+            int home = pairing[1];
+            int away = pairing[2];
+            MatchSnapshot match = new MatchSnapshot(
+                    new UUID(~(long) league, m),
+                    Match.MatchStatus.SCHEDULED,
+                    null,
+                    LAB_TIME,
+                    null,
+                    true,
+                    rosters[home],
+                    rosters[away],
+                    bans(random),
+                    bans(random),
+                    playbooks[home],
+                    playbooks[away],
+                    players
+            );
+            stats.record(SimulationKernel.simulate(match, catalog, random.nextLong()), match.home().id());
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<DraftIntent>[] newPlaybooks(int size) {
+        return (List<DraftIntent>[]) new List[size];
+    }
+
+    private RosterSnapshot syntheticRoster(int league, int team, Map<UUID, PlayerSnapshot> players, SplittableRandom random) {
+        HeroRole[] roles = HeroRole.values();
+        PlayerTrait[] traits = PlayerTrait.values();
+        List<UUID> members = new ArrayList<>(roles.length);
+        for (HeroRole role : roles) {
+            UUID id = new UUID(((long) league << 32) | team, role.ordinal());
+            members.add(id);
+
+            Map<HeroRole, Integer> roleLevels = new EnumMap<>(HeroRole.class);
+            for (HeroRole r : roles) {
+                roleLevels.put(r, r == role ? random.nextInt(5, 31) : random.nextInt(1, 11));
+            }
+            Map<UUID, Integer> heroLevels = new HashMap<>();
+            for (Hero hero : catalog.getHeroesForRole(role)) {
+                heroLevels.put(hero.getId(), random.nextInt(1, 31));
+            }
+            Set<PlayerTrait> playerTraits = random.nextInt(3) == 0 ? Set.of(traits[random.nextInt(traits.length)]) : Set.of();
+            players.put(id, new PlayerSnapshot(id, "P" + league + "-" + team + "-" + role, playerTraits, roleLevels, heroLevels));
+        }
+        return new RosterSnapshot(
+                new UUID(league, team),
+                "L" + league + "-T" + team,
+                BigDecimal.valueOf(random.nextDouble(0.0, 10.0)).setScale(2, RoundingMode.HALF_UP),
+                BigDecimal.valueOf(random.nextDouble(2.0, 10.0)).setScale(2, RoundingMode.HALF_UP),
+                random.nextInt(40, 101),
+                members
+        );
+    }
+
+    /**
+     * A roster's season draft: every member on their main role with three preferred heroes for that role.
+     */
+    private List<DraftIntent> playbook(RosterSnapshot roster, SplittableRandom random) {
+        HeroRole[] roles = HeroRole.values();
+        List<DraftIntent> intentions = new ArrayList<>(roster.memberIds().size());
+        for (int i = 0; i < roster.memberIds().size(); i++) {
+            List<Hero> forRole = catalog.getHeroesForRole(roles[i]);
+            intentions.add(new DraftIntent(roster.memberIds().get(i), roles[i],
+                    preferred(forRole, random), preferred(forRole, random), preferred(forRole, random),
+                    random.nextInt(1, 11)));
+        }
+        return intentions;
+    }
+
+    private static UUID preferred(List<Hero> forRole, SplittableRandom random) {
+        return forRole.isEmpty() ? null : forRole.get(random.nextInt(forRole.size())).getId();
+    }
+
+    private List<UUID> bans(SplittableRandom random) {
+        if (config.bansPerTeam() == 0 || banPool.length == 0) return List.of();
+        List<UUID> bans = new ArrayList<>(config.bansPerTeam());
+        for (int b = 0; b < config.bansPerTeam(); b++) {
+            bans.add(banPool[random.nextInt(banPool.length)].getId());
+        }
+        return bans;
+    }
+
+    /**
+     * Per-task counters, merged up the fork/join tree.
+     */
+    private final class Stats {
+        private final long[] picks;
+        private final long[] wins;
+        private final long[][] matchupGames;
+        private final long[][] matchupWins;
+        private long matches;
+
+        private Stats(int heroes) {
+            int archetypes = HeroArchetype.values().length;
+            this.picks = new long[heroes];
+            this.wins = new long[heroes];
+            this.matchupGames = new long[archetypes][archetypes];
+            this.matchupWins = new long[archetypes][archetypes];
+        }
+
+        private void record(SimulationOutcome outcome, UUID homeRosterId) {
+            matches++;
+            boolean homeWon = outcome.winnerId().equals(homeRosterId);
+            recordTeam(outcome.draft().home(), outcome.draft().away(), homeWon);
+            recordTeam(outcome.draft().away(), outcome.draft().home(), !homeWon);
+        }
+
+        private void recordTeam(Hero[] team, Hero[] opponents, boolean won) {
+            for (Hero hero : team) {
+                int index = heroIndex.get(hero.getId());
+                picks[index]++;
+                if (won) wins[index]++;
+                int archetype = hero.getArchetype().ordinal();
+                for (Hero opponent : opponents) {
+                    int opponentArchetype = opponent.getArchetype().ordinal();
+                    matchupGames[archetype][opponentArchetype]++;
+                    if (won) matchupWins[archetype][opponentArchetype]++;
+                }
+            }
+        }
+
+        private Stats merge(Stats other) {
+            matches += other.matches;
+            for (int i = 0; i < picks.length; i++) {
+                picks[i] += other.picks[i];
+                wins[i] += other.wins[i];
+            }
+            for (int a = 0; a < matchupGames.length; a++) {
+                for (int b = 0; b < matchupGames[a].length; b++) {
+                    matchupGames[a][b] += other.matchupGames[a][b];
+                    matchupWins[a][b] += other.matchupWins[a][b];
+                }
+            }
+            return this;
+        }
+    }
+
+    private BalanceReport report(Stats stats, long elapsedMillis) {
+        List<Hero> heroes = catalog.getHeroes();
+        List<BalanceReport.HeroStats> heroStats = new ArrayList<>(heroes.size());
+        for (int i = 0; i < heroes.size(); i++) {
+            Hero hero = heroes.get(i);
+            heroStats.add(new BalanceReport.HeroStats(hero.getName(), hero.getPrimaryRole(), hero.getPrimaryTier(),
+                    hero.getArchetype(), stats.picks[i], rate(stats.picks[i], stats.matches),
+                    rate(stats.wins[i], stats.picks[i])));
+        }
+        heroStats.sort(Comparator.comparingDouble(BalanceReport.HeroStats::winRate).reversed());
+
+        List<BalanceReport.ArchetypeMatchup> matchups = new ArrayList<>();
+        for (HeroArchetype a : HeroArchetype.values()) {
+            for (HeroArchetype b : HeroArchetype.values()) {
+                long games = stats.matchupGames[a.ordinal()][b.ordinal()];
+                if (games == 0) continue;
+                matchups.add(new BalanceReport.ArchetypeMatchup(a, b, catalog.counters(a, b), games,
+                        rate(stats.matchupWins[a.ordinal()][b.ordinal()], games)));
+            }
+        }
+        return new BalanceReport(stats.matches, elapsedMillis, heroStats, matchups);
+    }
+
+    private static double rate(long count, long total) {
+        return total == 0 ? 0.0 : (double) count / total;
+    }
+
+    static Config parse(String[] args) {
+        Config defaults = Config.defaults();
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value, got: " + arg);
+            }
+            int eq = arg.indexOf('=');
+            options.put(arg.substring(2, eq), arg.substring(eq + 1));
+        }
+        return new Config(
+                Integer.parseInt(options.getOrDefault("leagues", String.valueOf(defaults.leagues()))),
+                Integer.parseInt(options.getOrDefault("teams", String.valueOf(defaults.teamsPerLeague()))),
+                Integer.parseInt(options.getOrDefault("round-robins", String.valueOf(defaults.roundRobinCount()))),
+                Integer.parseInt(options.getOrDefault("bans", String.valueOf(defaults.bansPerTeam()))),
+                Double.parseDouble(options.getOrDefault("default-draft-rate", String.valueOf(defaults.defaultDraftRate()))),
+                Long.parseLong(options.getOrDefault("seed", String.valueOf(defaults.seed()))),
+                Integer.parseInt(options.getOrDefault("parallelism", String.valueOf(defaults.parallelism())))
+        );
+    }
+}
@@ -0,0 +1,55 @@
+package com.tfxsoftware.memserver.modules.matches.lab;
+
+import com.tfxsoftware.memserver.modules.heroes.Hero.HeroArchetype;
+import com.tfxsoftware.memserver.modules.heroes.Hero.HeroRole;
+import com.tfxsoftware.memserver.modules.heroes.Hero.MetaTier;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Aggregated balance lab output: per-hero pick/win rates and per-archetype matchup win rates.
+ */
+public record BalanceReport(
+        long matches,
+        long elapsedMillis,
+        List<HeroStats> heroes,
+        List<ArchetypeMatchup> matchups
+) {
+
+    public record HeroStats(String name, HeroRole primaryRole, MetaTier primaryTier, HeroArchetype archetype,
+                            long picks, double pickRate, double winRate) {}
+
+    /**
+     * How often a team with an archetype beat a team fielding the opponent archetype.
+     * counters is the rule from {@link HeroArchetype#counters}, so the two can be compared.
+     */
+    public record ArchetypeMatchup(HeroArchetype archetype, HeroArchetype opponent, boolean counters,
+                                   long games, double winRate) {}
+
+    public double matchesPerMinute() {
+        return elapsedMillis == 0 ? matches : matches * 60_000.0 / elapsedMillis;
+    }
+
+    public String format() {
+        StringBuilder out = new StringBuilder();
+        out.append(String.format(Locale.ROOT, "Simulated %,d matches in %,d ms (%,.0f matches/min)%n%n",
+                matches, elapsedMillis, matchesPerMinute()));
+
+        out.append(String.format(Locale.ROOT, "%-14s %-8s %-4s %-10s %10s %8s %8s%n",
+                "Hero", "Role", "Tier", "Archetype", "Picks", "Pick%", "Win%"));
+        for (HeroStats hero : heroes) {
+            out.append(String.format(Locale.ROOT, "%-14s %-8s %-4s %-10s %,10d %7.2f%% %7.2f%%%n",
+                    hero.name(), hero.primaryRole(), hero.primaryTier(), hero.archetype(),
+                    hero.picks(), hero.pickRate() * 100, hero.winRate() * 100));
+        }
+
+        out.append(String.format(Locale.ROOT, "%n%-10s %-10s %-8s %12s %8s%n", "Archetype", "vs", "Counters", "Games", "Win%"));
+        for (ArchetypeMatchup matchup : matchups) {
+            out.append(String.format(Locale.ROOT, "%-10s %-10s %-8s %,12d %7.2f%%%n",
+                    matchup.archetype(), matchup.opponent(), matchup.counters() ? "yes" : "",
+                    matchup.games(), matchup.winRate() * 100));
+        }
+        return out.toString();
+    }
+}
@@ -0,0 +1,32 @@
+package com.tfxsoftware.memserver.infra.scheduling;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Source and sink of one DeadlineType: tells the DeadlineScheduler when entities are due and does the work once
+ * they are.
+ */
+public interface DeadlineHandler {
+
+    DeadlineType type();
+
+    /**
+     * Every entity whose next work becomes due before until, with the time it does. Later deadlines are picked up
+     * by a later reconcile, before they come due.
+     */
+    Map<UUID, LocalDateTime> pendingDeadlines(LocalDateTime until);
+
+    /**
+     * Next due time of the given entities; entities without further work are left out.
+     */
+    Map<UUID, LocalDateTime> deadlinesFor(Collection<UUID> ids);
+
+    /**
+     * Processes due work. dueIds are the entities that triggered the call; a handler may process everything that
+     * is due by now in the same pass (the batch jobs behind these handlers work that way).
+     */
+    void fire(Collection<UUID> dueIds);
+}
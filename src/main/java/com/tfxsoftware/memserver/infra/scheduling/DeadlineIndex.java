@@ -0,0 +1,60 @@
+package com.tfxsoftware.memserver.infra.scheduling;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Deadlines of one type ordered by due time, with at most one deadline per entity (a later put replaces it).
+ */
+final class DeadlineIndex {
+
+    private final Map<UUID, LocalDateTime> byId = new HashMap<>();
+    private final TreeMap<LocalDateTime, Set<UUID>> byTime = new TreeMap<>();
+
+    synchronized void put(UUID id, LocalDateTime dueAt) {
+        LocalDateTime previous = byId.put(id, dueAt);
+        if (previous != null) {
+            unlink(id, previous);
+        }
+        byTime.computeIfAbsent(dueAt, t -> new HashSet<>()).add(id);
+    }
+
+    synchronized void remove(UUID id) {
+        LocalDateTime previous = byId.remove(id);
+        if (previous != null) {
+            unlink(id, previous);
+        }
+    }
+
+    /**
+     * Removes and returns every entity due at or before now.
+     */
+    synchronized List<UUID> pollDue(LocalDateTime now) {
+        List<UUID> due = new ArrayList<>();
+        SortedMap<LocalDateTime, Set<UUID>> head = byTime.headMap(now, true);
+        for (Set<UUID> ids : head.values()) {
+            due.addAll(ids);
+        }
+        head.clear();
+        due.forEach(byId::remove);
+        return due;
+    }
+
+    /**
+     * Earliest due time, or null when nothing is pending.
+     */
+    synchronized LocalDateTime next() {
+        return byTime.isEmpty() ? null : byTime.firstKey();
+    }
+
+    synchronized int size() {
+        return byId.size();
+    }
+
+    private void unlink(UUID id, LocalDateTime dueAt) {
+        Set<UUID> ids = byTime.get(dueAt);
+        if (ids != null && ids.remove(id) && ids.isEmpty()) {
+            byTime.remove(dueAt);
+        }
+    }
+}
@@ -0,0 +1,197 @@
+package com.tfxsoftware.memserver.infra.scheduling;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.*;
+import java.util.concurrent.ScheduledFuture;
+
+/**
+ * Fires time-based work exactly when it becomes due instead of polling on a cron.
+ * Deadlines are kept in an in-memory index per DeadlineType, loaded from the handlers at startup and fed by
+ * writers through schedule(). A single wake-up is armed on the TaskScheduler for the earliest deadline; when it
+ * fires, the due entities are handed to their handler and their next deadline is read back.
+ * A slow reconcile re-reads the deadlines due before the next reconcile (plus a margin), so writes made by other
+ * nodes are picked up as well without reloading every pending entity each time.
+ * Runs go through the JobRunner as job "deadline-&lt;type&gt;": one run per type at a time by default, types side by side.
+ */
+@Component
+@Slf4j
+public class DeadlineScheduler {
+
+    private final TaskScheduler taskScheduler;
+    private final JobRunner jobRunner;
+    private final ObjectProvider<DeadlineHandler> handlerProvider;
+    private final Duration retryDelay;
+    private final Duration reconcileWindow;
+
+    private final Map<DeadlineType, DeadlineHandler> handlers = new EnumMap<>(DeadlineType.class);
+    private final Map<DeadlineType, DeadlineIndex> indexes = new EnumMap<>(DeadlineType.class);
+
+    private final Object armLock = new Object();
+    private ScheduledFuture<?> wakeUp;
+    private LocalDateTime armedFor;
+    private volatile boolean started;
+
+    public DeadlineScheduler(
+            TaskScheduler taskScheduler,
+            JobRunner jobRunner,
+            ObjectProvider<DeadlineHandler> handlerProvider,
+            @Value("${scheduling.deadlines.retry-delay:PT10S}") Duration retryDelay,
+            @Value("${scheduling.deadlines.reconcile-interval:PT5M}") Duration reconcileInterval,
+            @Value("${scheduling.deadlines.reconcile-margin:PT1M}") Duration reconcileMargin) {
+        this.taskScheduler = taskScheduler;
+        this.jobRunner = jobRunner;
+        // Handlers depend on the services that write deadlines, so they are resolved lazily at startup
+        this.handlerProvider = handlerProvider;
+        this.retryDelay = retryDelay;
+        this.reconcileWindow = reconcileInterval.plus(reconcileMargin);
+        for (DeadlineType type : DeadlineType.values()) {
+            indexes.put(type, new DeadlineIndex());
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        handlerProvider.orderedStream().forEach(handler -> handlers.put(handler.type(), handler));
+        started = true;
+        reconcile();
+    }
+
+    /**
+     * Registers (or moves) the deadline of an entity. Inside a transaction it only takes effect after commit, so
+     * a rolled back write never fires.
+     */
+    public void schedule(DeadlineType type, UUID id, LocalDateTime dueAt) {
+        if (dueAt == null) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    put(type, id, dueAt);
+                }
+            });
+        } else {
+            put(type, id, dueAt);
+        }
+    }
+
+    /**
+     * Re-reads the pending deadlines that come due before the next reconcile (plus the margin, so a late run
+     * misses nothing). Local writes are already in the index; this covers writes from other nodes and leases that
+     * expire without any write.
+     */
+    @Scheduled(fixedDelayString = "${scheduling.deadlines.reconcile-interval:PT5M}",
+               initialDelayString = "${scheduling.deadlines.reconcile-interval:PT5M}")
+    public void reconcile() {
+        if (started) {
+            jobRunner.run("deadline-reconcile", null, this::reloadAll);
+        }
+    }
+
+    private void reloadAll() {
+        LocalDateTime until = LocalDateTime.now().plus(reconcileWindow);
+        for (DeadlineHandler handler : handlers.values()) {
+            try {
+                DeadlineIndex index = indexes.get(handler.type());
+                handler.pendingDeadlines(until).forEach(index::put);
+                log.debug("Deadline index for {} holds {} entries.", handler.type(), index.size());
+            } catch (Exception e) {
+                log.error("Failed to load {} deadlines", handler.type(), e);
+            }
+        }
+        arm();
+    }
+
+    private void put(DeadlineType type, UUID id, LocalDateTime dueAt) {
+        indexes.get(type).put(id, dueAt);
+        arm();
+    }
+
+    /**
+     * Points the wake-up at the earliest deadline of every type that has a free run slot.
+     */
+    private void arm() {
+        if (!started) {
+            return;
+        }
+        synchronized (armLock) {
+            LocalDateTime next = null;
+            for (DeadlineType type : DeadlineType.values()) {
+                LocalDateTime candidate = jobRunner.isSaturated(jobName(type)) ? null : indexes.get(type).next();
+                if (candidate != null && (next == null || candidate.isBefore(next))) {
+                    next = candidate;
+                }
+            }
+            if (wakeUp != null && !wakeUp.isDone()) {
+                if (next != null && next.equals(armedFor)) {
+                    return;
+                }
+                wakeUp.cancel(false);
+            }
+            wakeUp = null;
+            armedFor = next;
+            if (next != null) {
+                wakeUp = taskScheduler.schedule(this::fireDue, next.atZone(ZoneId.systemDefault()).toInstant());
+            }
+        }
+    }
+
+    private void fireDue() {
+        LocalDateTime now = LocalDateTime.now();
+        for (DeadlineType type : DeadlineType.values()) {
+            DeadlineHandler handler = handlers.get(type);
+            DeadlineIndex index = indexes.get(type);
+            if (handler == null || jobRunner.isSaturated(jobName(type))) {
+                continue;
+            }
+            LocalDateTime dueAt = index.next();
+            List<UUID> due = index.pollDue(now);
+            if (due.isEmpty()) {
+                continue;
+            }
+            if (!jobRunner.submit(jobName(type), dueAt, () -> run(handler, due), this::arm)) {
+                // Lost the slot to a concurrent run; keep the entities due so the next wake-up takes them
+                due.forEach(id -> index.put(id, now));
+            }
+        }
+        arm();
+    }
+
+    private void run(DeadlineHandler handler, List<UUID> due) {
+        DeadlineIndex index = indexes.get(handler.type());
+        // A failing run is logged and counted by the JobRunner; the fired entities are refreshed either way
+        try {
+            handler.fire(due);
+        } finally {
+            refresh(handler, index, due);
+        }
+    }
+
+    private void refresh(DeadlineHandler handler, DeadlineIndex index, List<UUID> due) {
+        try {
+            // Still due after the run means the work failed or was only partly done; back off before retrying
+            LocalDateTime retryAt = LocalDateTime.now().plus(retryDelay);
+            handler.deadlinesFor(due).forEach((id, dueAt) -> index.put(id, dueAt.isAfter(LocalDateTime.now()) ? dueAt : retryAt));
+        } catch (Exception e) {
+            log.error("Failed to refresh {} deadlines, waiting for the next reconcile: {}", handler.type(), e.getMessage());
+        }
+    }
+
+    private static String jobName(DeadlineType type) {
+        return "deadline-" + type.name().toLowerCase();
+    }
+}
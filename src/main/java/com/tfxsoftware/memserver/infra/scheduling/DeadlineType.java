@@ -0,0 +1,12 @@
+package com.tfxsoftware.memserver.infra.scheduling;
+
+/**
+ * Kinds of time-based work tracked by the DeadlineScheduler; each has exactly one DeadlineHandler.
+ */
+public enum DeadlineType {
+    MATCH,
+    EVENT,
+    BOOTCAMP,
+    SALARY,
+    LEAGUE_EXTENSION
+}
@@ -0,0 +1,155 @@
+package com.tfxsoftware.memserver.infra.scheduling;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Runs background jobs with a per-job concurrency limit and records run time and lag per job.
+ * A run that would exceed the limit is skipped (overlap protection with the default limit of 1); the limit of a job
+ * can be raised with scheduling.jobs.&lt;job&gt;.max-concurrency when its work is safe to run side by side.
+ */
+@Component
+@Slf4j
+public class JobRunner {
+
+    private final Environment environment;
+    private final int defaultMaxConcurrency;
+    private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+
+    public JobRunner(
+            Environment environment,
+            @Value("${scheduling.jobs.default-max-concurrency:1}") int defaultMaxConcurrency) {
+        this.environment = environment;
+        this.defaultMaxConcurrency = defaultMaxConcurrency;
+    }
+
+    /**
+     * Starts work on a new virtual thread. whenDone runs after the permit is released, also when work fails.
+     * Returns false (and runs nothing) when the job is already at its limit.
+     */
+    public boolean submit(String name, LocalDateTime dueAt, Runnable work, Runnable whenDone) {
+        Job job = job(name);
+        if (!job.tryAcquire()) {
+            return false;
+        }
+        Thread.ofVirtual().name("job-" + name).start(() -> {
+            try {
+                execute(job, dueAt, work);
+            } finally {
+                job.permits.release();
+                whenDone.run();
+            }
+        });
+        return true;
+    }
+
+    /**
+     * Runs work on the calling thread. Returns false when the job is already at its limit.
+     */
+    public boolean run(String name, LocalDateTime dueAt, Runnable work) {
+        Job job = job(name);
+        if (!job.tryAcquire()) {
+            return false;
+        }
+        try {
+            execute(job, dueAt, work);
+        } finally {
+            job.permits.release();
+        }
+        return true;
+    }
+
+    public boolean isSaturated(String name) {
+        return job(name).permits.availablePermits() == 0;
+    }
+
+    public List<JobStats> stats() {
+        return jobs.values().stream()
+                .map(Job::snapshot)
+                .sorted(Comparator.comparing(JobStats::job))
+                .toList();
+    }
+
+    private Job job(String name) {
+        return jobs.computeIfAbsent(name, n -> new Job(n,
+                environment.getProperty("scheduling.jobs." + n + ".max-concurrency", Integer.class, defaultMaxConcurrency)));
+    }
+
+    private void execute(Job job, LocalDateTime dueAt, Runnable work) {
+        LocalDateTime startedAt = LocalDateTime.now();
+        long lagMillis = dueAt == null ? 0 : Math.max(0, Duration.between(dueAt, startedAt).toMillis());
+        long start = System.nanoTime();
+        boolean failed = false;
+        try {
+            work.run();
+        } catch (Exception e) {
+            failed = true;
+            log.error("Job {} failed: {}", job.name, e.getMessage(), e);
+        } finally {
+            job.record(startedAt, lagMillis, (System.nanoTime() - start) / 1_000_000, failed);
+        }
+    }
+
+    private static final class Job {
+        private final String name;
+        private final int maxConcurrency;
+        private final Semaphore permits;
+        private final AtomicLong runs = new AtomicLong();
+        private final AtomicLong skipped = new AtomicLong();
+        private final AtomicLong failures = new AtomicLong();
+        private final AtomicLong totalRunMillis = new AtomicLong();
+        private final AtomicLong lastRunMillis = new AtomicLong();
+        private final AtomicLong maxRunMillis = new AtomicLong();
+        private final AtomicLong lastLagMillis = new AtomicLong();
+        private final AtomicLong maxLagMillis = new AtomicLong();
+        private final AtomicReference<LocalDateTime> lastStartedAt = new AtomicReference<>();
+
+        private Job(String name, int maxConcurrency) {
+            this.name = name;
+            this.maxConcurrency = maxConcurrency;
+            this.permits = new Semaphore(maxConcurrency);
+        }
+
+        private boolean tryAcquire() {
+            if (permits.tryAcquire()) {
+                return true;
+            }
+            skipped.incrementAndGet();
+            log.debug("Job {} skipped: {} run(s) already in progress.", name, maxConcurrency);
+            return false;
+        }
+
+        private void record(LocalDateTime startedAt, long lagMillis, long runMillis, boolean failed) {
+            runs.incrementAndGet();
+            if (failed) {
+                failures.incrementAndGet();
+            }
+            totalRunMillis.addAndGet(runMillis);
+            lastRunMillis.set(runMillis);
+            maxRunMillis.accumulateAndGet(runMillis, Math::max);
+            lastLagMillis.set(lagMillis);
+            maxLagMillis.accumulateAndGet(lagMillis, Math::max);
+            lastStartedAt.set(startedAt);
+        }
+
+        private JobStats snapshot() {
+            long runCount = runs.get();
+            return new JobStats(name, maxConcurrency, maxConcurrency - permits.availablePermits(), runCount,
+                    skipped.get(), failures.get(), lastRunMillis.get(), maxRunMillis.get(),
+                    runCount == 0 ? 0 : totalRunMillis.get() / runCount, lastLagMillis.get(), maxLagMillis.get(),
+                    lastStartedAt.get());
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.tfxsoftware.memserver.infra.scheduling;
+
+import java.time.LocalDateTime;
+
+/**
+ * Point-in-time counters of one background job. Lag is the delay between when a run was due and when it started.
+ */
+public record JobStats(
+        String job,
+        int maxConcurrency,
+        int active,
+        long runs,
+        long skipped,
+        long failures,
+        long lastRunMillis,
+        long maxRunMillis,
+        long averageRunMillis,
+        long lastLagMillis,
+        long maxLagMillis,
+        LocalDateTime lastStartedAt
+) {}
@@ -0,0 +1,28 @@
+package com.tfxsoftware.memserver.infra.scheduling;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/admin/scheduler")
+@RequiredArgsConstructor
+@EnableMethodSecurity
+public class SchedulerController {
+
+    private final JobRunner jobRunner;
+
+    /**
+     * Run time, lag, skipped overlaps and failures of every background job since startup.
+     */
+    @GetMapping("/jobs")
+    @PreAuthorize("hasRole('ADMIN')")
+    public List<JobStats> jobs() {
+        return jobRunner.stats();
+    }
+}
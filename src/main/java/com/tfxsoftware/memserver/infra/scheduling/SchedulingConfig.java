@@ -0,0 +1,27 @@
+package com.tfxsoftware.memserver.infra.scheduling;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.concurrent.SimpleAsyncTaskScheduler;
+
+/**
+ * The scheduler behind @Scheduled methods and the DeadlineScheduler wake-ups. Every trigger runs on its own
+ * virtual thread, so a slow job never holds back an unrelated one; per-job limits are enforced by the JobRunner.
+ */
+@Configuration
+public class SchedulingConfig {
+
+    @Bean
+    public TaskScheduler taskScheduler(
+            @Value("${scheduling.pool.max-concurrency:-1}") int maxConcurrency,
+            @Value("${scheduling.pool.shutdown-timeout-ms:30000}") long shutdownTimeoutMs) {
+        SimpleAsyncTaskScheduler scheduler = new SimpleAsyncTaskScheduler();
+        scheduler.setVirtualThreads(true);
+        scheduler.setThreadNamePrefix("scheduler-");
+        scheduler.setConcurrencyLimit(maxConcurrency);
+        scheduler.setTaskTerminationTimeout(shutdownTimeoutMs);
+        return scheduler;
+    }
+}
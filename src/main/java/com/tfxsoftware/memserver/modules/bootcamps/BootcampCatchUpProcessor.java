@@ -0,0 +1,121 @@
+package com.tfxsoftware.memserver.modules.bootcamps;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Materializes bootcamp ticks for many sessions at once (e.g. every session that ran out of energy during
+ * downtime).
+ * Roster ids are partitioned by hash over a fixed number of workers, so no roster is ever handled by two workers,
+ * and each worker runs its partition in chunks on a virtual thread. Every chunk is its own transaction
+ * (BootcampService.catchUp: one fetch-joined read, one bulk XP upsert), so a bad roster only rolls back its
+ * chunk and the persistence context never holds more than one chunk.
+ */
+@Component
+@Slf4j
+public class BootcampCatchUpProcessor {
+
+    private final BootcampService bootcampService;
+    private final int chunkSize;
+    private final int workers;
+
+    public BootcampCatchUpProcessor(
+            BootcampService bootcampService,
+            @Value("${bootcamps.catch-up.chunk-size:100}") int chunkSize,
+            @Value("${bootcamps.catch-up.workers:4}") int workers) {
+        this.bootcampService = bootcampService;
+        this.chunkSize = Math.max(1, chunkSize);
+        this.workers = Math.max(1, workers);
+    }
+
+    /**
+     * Catches up the sessions of the given rosters and blocks until every chunk is done.
+     */
+    public Result run(Collection<UUID> rosterIds) {
+        long startedAt = System.currentTimeMillis();
+        List<List<UUID>> partitions = partition(rosterIds, workers);
+        AtomicInteger chunks = new AtomicInteger();
+        AtomicInteger failedChunks = new AtomicInteger();
+        AtomicInteger failedRosters = new AtomicInteger();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int worker = 0; worker < partitions.size(); worker++) {
+                List<UUID> partition = partitions.get(worker);
+                int workerId = worker;
+                executor.submit(() -> {
+                    for (int from = 0; from < partition.size(); from += chunkSize) {
+                        List<UUID> chunk = partition.subList(from, Math.min(partition.size(), from + chunkSize));
+                        chunks.incrementAndGet();
+                        if (!runChunk(workerId, chunk)) {
+                            failedChunks.incrementAndGet();
+                            failedRosters.addAndGet(chunk.size());
+                        }
+                    }
+                });
+            }
+        } // close() waits for every worker
+
+        Result result = new Result(rosterIds.size(), chunks.get(), failedChunks.get(), failedRosters.get(),
+                System.currentTimeMillis() - startedAt);
+        if (result.chunks() > 1 || result.failedChunks() > 0) {
+            log.info("Bootcamp catch-up: {} rosters in {} chunks over {} workers, {} chunks failed, {} ms.",
+                    result.rosters(), result.chunks(), partitions.size(), result.failedChunks(), result.elapsedMs());
+        }
+        return result;
+    }
+
+    /**
+     * Catches up the rosters about to play, one roster per transaction, before their matches are loaded.
+     * A roster that fails to catch up is logged and plays with its last materialized vitals; it never fails the
+     * batch its match was claimed in.
+     */
+    public void beforeMatches(Collection<UUID> rosterIds) {
+        if (rosterIds.isEmpty()) {
+            return;
+        }
+        for (UUID rosterId : bootcampService.rostersWithAccruedTicks(rosterIds)) {
+            try {
+                bootcampService.catchUpBeforeMatch(List.of(rosterId));
+            } catch (Exception e) {
+                log.error("Bootcamp catch-up of roster {} before its match failed.", rosterId, e);
+            }
+        }
+    }
+
+    private boolean runChunk(int worker, List<UUID> chunk) {
+        long startedAt = System.currentTimeMillis();
+        try {
+            bootcampService.catchUp(chunk);
+            log.debug("Bootcamp catch-up chunk on worker {}: {} rosters in {} ms.",
+                    worker, chunk.size(), System.currentTimeMillis() - startedAt);
+            return true;
+        } catch (Exception e) {
+            log.error("Bootcamp catch-up chunk on worker {} failed ({} rosters, {} ms).",
+                    worker, chunk.size(), System.currentTimeMillis() - startedAt, e);
+            return false;
+        }
+    }
+
+    /**
+     * Splits roster ids into at most `workers` partitions by hash; empty partitions are dropped.
+     */
+    static List<List<UUID>> partition(Collection<UUID> rosterIds, int workers) {
+        List<List<UUID>> partitions = new ArrayList<>(workers);
+        for (int i = 0; i < workers; i++) {
+            partitions.add(new ArrayList<>());
+        }
+        for (UUID rosterId : new LinkedHashSet<>(rosterIds)) {
+            partitions.get(Math.floorMod(rosterId.hashCode(), workers)).add(rosterId);
+        }
+        partitions.removeIf(List::isEmpty);
+        return partitions;
+    }
+
+    public record Result(int rosters, int chunks, int failedChunks, int failedRosters, long elapsedMs) {}
+}
@@ -0,0 +1,53 @@
+package com.tfxsoftware.memserver.modules.bootcamps;
+
+import com.tfxsoftware.memserver.infra.scheduling.DeadlineHandler;
+import com.tfxsoftware.memserver.infra.scheduling.DeadlineType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Bootcamp deadlines: ticks accrue lazily, so a session (keyed by roster id) only comes due when its roster runs
+ * out of energy and the bootcamp has to stop. Sessions from before exhaustsAt existed are due at their next tick.
+ */
+@Component
+@RequiredArgsConstructor
+public class BootcampDeadlineHandler implements DeadlineHandler {
+
+    private final BootcampSessionRepository sessionRepository;
+    private final BootcampCatchUpProcessor catchUpProcessor;
+
+    @Override
+    public DeadlineType type() {
+        return DeadlineType.BOOTCAMP;
+    }
+
+    @Override
+    public Map<UUID, LocalDateTime> pendingDeadlines(LocalDateTime until) {
+        return toDeadlines(sessionRepository.findTicksBefore(until, BootcampService.lastTickBefore(until)));
+    }
+
+    @Override
+    public Map<UUID, LocalDateTime> deadlinesFor(Collection<UUID> ids) {
+        return toDeadlines(sessionRepository.findTicksByRosterIdIn(ids));
+    }
+
+    @Override
+    public void fire(Collection<UUID> dueIds) {
+        catchUpProcessor.run(dueIds);
+    }
+
+    private static Map<UUID, LocalDateTime> toDeadlines(List<BootcampSessionRepository.BootcampTickView> views) {
+        Map<UUID, LocalDateTime> deadlines = new HashMap<>();
+        for (BootcampSessionRepository.BootcampTickView view : views) {
+            if (view.getExhaustsAt() != null) {
+                deadlines.put(view.getRosterId(), view.getExhaustsAt());
+            } else {
+                deadlines.put(view.getRosterId(), BootcampService.nextTickAt(view.getLastTickAt()));
+            }
+        }
+        return deadlines;
+    }
+}
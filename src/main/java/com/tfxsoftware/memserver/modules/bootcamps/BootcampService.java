@@ -1,26 +1,33 @@
 package com.tfxsoftware.memserver.modules.bootcamps;
 
 import org.springframework.web.server.ResponseStatusException;
+import com.tfxsoftware.memserver.infra.scheduling.DeadlineScheduler;
+import com.tfxsoftware.memserver.infra.scheduling.DeadlineType;
 import com.tfxsoftware.memserver.modules.bootcamps.dto.ActiveBootcampResponseDto;
 import com.tfxsoftware.memserver.modules.bootcamps.dto.CreateBootcampSessionDto;
 import com.tfxsoftware.memserver.modules.bootcamps.dto.PlayerTrainingConfigResponseDto;
+import com.tfxsoftware.memserver.modules.heroes.Hero;
 import com.tfxsoftware.memserver.modules.players.MasteryService;
 import com.tfxsoftware.memserver.modules.players.Player;
+import com.tfxsoftware.memserver.modules.players.PlayerHeroMastery;
+import com.tfxsoftware.memserver.modules.players.PlayerRoleMastery;
 import com.tfxsoftware.memserver.modules.players.PlayerService;
 import com.tfxsoftware.memserver.modules.rosters.Roster;
+import com.tfxsoftware.memserver.modules.rosters.RosterEnergy;
 import com.tfxsoftware.memserver.modules.rosters.RosterService;
 import com.tfxsoftware.memserver.modules.users.User;
 
+import jakarta.persistence.EntityManager;
 import org.springframework.http.HttpStatus;
 import lombok.extern.slf4j.Slf4j;
 import lombok.RequiredArgsConstructor;
-import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
-import java.util.List;
-import java.util.UUID;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
 
 @Service
 @RequiredArgsConstructor
@@ -31,6 +38,8 @@ public class BootcampService {
     private final BootcampSessionRepository sessionRepository;
     private final PlayerService playerService;
     private final MasteryService masteryService;
+    private final DeadlineScheduler deadlineScheduler;
+    private final EntityManager entityManager;
 
     private static final long BASE_PRIMARY_HERO_XP = 100L;
     private static final long BASE_SECONDARY_HERO_XP = 50L;
@@ -84,11 +93,14 @@ public class BootcampService {
         session.setPlayerConfigs(entities);
         
         
-        // 3. Update Roster Status
+        // 3. Update Roster Status (energy recovered while idle is settled first)
+        RosterEnergy.settle(roster, now);
         roster.setActivity(Roster.RosterActivity.BOOTCAMP);
+        session.setExhaustsAt(exhaustsAt(now, roster.getEnergy(), energyCostPerTick(roster)));
         
         sessionRepository.save(session);
         rosterService.save(roster);
+        deadlineScheduler.schedule(DeadlineType.BOOTCAMP, rosterId, session.getExhaustsAt());
         
         log.info("Bootcamp session created for roster {}", rosterId);
     }
@@ -106,6 +118,8 @@ public class BootcampService {
             throw new ResponseStatusException(HttpStatus.FORBIDDEN, "You do not own this roster");
         }
 
+        // Ticks accrued so far were earned with the old configuration
+        applyAccrued(List.of(session), LocalDateTime.now());
         if (roster.getActivity() != Roster.RosterActivity.BOOTCAMP) {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Roster is not in an active bootcamp");
         }
@@ -129,25 +143,131 @@ public class BootcampService {
         log.info("Bootcamp configuration updated for roster {}", rosterId);
     }
 
-    @Scheduled(cron = "0 * * * * *") // Every hour
+    /**
+     * When a session that last ticked at lastTickAt is due for its next tick.
+     */
+    public static LocalDateTime nextTickAt(LocalDateTime lastTickAt) {
+        return lastTickAt.plusHours(TICK_HOURS);
+    }
+
+    /**
+     * The inverse of nextTickAt: a session last ticked before this has its next tick due before dueBy.
+     */
+    public static LocalDateTime lastTickBefore(LocalDateTime dueBy) {
+        return dueBy.minusHours(TICK_HOURS);
+    }
+
+    /**
+     * Materializes the ticks the given rosters' sessions accrued since lastTickAt, in one batch.
+     * Nothing ticks in the background: this runs when a session is read, updated or stopped, before its roster
+     * plays a match, and when a session runs out of energy (see BootcampDeadlineHandler).
+     */
     @Transactional
-    public void processBootcampTicks() {
-        log.info("Processing XP ticks");
-        LocalDateTime threshold = LocalDateTime.now().minusHours(TICK_HOURS);
-        List<BootcampSession> activeSessions = sessionRepository.findAllReadyForTick(threshold);
+    public void catchUp(Collection<UUID> rosterIds) {
         LocalDateTime now = LocalDateTime.now();
+        applyAccrued(sessionRepository.findAllWithAccruedTicks(rosterIds, now.minusHours(TICK_HOURS)), now);
+    }
+
+    /**
+     * catchUp in its own transaction, so a failure never marks the caller's transaction rollback-only
+     * (see BootcampCatchUpProcessor.beforeMatches).
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void catchUpBeforeMatch(Collection<UUID> rosterIds) {
+        catchUp(rosterIds);
+    }
+
+    /**
+     * Which of the given rosters have a session with at least one tick to materialize.
+     */
+    @Transactional(readOnly = true)
+    public List<UUID> rostersWithAccruedTicks(Collection<UUID> rosterIds) {
+        return sessionRepository.findRosterIdsWithAccruedTicks(rosterIds, LocalDateTime.now().minusHours(TICK_HOURS));
+    }
 
-        for (BootcampSession session : activeSessions) {
-            Roster roster = session.getRoster();
-            if (roster.getEnergy() < BASE_ENERGY_COST_PER_TICK) {
-                log.info("Roster {} has low energy ({}). Stopping bootcamp.", roster.getId(), roster.getEnergy());
-                stopBootcampInternal(roster);
-                continue;
+    /**
+     * Applies the accrued ticks of each session and returns the sessions still running.
+     * XP of all of them is applied in one upsert at the end.
+     */
+    private List<BootcampSession> applyAccrued(List<BootcampSession> sessions, LocalDateTime now) {
+        List<MasteryService.XpGrant> grants = new ArrayList<>();
+        List<BootcampSession> running = new ArrayList<>(sessions.size());
+        for (BootcampSession session : sessions) {
+            if (accrue(session, now, grants)) {
+                running.add(session);
             }
-            applyXpTick(session);
-            session.setLastTickAt(now);
-            sessionRepository.save(session);
         }
+        masteryService.applyExperience(grants);
+        return running;
+    }
+
+    /**
+     * Applies every tick due since lastTickAt at once. Energy doesn't recover during a bootcamp, so how many ticks
+     * the roster can still pay for follows from its energy; a session that ran out is stopped as of the tick it
+     * couldn't pay for. Returns false if the session was stopped.
+     * The ticks are claimed first by moving lastTickAt with a conditional update: when two paths catch up the same
+     * session at once, the second waits on the row and then matches nothing, so the XP is granted only once.
+     */
+    private boolean accrue(BootcampSession session, LocalDateTime now, List<MasteryService.XpGrant> grants) {
+        LocalDateTime lastTickAt = session.getLastTickAt();
+        long accrued = ChronoUnit.HOURS.between(lastTickAt, now) / TICK_HOURS;
+        if (accrued <= 0) {
+            return true;
+        }
+        Roster roster = session.getRoster();
+        int cost = energyCostPerTick(roster);
+        long ticks = Math.min(accrued, affordableTicks(RosterEnergy.current(roster, now), cost));
+        LocalDateTime stoppedAt = lastTickAt.plusHours((ticks + 1) * TICK_HOURS);
+        LocalDateTime claimedTo = ticks < accrued ? stoppedAt : lastTickAt.plusHours(ticks * TICK_HOURS);
+        if (sessionRepository.advanceLastTick(roster.getId(), lastTickAt, claimedTo) == 0) {
+            log.debug("Bootcamp ticks of roster {} were already applied by a concurrent catch-up.", roster.getId());
+            return true;
+        }
+        RosterEnergy.settle(roster, now);
+        if (ticks > 0) {
+            applyXpTicks(session, ticks, cost, grants);
+        }
+
+        if (ticks < accrued) {
+            log.info("Roster {} has low energy ({}) since {}. Stopping bootcamp after {} ticks.",
+                    roster.getId(), roster.getEnergy(), stoppedAt, ticks);
+            sessionRepository.delete(session);
+            stop(roster, stoppedAt);
+            return false;
+        }
+        session.setLastTickAt(session.getLastTickAt().plusHours(ticks * TICK_HOURS));
+        session.setExhaustsAt(exhaustsAt(session.getLastTickAt(), roster.getEnergy(), cost));
+        sessionRepository.save(session);
+        deadlineScheduler.schedule(DeadlineType.BOOTCAMP, roster.getId(), session.getExhaustsAt());
+        return true;
+    }
+
+    /**
+     * A tick needs BASE_ENERGY_COST_PER_TICK energy and costs energyCostPerTick.
+     */
+    static long affordableTicks(int energy, int cost) {
+        if (energy < BASE_ENERGY_COST_PER_TICK) {
+            return 0;
+        }
+        return cost <= 0 ? Long.MAX_VALUE : (energy - BASE_ENERGY_COST_PER_TICK) / cost + 1;
+    }
+
+    /**
+     * When the first tick the roster can't pay for is due, or null if it never runs out.
+     */
+    static LocalDateTime exhaustsAt(LocalDateTime lastTickAt, int energy, int cost) {
+        long affordable = affordableTicks(energy, cost);
+        return affordable == Long.MAX_VALUE ? null : lastTickAt.plusHours((affordable + 1) * TICK_HOURS);
+    }
+
+    private int energyCostPerTick(Roster roster) {
+        int inspirings = 0;
+        if (roster.getPlayers() != null) {
+            inspirings = (int) roster.getPlayers().stream()
+                    .filter(p -> p.getTraits().contains(Player.PlayerTrait.INSPIRING))
+                    .count();
+        }
+        return Math.max(0, BASE_ENERGY_COST_PER_TICK - (inspirings * INSPIRING_ENERGY_REDUCTION));
     }
 
     private void validateUniqueHeroes(CreateBootcampSessionDto.PlayerTrainingConfigDto dto) {
@@ -172,24 +292,15 @@ public class BootcampService {
         }
     }
 
-    private void applyXpTick(BootcampSession session) {
+    private void applyXpTicks(BootcampSession session, long ticks, int energyDeduction, List<MasteryService.XpGrant> grants) {
         Roster roster = session.getRoster();
-        double strength = rosterService.calculateRosterStrength(roster);
-        log.info("Applying XP tick for roster {} (strength: {})", roster.getId(), strength);
+        log.info("Applying {} XP ticks for roster {}", ticks, roster.getId());
 
         // Deduct energy
-        int inspirings = 0;
-        if (roster.getPlayers() != null) {
-            inspirings = (int) roster.getPlayers().stream()
-                    .filter(p -> p.getTraits().contains(Player.PlayerTrait.INSPIRING))
-                    .count();
-        }
-        int energyDeduction = Math.max(0, BASE_ENERGY_COST_PER_TICK - (inspirings * INSPIRING_ENERGY_REDUCTION));
-
         int currentEnergy = roster.getEnergy() != null ? roster.getEnergy() : 0;
-        roster.setEnergy(Math.max(0, currentEnergy - energyDeduction));
-        log.debug("Roster {} energy: {} -> {} (deduction: {}, inspirings: {})",
-                roster.getId(), currentEnergy, roster.getEnergy(), energyDeduction, inspirings);
+        roster.setEnergy((int) Math.max(0, currentEnergy - ticks * energyDeduction));
+        log.debug("Roster {} energy: {} -> {} (deduction per tick: {})",
+                roster.getId(), currentEnergy, roster.getEnergy(), energyDeduction);
 
         // Increase cohesion
         boolean hasLeader = false;
@@ -199,49 +310,168 @@ public class BootcampService {
         }
         java.math.BigDecimal gain = hasLeader ? LEADER_COHESION_GAIN : BASE_COHESION_GAIN;
         java.math.BigDecimal oldCohesion = roster.getCohesion();
-        java.math.BigDecimal newCohesion = roster.getCohesion().add(gain);
+        java.math.BigDecimal newCohesion = roster.getCohesion().add(gain.multiply(java.math.BigDecimal.valueOf(ticks)));
         if (newCohesion.compareTo(MAX_COHESION) > 0) {
             newCohesion = MAX_COHESION;
         }
         roster.setCohesion(newCohesion);
-        log.debug("Roster {} cohesion: {} -> {} (gain: {}, hasLeader: {})", 
+        log.debug("Roster {} cohesion: {} -> {} (gain per tick: {}, hasLeader: {})", 
                 roster.getId(), oldCohesion, roster.getCohesion(), gain, hasLeader);
 
         rosterService.save(roster);
 
+        // Members come with the session (fetch join); anyone configured who has left since is looked up
+        Map<UUID, Player> members = new HashMap<>();
+        if (roster.getPlayers() != null) {
+            roster.getPlayers().forEach(p -> members.put(p.getId(), p));
+        }
+        List<TrainingTarget> targets = new ArrayList<>();
         for (PlayerTrainingConfig config : session.getPlayerConfigs()) {
-            Player player = playerService.findById(config.getPlayerId())
-                    .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Player not found in bootcamp config"));
+            Player player = members.containsKey(config.getPlayerId())
+                    ? members.get(config.getPlayerId())
+                    : playerService.findById(config.getPlayerId())
+                            .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Player not found in bootcamp config"));
 
-            long roleXp = (long) (BASE_ROLE_XP * strength);
-            masteryService.addRoleExperience(player, config.getTargetRole(), roleXp);
-            log.debug("Added {} role XP to player {} for role {}", roleXp, player.getId(), config.getTargetRole());
+            targets.add(new TrainingTarget(player.getId(), config.getTargetRole(), null, BASE_ROLE_XP));
 
             boolean isAdaptive = player.getTraits().contains(Player.PlayerTrait.ADAPTIVE);
             long primaryBase = isAdaptive ? BASE_ADAPTIVE_HERO_XP : BASE_PRIMARY_HERO_XP;
             long secondaryBase = isAdaptive ? BASE_ADAPTIVE_HERO_XP : BASE_SECONDARY_HERO_XP;
 
             if (config.getPrimaryHeroId() != null) {
-                long xp = (long) (primaryBase * strength);
-                masteryService.addHeroExperience(player, config.getPrimaryHeroId(), xp);
-                log.debug("Added {} primary hero XP to player {} for hero {}", xp, player.getId(), config.getPrimaryHeroId());
+                targets.add(new TrainingTarget(player.getId(), null, config.getPrimaryHeroId(), primaryBase));
             }
             if (config.getSecondaryHeroId1() != null) {
-                long xp = (long) (secondaryBase * strength);
-                masteryService.addHeroExperience(player, config.getSecondaryHeroId1(), xp);
-                log.debug("Added {} secondary hero XP (1) to player {} for hero {}", xp, player.getId(), config.getSecondaryHeroId1());
+                targets.add(new TrainingTarget(player.getId(), null, config.getSecondaryHeroId1(), secondaryBase));
             }
             if (config.getSecondaryHeroId2() != null) {
-                long xp = (long) (secondaryBase * strength);
-                masteryService.addHeroExperience(player, config.getSecondaryHeroId2(), xp);
-                log.debug("Added {} secondary hero XP (2) to player {} for hero {}", xp, player.getId(), config.getSecondaryHeroId2());
+                targets.add(new TrainingTarget(player.getId(), null, config.getSecondaryHeroId2(), secondaryBase));
+            }
+        }
+
+        List<MasteryService.XpGrant> earned = trainingXp(roster.getPlayers(), targets, ticks);
+        earned.forEach(grant -> log.debug("Granted {} XP to player {} (role {}, hero {})",
+                grant.amount(), grant.playerId(), grant.role(), grant.heroId()));
+        grants.addAll(earned);
+    }
+
+    /**
+     * The XP earned by ticks consecutive ticks. Each tick is worth base XP times the roster strength at its start,
+     * and strength rises as members level up during the gap, so the ticks are replayed one by one over in-memory
+     * levels (the same XP as applying every tick on its own) and summed into one grant per target.
+     */
+    static List<MasteryService.XpGrant> trainingXp(List<Player> members, List<TrainingTarget> targets, long ticks) {
+        TrainingLevels levels = new TrainingLevels(members);
+        Map<TrainingTarget, Long> totals = new LinkedHashMap<>();
+        for (long tick = 0; tick < ticks; tick++) {
+            double strength = levels.strength();
+            for (TrainingTarget target : targets) {
+                long xp = (long) (target.baseXp() * strength);
+                totals.merge(target, xp, Long::sum);
+                levels.add(target, xp);
+            }
+        }
+        List<MasteryService.XpGrant> grants = new ArrayList<>(totals.size());
+        totals.forEach((target, xp) -> grants.add(target.heroId() == null
+                ? MasteryService.XpGrant.role(target.playerId(), target.role(), xp)
+                : MasteryService.XpGrant.hero(target.playerId(), target.heroId(), xp)));
+        return grants;
+    }
+
+    /**
+     * One trained mastery (a role when heroId is null, otherwise a hero) and its XP per tick at strength 1.
+     */
+    record TrainingTarget(UUID playerId, Hero.HeroRole role, UUID heroId, long baseXp) {}
+
+    /**
+     * Members' mastery experience and best levels as ticks are replayed, for RosterService's strength formula.
+     * Configured players who have left the roster don't count towards strength and aren't tracked.
+     */
+    private static final class TrainingLevels {
+
+        private final Map<UUID, Map<Object, Long>> experience = new HashMap<>();
+        private final Map<UUID, int[]> bestLevels = new LinkedHashMap<>(); // player -> {role, hero}
+
+        TrainingLevels(List<Player> members) {
+            if (members == null) {
+                return;
+            }
+            for (Player player : members) {
+                Map<Object, Long> xp = new HashMap<>();
+                int[] best = {1, 1};
+                if (player.getRoleMasteries() != null && !player.getRoleMasteries().isEmpty()) {
+                    best[0] = 0;
+                    for (PlayerRoleMastery mastery : player.getRoleMasteries()) {
+                        xp.put(mastery.getRole(), mastery.getExperience());
+                        best[0] = Math.max(best[0], mastery.getLevel());
+                    }
+                }
+                if (player.getHeroMasteries() != null && !player.getHeroMasteries().isEmpty()) {
+                    best[1] = 0;
+                    for (PlayerHeroMastery mastery : player.getHeroMasteries()) {
+                        xp.put(mastery.getHeroId(), mastery.getExperience());
+                        best[1] = Math.max(best[1], mastery.getLevel());
+                    }
+                }
+                experience.put(player.getId(), xp);
+                bestLevels.put(player.getId(), best);
             }
         }
+
+        double strength() {
+            if (bestLevels.isEmpty()) {
+                return 0.0;
+            }
+            double total = 0.0;
+            for (int[] best : bestLevels.values()) {
+                total += RosterService.playerStrength(best[0], best[1]);
+            }
+            return total / bestLevels.size();
+        }
+
+        void add(TrainingTarget target, long xp) {
+            Map<Object, Long> xpByMastery = experience.get(target.playerId());
+            if (xpByMastery == null) {
+                return;
+            }
+            Object key = target.heroId() == null ? target.role() : target.heroId();
+            long total = xpByMastery.merge(key, xp, Long::sum);
+            int[] best = bestLevels.get(target.playerId());
+            int slot = target.heroId() == null ? 0 : 1;
+            best[slot] = Math.max(best[slot], MasteryService.levelFor(total));
+        }
     }
 
+    /**
+     * Stops a bootcamp, keeping the ticks earned up to now (the session may have run out of energy on its own).
+     */
     @Transactional
     public void stopBootcampInternal(Roster roster) {
-        sessionRepository.deleteById(roster.getId()); // Cascades to configs
+        LocalDateTime now = LocalDateTime.now();
+        Optional<BootcampSession> session = sessionRepository.findById(roster.getId());
+        if (session.isPresent() && applyAccrued(List.of(session.get()), now).isEmpty()) {
+            return;
+        }
+        session.ifPresent(sessionRepository::delete); // Cascades to configs
+        stop(roster, now);
+    }
+
+    /**
+     * Stops the bootcamps of whichever of the given rosters are in one (e.g. after players were released from them).
+     */
+    @Transactional
+    public void stopBootcamps(Collection<UUID> rosterIds) {
+        for (BootcampSession session : sessionRepository.findAllById(rosterIds)) {
+            log.info("Stopping bootcamp for roster {} due to released players.", session.getRosterId());
+            stopBootcampInternal(session.getRoster());
+        }
+    }
+
+    /**
+     * Energy stays flat during a bootcamp, so settling at the stop time starts idle recovery from there.
+     */
+    private void stop(Roster roster, LocalDateTime stoppedAt) {
+        RosterEnergy.settle(roster, stoppedAt);
         roster.setActivity(Roster.RosterActivity.IDLE);
         rosterService.save(roster);
     }
@@ -258,9 +488,19 @@ public class BootcampService {
         stopBootcampInternal(roster);
     }
 
-    @Transactional(readOnly = true)
+    @Transactional
     public List<ActiveBootcampResponseDto> getActiveBootcamps(User user) {
+        // Reading a session materializes what it accrued, so the response shows current XP, energy and cohesion
+        LocalDateTime now = LocalDateTime.now();
         List<BootcampSession> sessions = sessionRepository.findAllByRosterOwnerId(user.getId());
+        boolean accrued = sessions.stream().anyMatch(session -> !nextTickAt(session.getLastTickAt()).isAfter(now));
+        sessions = applyAccrued(sessions, now);
+        if (accrued) {
+            // The XP went in through a native upsert; reload so strength is computed from the new levels
+            entityManager.flush();
+            entityManager.clear();
+            sessions = sessionRepository.findAllByRosterOwnerId(user.getId());
+        }
         return sessions.stream()
                 .map(this::mapSessionToResponse)
                 .toList();
@@ -285,7 +525,7 @@ public class BootcampService {
                 .rosterActivity(roster.getActivity())
                 .cohesion(roster.getCohesion())
                 .morale(roster.getMorale())
-                .energy(roster.getEnergy())
+                .energy(RosterEnergy.current(roster, LocalDateTime.now()))
                 .strength(strength)
                 .startedAt(session.getStartedAt())
                 .lastTickAt(session.getLastTickAt())
@@ -33,6 +33,12 @@ public class BootcampSession {
     @Column(nullable = false)
     private LocalDateTime lastTickAt;
 
+    /**
+     * When the roster can no longer pay for a tick; ticks up to then are accrued and applied lazily.
+     * Null if it never runs out.
+     */
+    private LocalDateTime exhaustsAt;
+
     @OneToMany(mappedBy = "session", cascade = CascadeType.ALL, orphanRemoval = true)
     @Builder.Default
     private List<PlayerTrainingConfig> playerConfigs = new ArrayList<>();
@@ -1,10 +1,12 @@
 package com.tfxsoftware.memserver.modules.bootcamps;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
@@ -14,6 +16,46 @@ public interface BootcampSessionRepository extends JpaRepository<BootcampSession
     @Query("SELECT s FROM BootcampSession s JOIN FETCH s.roster r WHERE r.owner.id = :ownerId")
     List<BootcampSession> findAllByRosterOwnerId(@Param("ownerId") UUID ownerId);
 
-    @Query("SELECT s FROM BootcampSession s WHERE s.lastTickAt <= :threshold")
-    List<BootcampSession> findAllReadyForTick(@Param("threshold") LocalDateTime threshold);
+    /**
+     * Sessions of the given rosters with at least one tick accrued, with roster and members fetched.
+     */
+    @Query("SELECT DISTINCT s FROM BootcampSession s JOIN FETCH s.roster r LEFT JOIN FETCH r.players " +
+           "WHERE s.rosterId IN :rosterIds AND s.lastTickAt <= :threshold")
+    List<BootcampSession> findAllWithAccruedTicks(@Param("rosterIds") Collection<UUID> rosterIds,
+                                                  @Param("threshold") LocalDateTime threshold);
+
+    @Query("SELECT s.rosterId FROM BootcampSession s WHERE s.rosterId IN :rosterIds AND s.lastTickAt <= :threshold")
+    List<UUID> findRosterIdsWithAccruedTicks(@Param("rosterIds") Collection<UUID> rosterIds,
+                                             @Param("threshold") LocalDateTime threshold);
+
+    /**
+     * Claims a session's accrued ticks by moving lastTickAt from the value they were counted from. Returns 0 when
+     * another catch-up moved it first (the row lock makes a concurrent caller wait for that one to commit).
+     */
+    @Modifying
+    @Query("UPDATE BootcampSession s SET s.lastTickAt = :claimedTo WHERE s.rosterId = :rosterId AND s.lastTickAt = :lastTickAt")
+    int advanceLastTick(@Param("rosterId") UUID rosterId, @Param("lastTickAt") LocalDateTime lastTickAt,
+                        @Param("claimedTo") LocalDateTime claimedTo);
+
+    // --- Deadline index (see BootcampDeadlineHandler) ---
+
+    /**
+     * Sessions due before until: exhausting before it, or (without an exhaustion time) with a tick due before it,
+     * i.e. last ticked before tickedBefore.
+     */
+    @Query("SELECT s.rosterId AS rosterId, s.lastTickAt AS lastTickAt, s.exhaustsAt AS exhaustsAt FROM BootcampSession s " +
+           "WHERE (s.exhaustsAt IS NOT NULL AND s.exhaustsAt < :until) " +
+           "OR (s.exhaustsAt IS NULL AND s.lastTickAt < :tickedBefore)")
+    List<BootcampTickView> findTicksBefore(@Param("until") LocalDateTime until,
+                                           @Param("tickedBefore") LocalDateTime tickedBefore);
+
+    @Query("SELECT s.rosterId AS rosterId, s.lastTickAt AS lastTickAt, s.exhaustsAt AS exhaustsAt FROM BootcampSession s " +
+           "WHERE s.rosterId IN :rosterIds")
+    List<BootcampTickView> findTicksByRosterIdIn(@Param("rosterIds") Collection<UUID> rosterIds);
+
+    interface BootcampTickView {
+        UUID getRosterId();
+        LocalDateTime getLastTickAt();
+        LocalDateTime getExhaustsAt();
+    }
 }
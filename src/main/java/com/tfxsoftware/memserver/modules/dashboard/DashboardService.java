@@ -6,6 +6,7 @@ import com.tfxsoftware.memserver.modules.matches.MatchRepository;
 import com.tfxsoftware.memserver.modules.players.Player;
 import com.tfxsoftware.memserver.modules.players.PlayerRepository;
 import com.tfxsoftware.memserver.modules.rosters.Roster;
+import com.tfxsoftware.memserver.modules.rosters.RosterEnergy;
 import com.tfxsoftware.memserver.modules.rosters.RosterRepository;
 import com.tfxsoftware.memserver.modules.users.User;
 import lombok.RequiredArgsConstructor;
@@ -34,11 +35,12 @@ public class DashboardService {
         );
 
         List<Roster> ownedRosters = rosterRepository.findAllByOwnerId(user.getId());
+        LocalDateTime now = LocalDateTime.now();
         List<RosterVitalsDto> rostersDto = ownedRosters.stream()
                 .map(r -> new RosterVitalsDto(
                         r.getId(),
                         r.getName(),
-                        r.getEnergy(),
+                        RosterEnergy.current(r, now),
                         r.getMorale(),
                         r.getCohesion(),
                         r.getActivity()
@@ -7,11 +7,14 @@ import com.tfxsoftware.memserver.modules.events.dto.CreateEventDto;
 import com.tfxsoftware.memserver.modules.events.dto.EventRegisteredRosterDto;
 import com.tfxsoftware.memserver.modules.events.dto.EventRegistrationResponse;
 import com.tfxsoftware.memserver.modules.events.dto.EventResponse;
+import com.tfxsoftware.memserver.modules.events.dto.LeagueStandingsResponse;
+import com.tfxsoftware.memserver.modules.events.league.StandingsSnapshotService;
 import com.tfxsoftware.memserver.modules.users.User;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
@@ -22,16 +25,19 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 @RestController
 @RequestMapping("/api/events")
 public class EventController {
 
     private final EventService eventService;
+    private final StandingsSnapshotService standingsSnapshotService;
 
     @Autowired
-    public EventController(EventService eventService) {
+    public EventController(EventService eventService, StandingsSnapshotService standingsSnapshotService) {
         this.eventService = eventService;
+        this.standingsSnapshotService = standingsSnapshotService;
     }
 
     @GetMapping
@@ -55,6 +61,22 @@ public class EventController {
         return ResponseEntity.ok(eventService.getRegisteredRostersForEvent(eventId));
     }
 
+    /**
+     * League standings served from an in-memory snapshot. Clients sending the last ETag in If-None-Match get a
+     * 304 until a new result changes the standings.
+     */
+    @GetMapping("/{eventId}/standings")
+    public ResponseEntity<LeagueStandingsResponse> getStandings(@PathVariable UUID eventId, WebRequest request) {
+        StandingsSnapshotService.StandingsSnapshot snapshot = standingsSnapshotService.get(eventId);
+        if (request.checkNotModified(snapshot.etag())) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .eTag(snapshot.etag())
+                .cacheControl(CacheControl.noCache())
+                .body(snapshot.body());
+    }
+
     @PostMapping("/{eventId}/register/roster/{rosterId}")
     public ResponseEntity<EventRegistrationResponse> registerForEvent(
             @PathVariable UUID eventId,
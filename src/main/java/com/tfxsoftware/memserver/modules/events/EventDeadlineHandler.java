@@ -0,0 +1,61 @@
+package com.tfxsoftware.memserver.modules.events;
+
+import com.tfxsoftware.memserver.infra.scheduling.DeadlineHandler;
+import com.tfxsoftware.memserver.infra.scheduling.DeadlineType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Event deadlines follow the lifecycle: CLOSED events are due at opensAt, OPEN ones at startsAt and ONGOING ones
+ * at finishesAt (known once the season has been generated).
+ */
+@Component
+@RequiredArgsConstructor
+public class EventDeadlineHandler implements DeadlineHandler {
+
+    private static final List<Event.EventStatus> PENDING = List.of(
+            Event.EventStatus.CLOSED, Event.EventStatus.OPEN, Event.EventStatus.ONGOING);
+
+    private final EventRepository eventRepository;
+    private final EventOrchestrator eventOrchestrator;
+
+    @Override
+    public DeadlineType type() {
+        return DeadlineType.EVENT;
+    }
+
+    @Override
+    public Map<UUID, LocalDateTime> pendingDeadlines(LocalDateTime until) {
+        return toDeadlines(eventRepository.findDeadlinesBefore(until,
+                Event.EventStatus.CLOSED, Event.EventStatus.OPEN, Event.EventStatus.ONGOING));
+    }
+
+    @Override
+    public Map<UUID, LocalDateTime> deadlinesFor(Collection<UUID> ids) {
+        return toDeadlines(eventRepository.findDeadlinesByIdInAndStatusIn(ids, PENDING));
+    }
+
+    @Override
+    public void fire(Collection<UUID> dueIds) {
+        eventOrchestrator.processLifecycleTicks();
+    }
+
+    private static Map<UUID, LocalDateTime> toDeadlines(List<EventRepository.EventDeadlineView> views) {
+        Map<UUID, LocalDateTime> deadlines = new HashMap<>();
+        for (EventRepository.EventDeadlineView view : views) {
+            LocalDateTime dueAt = switch (view.getStatus()) {
+                case CLOSED -> view.getOpensAt();
+                case OPEN -> view.getStartsAt();
+                case ONGOING -> view.getFinishesAt();
+                default -> null;
+            };
+            if (dueAt != null) {
+                deadlines.put(view.getId(), dueAt);
+            }
+        }
+        return deadlines;
+    }
+}
@@ -2,12 +2,13 @@ package com.tfxsoftware.memserver.modules.events;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.tfxsoftware.memserver.modules.events.league.League;
 import com.tfxsoftware.memserver.modules.events.league.LeagueGenerator;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -24,10 +25,12 @@ public class EventOrchestrator {
     private final LeagueGenerator leagueGenerator;
     private final EventService eventService;
 
+    private static final Duration STALLED_LEAGUE_FINISH_DELAY = Duration.ofMinutes(30);
+
     /**
-     * Runs every minute to check for lifecycle transitions.
+     * Applies every lifecycle transition that has come due.
+     * Triggered by the DeadlineScheduler at the next opensAt/startsAt/finishesAt (see EventDeadlineHandler).
      */
-    @Scheduled(cron = "0 * * * * *")
     @Transactional
     public void processLifecycleTicks() {
         LocalDateTime now = LocalDateTime.now();
@@ -44,6 +47,14 @@ public class EventOrchestrator {
         List<Event> toFinish = eventRepository.findAllByStatusAndFinishesAtBefore(Event.EventStatus.ONGOING, now);
         
         for (Event event : toFinish) {
+            League league = event.getLeague();
+            if (league != null && league.getNextRound() != null && league.getNextRound() < league.getTotalRounds()) {
+                // A lazily scheduled league whose extension stalled: wait for its extension deadline to catch it up
+                event.setFinishesAt(now.plus(STALLED_LEAGUE_FINISH_DELAY));
+                log.warn("League {} reached its finish with rounds {}/{} generated. Finish moved to {}.",
+                        event.getName(), league.getNextRound(), league.getTotalRounds(), event.getFinishesAt());
+                continue;
+            }
             log.info("Finishing Event: {}. Type: {}", event.getName(), event.getType());
             eventService.finishEvent(event);
         }
@@ -1,6 +1,8 @@
 package com.tfxsoftware.memserver.modules.events;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -11,4 +13,10 @@ import java.util.UUID;
 public interface EventRegistrationRepository extends JpaRepository<EventRegistration, UUID> {
     Optional<EventRegistration> findByRosterIdAndEventId(UUID rosterId, UUID eventId);
     List<EventRegistration> findAllByEventId(UUID eventId);
+
+    /**
+     * Registrations of an event with roster and owner fetched in the same query.
+     */
+    @Query("SELECT reg FROM EventRegistration reg JOIN FETCH reg.roster r LEFT JOIN FETCH r.owner WHERE reg.event.id = :eventId")
+    List<EventRegistration> findAllWithRosterByEventId(@Param("eventId") UUID eventId);
 }
\ No newline at end of file
@@ -2,9 +2,12 @@ package com.tfxsoftware.memserver.modules.events;
 
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -15,4 +18,32 @@ public interface EventRepository extends JpaRepository<Event, UUID>, JpaSpecific
     List<Event> findAllByStatusAndOpensAtBefore(Event.EventStatus status, LocalDateTime dateTime);
     List<Event> findAllByStatusAndStartsAtBefore(Event.EventStatus status, LocalDateTime dateTime);
     List<Event> findAllByStatusAndFinishesAtBefore(Event.EventStatus status, LocalDateTime dateTime);
-}
\ No newline at end of file
+
+    // --- Deadline index (see EventDeadlineHandler) ---
+
+    /**
+     * Events with a lifecycle step due before until: CLOSED ones open at opensAt, OPEN ones start at startsAt and
+     * ONGOING ones finish at finishesAt.
+     */
+    @Query("SELECT e.id AS id, e.status AS status, e.opensAt AS opensAt, e.startsAt AS startsAt, e.finishesAt AS finishesAt " +
+           "FROM Event e WHERE (e.status = :closed AND e.opensAt < :until) " +
+           "OR (e.status = :open AND e.startsAt < :until) " +
+           "OR (e.status = :ongoing AND e.finishesAt < :until)")
+    List<EventDeadlineView> findDeadlinesBefore(@Param("until") LocalDateTime until,
+                                                @Param("closed") Event.EventStatus closed,
+                                                @Param("open") Event.EventStatus open,
+                                                @Param("ongoing") Event.EventStatus ongoing);
+
+    @Query("SELECT e.id AS id, e.status AS status, e.opensAt AS opensAt, e.startsAt AS startsAt, e.finishesAt AS finishesAt " +
+           "FROM Event e WHERE e.id IN :ids AND e.status IN :statuses")
+    List<EventDeadlineView> findDeadlinesByIdInAndStatusIn(@Param("ids") Collection<UUID> ids,
+                                                           @Param("statuses") Collection<Event.EventStatus> statuses);
+
+    interface EventDeadlineView {
+        UUID getId();
+        Event.EventStatus getStatus();
+        LocalDateTime getOpensAt();
+        LocalDateTime getStartsAt();
+        LocalDateTime getFinishesAt();
+    }
+}
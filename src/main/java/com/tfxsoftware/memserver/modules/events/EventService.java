@@ -1,17 +1,23 @@
 package com.tfxsoftware.memserver.modules.events;
 
+import com.tfxsoftware.memserver.infra.scheduling.DeadlineScheduler;
+import com.tfxsoftware.memserver.infra.scheduling.DeadlineType;
 import com.tfxsoftware.memserver.modules.users.User;
-import com.tfxsoftware.memserver.modules.users.UserRepository;
+import com.tfxsoftware.memserver.modules.users.BalanceLedgerEntry;
+import com.tfxsoftware.memserver.modules.users.BalanceService;
 import com.tfxsoftware.memserver.modules.rosters.Roster; // New import
+import com.tfxsoftware.memserver.modules.rosters.RosterEnergy;
 import com.tfxsoftware.memserver.modules.rosters.RosterRepository; // New import
 import org.springframework.web.server.ResponseStatusException;
 import com.tfxsoftware.memserver.modules.events.dto.CreateEventDto;
 import com.tfxsoftware.memserver.modules.events.dto.EventRegisteredRosterDto;
 import com.tfxsoftware.memserver.modules.events.dto.EventRegistrationResponse;
 import com.tfxsoftware.memserver.modules.events.dto.EventResponse;
+import com.tfxsoftware.memserver.modules.events.dto.LeagueStandingsResponse;
 import com.tfxsoftware.memserver.modules.events.league.League;
 import com.tfxsoftware.memserver.modules.events.league.LeagueStanding;
 import com.tfxsoftware.memserver.modules.events.league.LeagueStandingRepository;
+import com.tfxsoftware.memserver.modules.events.league.StandingsSnapshotService;
 
 import jakarta.persistence.criteria.Predicate;
 import lombok.RequiredArgsConstructor;
@@ -26,6 +32,7 @@ import org.springframework.http.HttpStatus;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -38,10 +45,12 @@ import java.util.stream.Collectors;
 public class EventService {
 
     private final EventRepository eventRepository;
-    private final UserRepository userRepository;
+    private final BalanceService balanceService;
     private final EventRegistrationRepository eventRegistrationRepository;
     private final RosterRepository rosterRepository; // New injection
     private final LeagueStandingRepository leagueStandingRepository;
+    private final StandingsSnapshotService standingsSnapshotService;
+    private final DeadlineScheduler deadlineScheduler;
 
     /**
      * Returns a paginated list of events, optionally filtered by region, status, tier and type.
@@ -69,23 +78,22 @@ public class EventService {
 
     /**
      * Returns rosters registered for an event (name, owner name, cohesion, morale).
-     * For league events, also returns standings (position, wins, losses).
+     * For league events, also returns standings (position, wins, losses) from the StandingsSnapshotService,
+     * ordered by position.
      */
     @Transactional(readOnly = true)
     public List<EventRegisteredRosterDto> getRegisteredRostersForEvent(UUID eventId) {
         Event event = eventRepository.findById(eventId)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Event not found with ID: " + eventId));
 
-        Map<UUID, LeagueStanding> rosterToStanding = Map.of();
+        Map<UUID, LeagueStandingsResponse.Entry> rosterToStanding = Map.of();
         if (event.getType() == Event.EventType.LEAGUE && event.getLeague() != null) {
-            List<LeagueStanding> standings = leagueStandingRepository.findAllByLeagueEventIdOrderByWinsDesc(eventId);
-            rosterToStanding = standings.stream()
-                    .filter(s -> s.getRoster() != null)
-                    .collect(Collectors.toMap(s -> s.getRoster().getId(), s -> s, (a, b) -> a));
+            rosterToStanding = standingsSnapshotService.get(eventId).body().getStandings().stream()
+                    .collect(Collectors.toMap(LeagueStandingsResponse.Entry::getRosterId, s -> s, (a, b) -> a));
         }
 
-        final Map<UUID, LeagueStanding> standingMap = rosterToStanding;
-        return eventRegistrationRepository.findAllByEventId(eventId).stream()
+        final Map<UUID, LeagueStandingsResponse.Entry> standingMap = rosterToStanding;
+        return eventRegistrationRepository.findAllWithRosterByEventId(eventId).stream()
                 .map(reg -> {
                     Roster r = reg.getRoster();
                     EventRegisteredRosterDto.EventRegisteredRosterDtoBuilder b = EventRegisteredRosterDto.builder()
@@ -93,7 +101,7 @@ public class EventService {
                             .ownerName(r.getOwner() != null ? r.getOwner().getUsername() : null)
                             .cohesion(r.getCohesion())
                             .morale(r.getMorale());
-                    LeagueStanding standing = standingMap.get(r.getId());
+                    LeagueStandingsResponse.Entry standing = standingMap.get(r.getId());
                     if (standing != null) {
                         b.position(standing.getPosition())
                                 .wins(standing.getWins())
@@ -101,6 +109,7 @@ public class EventService {
                     }
                     return b.build();
                 })
+                .sorted(Comparator.comparing(EventRegisteredRosterDto::getPosition, Comparator.nullsLast(Comparator.naturalOrder())))
                 .toList();
     }
 
@@ -159,6 +168,7 @@ public class EventService {
 
         log.info("Successfully created event: {} (Type: {}, Tier: {})", event.getName(), event.getType(), event.getTier());
         Event savedEvent = eventRepository.save(event);
+        deadlineScheduler.schedule(DeadlineType.EVENT, savedEvent.getId(), savedEvent.getOpensAt());
         return mapToEventResponse(savedEvent);
     }
 
@@ -197,18 +207,12 @@ public class EventService {
             throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Roster with ID " + rosterId + " does not belong to the current user.");
         }
 
-        // 4. Get the Roster's Owner (User)
-        // Re-fetching the user ensures we have a managed entity for transactional operations
-        User owner = userRepository.findById(roster.getOwner().getId())
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Roster owner not found."));
-
-
-        // 5. Check Event Status
+        // 4. Check Event Status
         if (event.getStatus() != Event.EventStatus.OPEN) {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Event is not open for registration.");
         }
 
-        // 6. Check if Roster is already registered
+        // 5. Check if Roster is already registered
         if (eventRegistrationRepository.findByRosterIdAndEventId(rosterId, eventId).isPresent()) {
             throw new ResponseStatusException(HttpStatus.CONFLICT, "Roster is already registered for this event.");
         }
@@ -218,28 +222,29 @@ public class EventService {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Event is full. Maximum players reached.");
         }
 
-        // 7. Check Balance of Roster Owner
-        if (owner.getBalance().compareTo(event.getEntryFee()) < 0) {
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Insufficient balance for roster owner to register for this event. Required: " + event.getEntryFee());
-        }
-
-        // 8. Deduct Entry Fee from Roster Owner
-        owner.setBalance(owner.getBalance().subtract(event.getEntryFee()));
-        userRepository.save(owner); // Save updated user balance
-
-        // 9. Create EventRegistration
+        // 6. Create EventRegistration
         EventRegistration registration = EventRegistration.builder()
                 .event(event)
                 .roster(roster) // Link to Roster
                 .registrationDate(LocalDateTime.now())
                 .build();
 
-        // 10. Update Roster Status
+        // 7. Update Roster Status (energy recovered while idle is settled first)
+        RosterEnergy.settle(roster, LocalDateTime.now());
         roster.setActivity(Roster.RosterActivity.IN_EVENT);
         rosterRepository.save(roster);
 
-        log.info("Roster {} (Owner: {}) registered for event {}. Deducted {}", rosterId, owner.getId(), eventId, event.getEntryFee());
         EventRegistration savedRegistration = eventRegistrationRepository.save(registration);
+
+        // 8. Deduct Entry Fee from Roster Owner: balance check and deduction are one conditional update, done last so
+        // the owner's row is only locked until commit
+        UUID ownerId = roster.getOwner().getId();
+        if (event.getEntryFee() != null && event.getEntryFee().signum() > 0
+                && !balanceService.debit(ownerId, event.getEntryFee(), BalanceLedgerEntry.Reason.ENTRY_FEE, eventId)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Insufficient balance for roster owner to register for this event. Required: " + event.getEntryFee());
+        }
+
+        log.info("Roster {} (Owner: {}) registered for event {}. Deducted {}", rosterId, ownerId, eventId, event.getEntryFee());
         return mapToRegistrationResponse(savedRegistration);
     }
 
@@ -255,7 +260,9 @@ public class EventService {
                 .map(EventRegistration::getRoster)
                 .toList();
         
+        LocalDateTime now = LocalDateTime.now();
         for (Roster roster : participants) {
+            RosterEnergy.settle(roster, now);
             roster.setActivity(Roster.RosterActivity.IDLE);
         }
         rosterRepository.saveAll(participants);
@@ -270,7 +277,10 @@ public class EventService {
     }
 
     private void distributeLeaguePrizes(Event event) {
-        List<LeagueStanding> standings = leagueStandingRepository.findAllByLeagueEventIdOrderByWinsDesc(event.getLeague().getEventId());
+        // Final ranking uses the full tie-breakers, not just wins
+        leagueStandingRepository.updatePositions(event.getLeague().getEventId());
+        standingsSnapshotService.evict(event.getLeague().getEventId());
+        List<LeagueStanding> standings = leagueStandingRepository.findAllByLeagueEventIdOrderByPositionAsc(event.getLeague().getEventId());
         Map<Integer, BigDecimal> prizes = event.getRankPrizes();
 
         if (prizes == null || prizes.isEmpty()) {
@@ -284,13 +294,12 @@ public class EventService {
             if (prize != null && prize.compareTo(BigDecimal.ZERO) > 0) {
                 LeagueStanding standing = standings.get(i);
                 Roster roster = standing.getRoster();
-                User owner = roster.getOwner();
+                UUID ownerId = roster.getOwner().getId();
+
+                balanceService.credit(ownerId, prize, BalanceLedgerEntry.Reason.PRIZE, event.getId());
 
-                owner.setBalance(owner.getBalance().add(prize));
-                userRepository.save(owner);
-                
                 log.info("Prize of {} awarded to {} (Owner: {}) for Rank {} in Event {}", 
-                        prize, roster.getName(), owner.getUsername(), rank, event.getName());
+                        prize, roster.getName(), ownerId, rank, event.getName());
             }
         }
     }
@@ -0,0 +1,30 @@
+package com.tfxsoftware.memserver.modules.events.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Standings of a league in position order; updatedAt is when the served snapshot was built.
+ */
+@Data
+@Builder
+public class LeagueStandingsResponse {
+    private UUID eventId;
+    private LocalDateTime updatedAt;
+    private List<Entry> standings;
+
+    @Data
+    @Builder
+    public static class Entry {
+        private Integer position;
+        private UUID rosterId;
+        private String rosterName;
+        private String ownerName;
+        private Integer wins;
+        private Integer losses;
+    }
+}
@@ -5,7 +5,10 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
@@ -29,6 +32,26 @@ public class League {
 
     private Integer roundRobinCount;
 
+    // --- Circle-method cursor: with lazy scheduling only the next rounds exist as matches ---
+
+    /**
+     * Current seating of the circle (null is the "Bye" seat); rotated once per generated round.
+     */
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(columnDefinition = "jsonb")
+    private List<UUID> seating;
+
+    private Integer nextRound;
+
+    private Integer totalRounds;
+
+    /**
+     * When the league should next be checked for rounds to generate: the start of its last generated match, so a
+     * failed post-batch extension is retried by a deadline (see LeagueExtensionDeadlineHandler). Null once every
+     * round exists.
+     */
+    private LocalDateTime extendScheduleAt;
+
     @OneToMany(mappedBy = "league", cascade = CascadeType.ALL, orphanRemoval = true)
     @Builder.Default
     private List<LeagueStanding> standings = new ArrayList<>();
@@ -0,0 +1,61 @@
+package com.tfxsoftware.memserver.modules.events.league;
+
+import com.tfxsoftware.memserver.infra.scheduling.DeadlineHandler;
+import com.tfxsoftware.memserver.infra.scheduling.DeadlineType;
+import com.tfxsoftware.memserver.modules.events.Event;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Safety net for lazily scheduled leagues. Schedules are normally extended right after a batch with the league's
+ * matches; if that extension fails once the last pending round has been played, no batch would ever call it again.
+ * An ongoing league with rounds left is due at extendScheduleAt (the start of its last generated match), which
+ * every extension moves forward, so this only fires for a league whose extension didn't happen.
+ * A failed extension rolls back and stays due, so the DeadlineScheduler retries it after its retry delay.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class LeagueExtensionDeadlineHandler implements DeadlineHandler {
+
+    private final LeagueRepository leagueRepository;
+    private final LeagueGenerator leagueGenerator;
+
+    @Override
+    public DeadlineType type() {
+        return DeadlineType.LEAGUE_EXTENSION;
+    }
+
+    @Override
+    public Map<UUID, LocalDateTime> pendingDeadlines(LocalDateTime until) {
+        return toDeadlines(leagueRepository.findExtensionDeadlinesBefore(Event.EventStatus.ONGOING, until));
+    }
+
+    @Override
+    public Map<UUID, LocalDateTime> deadlinesFor(Collection<UUID> ids) {
+        return toDeadlines(leagueRepository.findExtensionDeadlinesByEventIdIn(ids, Event.EventStatus.ONGOING));
+    }
+
+    @Override
+    public void fire(Collection<UUID> dueIds) {
+        for (UUID eventId : dueIds) {
+            try {
+                leagueGenerator.extendSchedule(eventId);
+            } catch (Exception e) {
+                log.error("Failed to extend the schedule of league {}; retrying shortly.", eventId, e);
+            }
+        }
+    }
+
+    private static Map<UUID, LocalDateTime> toDeadlines(List<LeagueRepository.ExtensionDeadlineView> views) {
+        Map<UUID, LocalDateTime> deadlines = new HashMap<>();
+        for (LeagueRepository.ExtensionDeadlineView view : views) {
+            deadlines.put(view.getEventId(), view.getExtendScheduleAt());
+        }
+        return deadlines;
+    }
+}
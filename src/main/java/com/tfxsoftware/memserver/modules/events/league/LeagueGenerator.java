@@ -1,130 +1,284 @@
 package com.tfxsoftware.memserver.modules.events.league;
 
+import com.tfxsoftware.memserver.infra.scheduling.DeadlineScheduler;
+import com.tfxsoftware.memserver.infra.scheduling.DeadlineType;
 import com.tfxsoftware.memserver.modules.events.Event;
-import com.tfxsoftware.memserver.modules.events.EventRegistration;
 import com.tfxsoftware.memserver.modules.matches.Match;
 import com.tfxsoftware.memserver.modules.matches.MatchRepository;
-import com.tfxsoftware.memserver.modules.rosters.Roster;
-import lombok.RequiredArgsConstructor;
+import com.tfxsoftware.memserver.modules.matches.MatchSlotAllocator;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.UUID;
-import java.util.stream.Collectors; 
 
 /**
  * Handles the creation of Match entities and Standings for a League.
+ * A season is planned in memory (pure, see {@link #planRounds}) and written in bulk through the
+ * LeagueSeasonWriter, bypassing the persistence context.
+ * With rounds-ahead set, only the next K rounds exist as matches; the Circle Method cursor (seating and next
+ * round) is kept on the League and the schedule is extended as rounds are played (see {@link #extendSchedule}).
+ * Nominal match times and the predicted finish depend only on the match index, so they are the same either way;
+ * the MatchSlotAllocator then staggers the actual start times against the load of every other event.
  */
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class LeagueGenerator {
 
-    private final MatchRepository matchRepository;
+    private static final List<Match.MatchStatus> PENDING = List.of(Match.MatchStatus.SCHEDULED, Match.MatchStatus.CLAIMED);
+
+    private final LeagueSeasonWriter seasonWriter;
+    private final LeagueRepository leagueRepository;
     private final LeagueStandingRepository standingRepository;
+    private final MatchRepository matchRepository;
+    private final MatchSlotAllocator slotAllocator;
+    private final DeadlineScheduler deadlineScheduler;
+    private final StandingsSnapshotService standingsSnapshotService;
+    private final int roundsAhead;
+    private final Duration extensionRetry;
+
+    public LeagueGenerator(
+            LeagueSeasonWriter seasonWriter,
+            LeagueRepository leagueRepository,
+            LeagueStandingRepository standingRepository,
+            MatchRepository matchRepository,
+            MatchSlotAllocator slotAllocator,
+            DeadlineScheduler deadlineScheduler,
+            StandingsSnapshotService standingsSnapshotService,
+            @Value("${events.league.rounds-ahead:0}") int roundsAhead,
+            @Value("${events.league.extension-retry:PT5M}") Duration extensionRetry) {
+        this.seasonWriter = seasonWriter;
+        this.leagueRepository = leagueRepository;
+        this.standingRepository = standingRepository;
+        this.matchRepository = matchRepository;
+        this.slotAllocator = slotAllocator;
+        this.deadlineScheduler = deadlineScheduler;
+        this.standingsSnapshotService = standingsSnapshotService;
+        this.roundsAhead = roundsAhead;
+        this.extensionRetry = extensionRetry;
+    }
 
     /**
-     * Generates a complete schedule for a Round Robin league and calculates the event's end time.
+     * Sets up a Round Robin league: standings, the round cursor and the event's end time, then generates the
+     * whole season (or the first rounds-ahead rounds).
      */
     public void generateFullSeason(Event event) {
+        long startedAt = System.currentTimeMillis();
         League league = event.getLeague();
-        List<Roster> participants = event.getRegistrations().stream()
-                .map(EventRegistration::getRoster)
-                .collect(Collectors.toList());
+        List<UUID> rosterIds = event.getRegistrations().stream()
+                .map(registration -> registration.getRoster().getId())
+                .toList();
 
         // 1. Initialize Standings
-        initializeStandings(league, participants);
+        seasonWriter.insertStandings(event.getId(), rosterIds);
 
-        // 2. Initial position calculation (alphabetical or registration order)
+        // 2. Initial position calculation (everyone is level, so alphabetical)
         recalculatePositions(event.getId());
 
-        // 3. Generate Pairings using Circle Method
-        List<Roster> teams = new ArrayList<>(participants);
-        if (teams.size() % 2 != 0) {
-            teams.add(null); // Add a "Bye" team if odd
+        // 3. Round cursor and the predicted finish, known up front from the match count (plus the stagger window)
+        List<UUID> seating = seating(rosterIds);
+        int totalRounds = (seating.size() - 1) * league.getRoundRobinCount();
+        league.setSeating(seating);
+        league.setNextRound(0);
+        league.setTotalRounds(totalRounds);
+        event.setFinishesAt(finishesAt(totalRounds * matchesPerRound(seating), event.getStartsAt(),
+                event.getGamesPerBlock(), event.getMinutesBetweenGames(), event.getMinutesBetweenBlocks())
+                .plus(slotAllocator.jitter()));
+
+        // 4. Write the matches
+        int rounds = roundsAhead > 0 ? Math.min(roundsAhead, totalRounds) : totalRounds;
+        List<PlannedMatch> matches = generateRounds(event, league, rounds);
+        log.info("Generated {} matches ({}/{} rounds) for league {} in {} ms. Predicted finish at: {}",
+                matches.size(), rounds, totalRounds, event.getName(), System.currentTimeMillis() - startedAt,
+                event.getFinishesAt());
+    }
+
+    /**
+     * Tops up a lazily scheduled league so rounds-ahead rounds are pending again. Called after a batch of the
+     * league's matches has been played, and by the LeagueExtensionDeadlineHandler when that didn't happen in time;
+     * a no-op for leagues that were generated in full.
+     */
+    @Transactional
+    public void extendSchedule(UUID eventId) {
+        League league = leagueRepository.findForUpdate(eventId).orElse(null);
+        if (league == null || league.getNextRound() == null) {
+            return;
+        }
+        if (league.getNextRound() >= league.getTotalRounds()) {
+            league.setExtendScheduleAt(null);
+            return;
+        }
+        Event event = league.getEvent();
+        if (event.getStatus() != Event.EventStatus.ONGOING) {
+            return;
+        }
+
+        int perRound = Math.max(1, matchesPerRound(league.getSeating()));
+        long pending = matchRepository.countByEventIdAndStatusIn(eventId, PENDING);
+        int pendingRounds = (int) ((pending + perRound - 1) / perRound);
+        int window = roundsAhead > 0 ? roundsAhead : league.getTotalRounds();
+        int rounds = Math.min(window - pendingRounds, league.getTotalRounds() - league.getNextRound());
+        if (rounds <= 0) {
+            // Still enough rounds pending; check again later in case the batches playing them never extend
+            LocalDateTime now = LocalDateTime.now();
+            if (league.getExtendScheduleAt() == null || !league.getExtendScheduleAt().isAfter(now)) {
+                league.setExtendScheduleAt(now.plus(extensionRetry));
+                deadlineScheduler.schedule(DeadlineType.LEAGUE_EXTENSION, eventId, league.getExtendScheduleAt());
+            }
+            return;
         }
+        List<PlannedMatch> matches = generateRounds(event, league, rounds);
+        log.info("Extended league {} by {} rounds ({} matches), next round {}/{}.",
+                event.getName(), rounds, matches.size(), league.getNextRound(), league.getTotalRounds());
+    }
 
-        int numTeams = teams.size();
-        int numRounds = (numTeams - 1) * league.getRoundRobinCount();
-        
-        LocalDateTime currentMatchTime = event.getStartsAt().plusMinutes(event.getMinutesBetweenBlocks());
-        LocalDateTime lastScheduledTime = currentMatchTime;
-        int currentBlockCount = 0;
-        List<Match> seasonMatches = new ArrayList<>();
+    /**
+     * Writes the next rounds from the league's cursor, at the start times given by the slot allocator, and
+     * advances the cursor.
+     * Ids are generated up front so deadlines can be registered without reading back.
+     */
+    private List<PlannedMatch> generateRounds(Event event, League league, int rounds) {
+        int fromRound = league.getNextRound();
+        List<UUID> seating = new ArrayList<>(league.getSeating());
+        List<PlannedMatch> planned = planRounds(seating, fromRound, rounds, event.getStartsAt(),
+                event.getGamesPerBlock(), event.getMinutesBetweenGames(), event.getMinutesBetweenBlocks());
+        // Extensions start behind the latest slot already handed out, which jitter may have pushed past the nominal time
+        LocalDateTime notBefore = fromRound > 0 ? matchRepository.findLatestScheduledTime(event.getId()).orElse(null) : null;
+        List<LocalDateTime> slots = slotAllocator.allocate(planned.stream().map(PlannedMatch::scheduledTime).toList(), notBefore);
+        List<PlannedMatch> matches = new ArrayList<>(planned.size());
+        for (int i = 0; i < planned.size(); i++) {
+            PlannedMatch match = planned.get(i);
+            matches.add(new PlannedMatch(match.id(), match.homeRosterId(), match.awayRosterId(), slots.get(i)));
+        }
+        seasonWriter.insertMatches(event.getId(), matches);
+        league.setSeating(seating);
+        league.setNextRound(fromRound + rounds);
+        // Once the last generated match starts the next rounds should exist; if not, the deadline extends them
+        league.setExtendScheduleAt(league.getNextRound() < league.getTotalRounds() && !matches.isEmpty()
+                ? matches.getLast().scheduledTime() : null);
 
-        for (int r = 0; r < numRounds; r++) {
-            for (int i = 0; i < numTeams / 2; i++) {
-                Roster home = teams.get(i);
-                Roster away = teams.get(numTeams - 1 - i);
+        matches.forEach(m -> deadlineScheduler.schedule(DeadlineType.MATCH, m.id(), m.scheduledTime()));
+        deadlineScheduler.schedule(DeadlineType.LEAGUE_EXTENSION, event.getId(), league.getExtendScheduleAt());
+        return matches;
+    }
 
-                // Skip "Bye" matches
+    /**
+     * Plans a complete season in one go (see {@link #planRounds}).
+     */
+    public static SeasonPlan planSeason(List<UUID> rosterIds, int roundRobinCount, LocalDateTime startsAt,
+                                        int gamesPerBlock, int minutesBetweenGames, int minutesBetweenBlocks) {
+        List<UUID> seating = seating(rosterIds);
+        int totalRounds = (seating.size() - 1) * roundRobinCount;
+        List<PlannedMatch> matches = planRounds(seating, 0, totalRounds, startsAt,
+                gamesPerBlock, minutesBetweenGames, minutesBetweenBlocks);
+        return new SeasonPlan(matches, finishesAt(matches.size(), startsAt,
+                gamesPerBlock, minutesBetweenGames, minutesBetweenBlocks));
+    }
+
+    /**
+     * Plans rounds [fromRound, fromRound + rounds) from the given seating, which is left rotated for the next call.
+     * Every round has the same number of matches, so the global match index (and with it the time) follows from
+     * the round number.
+     */
+    public static List<PlannedMatch> planRounds(List<UUID> seating, int fromRound, int rounds, LocalDateTime startsAt,
+                                                int gamesPerBlock, int minutesBetweenGames, int minutesBetweenBlocks) {
+        long firstIndex = (long) fromRound * matchesPerRound(seating);
+        List<Pairing<UUID>> pairings = playRounds(seating, fromRound, rounds);
+        List<PlannedMatch> matches = new ArrayList<>(pairings.size());
+        for (int i = 0; i < pairings.size(); i++) {
+            Pairing<UUID> pairing = pairings.get(i);
+            matches.add(new PlannedMatch(UUID.randomUUID(), pairing.home(), pairing.away(),
+                    matchTime(firstIndex + i, startsAt, gamesPerBlock, minutesBetweenGames, minutesBetweenBlocks)));
+        }
+        return matches;
+    }
+
+    /**
+     * Pacing: gamesPerBlock matches minutesBetweenGames apart, then a minutesBetweenBlocks rest.
+     * The first match is one block rest after startsAt.
+     */
+    static LocalDateTime matchTime(long index, LocalDateTime startsAt,
+                                   int gamesPerBlock, int minutesBetweenGames, int minutesBetweenBlocks) {
+        int perBlock = Math.max(1, gamesPerBlock);
+        long block = index / perBlock;
+        long inBlock = index % perBlock;
+        long blockLength = (perBlock - 1L) * minutesBetweenGames + minutesBetweenBlocks;
+        return startsAt.plusMinutes(minutesBetweenBlocks + block * blockLength + inBlock * minutesBetweenGames);
+    }
+
+    /**
+     * The last match start plus a 60-minute buffer for simulation.
+     */
+    static LocalDateTime finishesAt(long matchCount, LocalDateTime startsAt,
+                                    int gamesPerBlock, int minutesBetweenGames, int minutesBetweenBlocks) {
+        return matchTime(Math.max(0, matchCount - 1), startsAt, gamesPerBlock, minutesBetweenGames, minutesBetweenBlocks)
+                .plusMinutes(60);
+    }
+
+    /**
+     * Round Robin pairings over participant indexes using the Circle Method, in play order.
+     * Each entry is {round, homeIndex, awayIndex} (see {@link #playRounds}).
+     */
+    public static List<int[]> roundRobin(int participants, int roundRobinCount) {
+        List<Integer> seating = new ArrayList<>(participants + 1);
+        for (int i = 0; i < participants; i++) seating.add(i);
+        if (seating.size() % 2 != 0) {
+            seating.add(null); // Add a "Bye" team if odd
+        }
+        return playRounds(seating, 0, (seating.size() - 1) * roundRobinCount).stream()
+                .map(p -> new int[]{p.round(), p.home(), p.away()})
+                .toList();
+    }
+
+    /**
+     * Plays rounds [fromRound, fromRound + rounds) of the Circle Method, rotating the seating in place (the first
+     * seat stays fixed). "Bye" (null) matches are skipped and home/away sides alternate every other round for
+     * fairness.
+     */
+    static <T> List<Pairing<T>> playRounds(List<T> seating, int fromRound, int rounds) {
+        int seats = seating.size();
+        List<Pairing<T>> pairings = new ArrayList<>(Math.max(0, rounds * (seats / 2)));
+        for (int r = fromRound; r < fromRound + rounds; r++) {
+            for (int i = 0; i < seats / 2; i++) {
+                T home = seating.get(i);
+                T away = seating.get(seats - 1 - i);
                 if (home == null || away == null) continue;
 
-                // Track this as the last scheduled match time
-                lastScheduledTime = currentMatchTime;
-
-                // Alternate home/away sides every other round for fairness
-                Match match = (r % 2 == 0) 
-                    ? buildMatch(event, home, away, currentMatchTime)
-                    : buildMatch(event, away, home, currentMatchTime);
-                
-                seasonMatches.add(match);
-
-                // Pacing Math: Calculate the time for the NEXT match
-                currentBlockCount++;
-                if (currentBlockCount >= event.getGamesPerBlock()) {
-                    // Block end: Apply the long rest period
-                    currentMatchTime = currentMatchTime.plusMinutes(event.getMinutesBetweenBlocks());
-                    currentBlockCount = 0;
-                } else {
-                    // Inside block: Apply the short rest period
-                    currentMatchTime = currentMatchTime.plusMinutes(event.getMinutesBetweenGames());
-                }
+                pairings.add(r % 2 == 0 ? new Pairing<>(r, home, away) : new Pairing<>(r, away, home));
             }
 
             // Rotate teams for the next round (fixing the first team in place)
-            Collections.rotate(teams.subList(1, numTeams), 1);
+            Collections.rotate(seating.subList(1, seats), 1);
         }
+        return pairings;
+    }
 
-        // 3. Set the predicted finish time for the event
-        // We add a 60-minute buffer to the last match's start time to account for simulation duration
-        event.setFinishesAt(lastScheduledTime.plusMinutes(60));
-
-        matchRepository.saveAll(seasonMatches);
-        log.info("Generated {} matches for league {}. Predicted finish at: {}", 
-                seasonMatches.size(), event.getName(), event.getFinishesAt());
+    private static List<UUID> seating(List<UUID> rosterIds) {
+        List<UUID> seating = new ArrayList<>(rosterIds);
+        if (seating.size() % 2 != 0) {
+            seating.add(null);
+        }
+        return seating;
     }
 
-    private void initializeStandings(League league, List<Roster> participants) {
-                List<LeagueStanding> standings = participants.stream().map((Roster roster) ->
-                    LeagueStanding.builder()
-                        .league(league)
-                        .roster(roster)
-                        .wins(0)
-                        .losses(0)
-                        .build()
-                ).collect(Collectors.toList());        standingRepository.saveAll(standings);
+    private static int matchesPerRound(List<?> seating) {
+        return seating.size() / 2 - (seating.contains(null) ? 1 : 0);
     }
 
     private void recalculatePositions(UUID eventId) {
-        List<LeagueStanding> standings = standingRepository.findAllByLeagueEventIdOrderByWinsDesc(eventId);
-        for (int i = 0; i < standings.size(); i++) {
-            standings.get(i).setPosition(i + 1);
-        }
-        standingRepository.saveAll(standings);
+        standingRepository.updatePositions(eventId);
+        standingsSnapshotService.invalidate(eventId);
     }
 
-    private Match buildMatch(Event event, Roster home, Roster away, LocalDateTime time) {
-        return Match.builder()
-                .event(event)
-                .homeRosterId(home.getId())
-                .awayRosterId(away.getId())
-                .status(Match.MatchStatus.SCHEDULED)
-                .scheduledTime(time)
-                .build();
-    }
-}
\ No newline at end of file
+    public record PlannedMatch(UUID id, UUID homeRosterId, UUID awayRosterId, LocalDateTime scheduledTime) {}
+
+    public record SeasonPlan(List<PlannedMatch> matches, LocalDateTime finishesAt) {}
+
+    record Pairing<T>(int round, T home, T away) {}
+}
@@ -0,0 +1,43 @@
+package com.tfxsoftware.memserver.modules.events.league;
+
+import com.tfxsoftware.memserver.modules.events.Event;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface LeagueRepository extends JpaRepository<League, UUID> {
+
+    /**
+     * Locks the league row so only one node advances the round cursor at a time.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT l FROM League l JOIN FETCH l.event WHERE l.eventId = :eventId")
+    Optional<League> findForUpdate(@Param("eventId") UUID eventId);
+
+    // --- Deadline index (see LeagueExtensionDeadlineHandler) ---
+
+    @Query("SELECT l.eventId AS eventId, l.extendScheduleAt AS extendScheduleAt FROM League l " +
+           "WHERE l.event.status = :status AND l.extendScheduleAt < :until")
+    List<ExtensionDeadlineView> findExtensionDeadlinesBefore(@Param("status") Event.EventStatus status,
+                                                             @Param("until") LocalDateTime until);
+
+    @Query("SELECT l.eventId AS eventId, l.extendScheduleAt AS extendScheduleAt FROM League l " +
+           "WHERE l.eventId IN :ids AND l.event.status = :status AND l.extendScheduleAt IS NOT NULL")
+    List<ExtensionDeadlineView> findExtensionDeadlinesByEventIdIn(@Param("ids") Collection<UUID> ids,
+                                                                  @Param("status") Event.EventStatus status);
+
+    interface ExtensionDeadlineView {
+        UUID getEventId();
+        LocalDateTime getExtendScheduleAt();
+    }
+}
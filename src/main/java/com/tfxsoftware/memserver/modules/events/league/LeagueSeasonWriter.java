@@ -0,0 +1,50 @@
+package com.tfxsoftware.memserver.modules.events.league;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Writes a generated season straight through JDBC in batches, outside the persistence context.
+ * Ids are generated by the caller, so nothing is read back; with reWriteBatchedInserts the driver folds each
+ * batch into multi-row INSERTs. Runs on the caller's transaction connection.
+ */
+@Repository
+@RequiredArgsConstructor
+public class LeagueSeasonWriter {
+
+    private static final int BATCH_SIZE = 500;
+
+    private static final String INSERT_STANDING = """
+            INSERT INTO league_standings (id, league_event_id, roster_id, wins, losses)
+            VALUES (?, ?, ?, 0, 0)
+            """;
+
+    private static final String INSERT_MATCH = """
+            INSERT INTO matches (id, event_id, home_roster_id, away_roster_id, status, scheduled_time)
+            VALUES (?, ?, ?, ?, 'SCHEDULED', ?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void insertStandings(UUID eventId, List<UUID> rosterIds) {
+        jdbcTemplate.batchUpdate(INSERT_STANDING, rosterIds, BATCH_SIZE, (ps, rosterId) -> {
+            ps.setObject(1, UUID.randomUUID());
+            ps.setObject(2, eventId);
+            ps.setObject(3, rosterId);
+        });
+    }
+
+    public void insertMatches(UUID eventId, List<LeagueGenerator.PlannedMatch> matches) {
+        jdbcTemplate.batchUpdate(INSERT_MATCH, matches, BATCH_SIZE, (ps, match) -> {
+            ps.setObject(1, match.id());
+            ps.setObject(2, eventId);
+            ps.setObject(3, match.homeRosterId());
+            ps.setObject(4, match.awayRosterId());
+            ps.setObject(5, match.scheduledTime());
+        });
+    }
+}
@@ -1,6 +1,9 @@
 package com.tfxsoftware.memserver.modules.events.league;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -8,7 +11,57 @@ import java.util.UUID;
 
 @Repository
 public interface LeagueStandingRepository extends JpaRepository<LeagueStanding, UUID> {
-    List<LeagueStanding> findAllByLeagueEventIdOrderByWinsDesc(UUID leagueId);
+    List<LeagueStanding> findAllByLeagueEventIdOrderByPositionAsc(UUID leagueId);
     java.util.Optional<LeagueStanding> findByLeagueEventIdAndRosterId(UUID leagueId, UUID rosterId);
     java.util.Optional<LeagueStanding> findByRosterId(UUID rosterId);
+
+    @Modifying
+    @Query("UPDATE LeagueStanding s SET s.wins = s.wins + :wins, s.losses = s.losses + :losses " +
+           "WHERE s.league.eventId = :leagueId AND s.roster.id = :rosterId")
+    int incrementRecord(@Param("leagueId") UUID leagueId, @Param("rosterId") UUID rosterId,
+                        @Param("wins") int wins, @Param("losses") int losses);
+
+    /**
+     * Re-ranks a league in one statement and writes only the rows whose position changed; returns that count.
+     * Order: wins, then win ratio, then head-to-head wins against the teams level on record, then roster name.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(value = "WITH h2h AS (" +
+                   "  SELECT s.id AS standing_id, COUNT(mr.match_id) AS wins " +
+                   "  FROM league_standings s " +
+                   "  JOIN league_standings o ON o.league_event_id = s.league_event_id AND o.id <> s.id " +
+                   "    AND o.wins = s.wins AND o.losses = s.losses " +
+                   "  JOIN matches m ON m.event_id = s.league_event_id " +
+                   "    AND ((m.home_roster_id = s.roster_id AND m.away_roster_id = o.roster_id) " +
+                   "      OR (m.away_roster_id = s.roster_id AND m.home_roster_id = o.roster_id)) " +
+                   "  JOIN match_results mr ON mr.match_id = m.id AND mr.winner_roster_id = s.roster_id " +
+                   "  WHERE s.league_event_id = :leagueId " +
+                   "  GROUP BY s.id), " +
+                   "ranked AS (" +
+                   "  SELECT s.id, ROW_NUMBER() OVER (ORDER BY s.wins DESC, " +
+                   "    CASE WHEN s.wins + s.losses = 0 THEN 0 ELSE CAST(s.wins AS numeric) / (s.wins + s.losses) END DESC, " +
+                   "    COALESCE(h.wins, 0) DESC, r.name, s.roster_id) AS position " +
+                   "  FROM league_standings s " +
+                   "  JOIN rosters r ON r.id = s.roster_id " +
+                   "  LEFT JOIN h2h h ON h.standing_id = s.id " +
+                   "  WHERE s.league_event_id = :leagueId) " +
+                   "UPDATE league_standings s SET position = ranked.position FROM ranked " +
+                   "WHERE s.id = ranked.id AND s.position IS DISTINCT FROM ranked.position", nativeQuery = true)
+    int updatePositions(@Param("leagueId") UUID leagueId);
+
+    // --- Standings snapshot (see StandingsSnapshotService): one query, no lazy roster/owner loading ---
+
+    @Query("SELECT s.position AS position, r.id AS rosterId, r.name AS rosterName, o.username AS ownerName, " +
+           "s.wins AS wins, s.losses AS losses " +
+           "FROM LeagueStanding s JOIN s.roster r LEFT JOIN r.owner o WHERE s.league.eventId = :leagueId ORDER BY s.position")
+    List<StandingRowView> findRowsByLeagueEventId(@Param("leagueId") UUID leagueId);
+
+    interface StandingRowView {
+        Integer getPosition();
+        UUID getRosterId();
+        String getRosterName();
+        String getOwnerName();
+        Integer getWins();
+        Integer getLosses();
+    }
 }
@@ -0,0 +1,193 @@
+package com.tfxsoftware.memserver.modules.events.league;
+
+import com.tfxsoftware.memserver.modules.events.Event;
+import com.tfxsoftware.memserver.modules.events.EventRepository;
+import com.tfxsoftware.memserver.modules.events.dto.LeagueStandingsResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Serves league standings from immutable in-memory snapshots.
+ * A snapshot is rebuilt when this node commits a league result (invalidate) and otherwise only after max-age,
+ * which bounds how long results committed by other nodes take to show up. Between rebuilds reads cost no queries,
+ * and the ETag (a hash of the content) lets clients revalidate without downloading the standings again.
+ * Rebuilds are single-flight per league: concurrent readers of a missing or expired snapshot wait for one query
+ * instead of all running it. Every invalidation bumps the league's version, and a snapshot only counts while its
+ * version is current, so a rebuild that started before an invalidation can never be served after it.
+ */
+@Service
+@Slf4j
+public class StandingsSnapshotService {
+
+    private final LeagueStandingRepository standingRepository;
+    private final EventRepository eventRepository;
+    private final Duration maxAge;
+    private final Map<UUID, LeagueSlot> slots = new ConcurrentHashMap<>();
+
+    public StandingsSnapshotService(
+            LeagueStandingRepository standingRepository,
+            EventRepository eventRepository,
+            @Value("${events.standings.max-age:PT30S}") Duration maxAge) {
+        this.standingRepository = standingRepository;
+        this.eventRepository = eventRepository;
+        this.maxAge = maxAge;
+    }
+
+    /**
+     * Current standings snapshot of a league event, built on first access or once the cached one is too old.
+     * A slot is only kept for a running league: unknown ids and non-leagues leave nothing behind, and a finished
+     * league's standings are served without being cached.
+     */
+    public StandingsSnapshot get(UUID eventId) {
+        LeagueSlot slot = slots.computeIfAbsent(eventId, id -> new LeagueSlot());
+        StandingsSnapshot snapshot = slot.current(maxAge);
+        if (snapshot != null) {
+            return snapshot;
+        }
+        // ReentrantLock rather than synchronized, so waiting virtual threads don't pin their carriers
+        slot.rebuildLock.lock();
+        try {
+            snapshot = slot.current(maxAge);
+            if (snapshot != null) {
+                return snapshot;
+            }
+            long version = slot.version.get();
+            Event event;
+            try {
+                event = league(eventId);
+            } catch (ResponseStatusException e) {
+                slots.remove(eventId, slot);
+                throw e;
+            }
+            snapshot = rebuild(eventId);
+            if (event.getStatus() == Event.EventStatus.FINISHED) {
+                slots.remove(eventId, slot);
+            } else {
+                slot.cached = new Cached(snapshot, version);
+            }
+            return snapshot;
+        } finally {
+            slot.rebuildLock.unlock();
+        }
+    }
+
+    /**
+     * Drops the snapshot of a league once the current transaction commits, so the next read sees the new result.
+     */
+    public void invalidate(UUID eventId) {
+        afterCommit(() -> {
+            LeagueSlot slot = slots.get(eventId);
+            if (slot != null) {
+                slot.version.incrementAndGet();
+            }
+        });
+    }
+
+    /**
+     * Forgets a league once the current transaction commits; called when the league finishes.
+     */
+    public void evict(UUID eventId) {
+        afterCommit(() -> slots.remove(eventId));
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private Event league(UUID eventId) {
+        Event event = eventRepository.findById(eventId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Event not found with ID: " + eventId));
+        if (event.getType() != Event.EventType.LEAGUE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Event is not a league");
+        }
+        return event;
+    }
+
+    private StandingsSnapshot rebuild(UUID eventId) {
+        List<LeagueStandingsResponse.Entry> entries = standingRepository.findRowsByLeagueEventId(eventId).stream()
+                .map(row -> LeagueStandingsResponse.Entry.builder()
+                        .position(row.getPosition())
+                        .rosterId(row.getRosterId())
+                        .rosterName(row.getRosterName())
+                        .ownerName(row.getOwnerName())
+                        .wins(row.getWins())
+                        .losses(row.getLosses())
+                        .build())
+                .toList();
+
+        LocalDateTime now = LocalDateTime.now();
+        LeagueStandingsResponse body = LeagueStandingsResponse.builder()
+                .eventId(eventId)
+                .updatedAt(now)
+                .standings(entries)
+                .build();
+        StandingsSnapshot snapshot = new StandingsSnapshot(eventId, etag(entries), now, body);
+        log.debug("Standings snapshot of league {} rebuilt ({} rosters, etag {}).", eventId, entries.size(), snapshot.etag());
+        return snapshot;
+    }
+
+    /**
+     * Content hash, so every node produces the same ETag for the same standings.
+     */
+    static String etag(List<LeagueStandingsResponse.Entry> entries) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (LeagueStandingsResponse.Entry e : entries) {
+                digest.update((e.getPosition() + "|" + e.getRosterId() + "|" + e.getRosterName() + "|" + e.getOwnerName()
+                        + "|" + e.getWins() + "|" + e.getLosses() + "\n").getBytes(StandardCharsets.UTF_8));
+            }
+            return "\"" + HexFormat.of().formatHex(digest.digest(), 0, 12) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * A league's cached snapshot and the version it was read at.
+     */
+    private static final class LeagueSlot {
+        private final AtomicLong version = new AtomicLong();
+        private final ReentrantLock rebuildLock = new ReentrantLock();
+        private volatile Cached cached;
+
+        StandingsSnapshot current(Duration maxAge) {
+            Cached current = cached;
+            if (current == null || current.version() != version.get()
+                    || !current.snapshot().builtAt().plus(maxAge).isAfter(LocalDateTime.now())) {
+                return null;
+            }
+            return current.snapshot();
+        }
+    }
+
+    private record Cached(StandingsSnapshot snapshot, long version) {}
+
+    public record StandingsSnapshot(UUID eventId, String etag, LocalDateTime builtAt, LeagueStandingsResponse body) {}
+}
@@ -81,26 +81,35 @@ public class Hero {
     }
 
     public enum MetaTier {
-        S, A, B, C, D;
+        S(new BigDecimal("1.20")),
+        A(new BigDecimal("1.0")),
+        B(new BigDecimal("0.80")),
+        C(new BigDecimal("0.60")),
+        D(new BigDecimal("0.30"));
+
+        private final BigDecimal multiplier;
+
+        MetaTier(BigDecimal multiplier) {
+            this.multiplier = multiplier;
+        }
 
         public BigDecimal getMultiplier() {
-            return switch (this) {
-                case S -> new BigDecimal("1.20");
-                case A -> new BigDecimal("1.0");
-                case B -> new BigDecimal("0.80");
-                case C -> new BigDecimal("0.60");
-                case D -> new BigDecimal("0.30");
-            };
+            return multiplier;
         }
     }
 
+    // Shared constants so role lookups don't allocate on every call
+    private static final BigDecimal PRIMARY_EFFICIENCY = new BigDecimal("1.00");
+    private static final BigDecimal SECONDARY_EFFICIENCY = new BigDecimal("0.80");
+    private static final BigDecimal EMERGENCY_EFFICIENCY = new BigDecimal("0.10");
+
     /**
      * Simulation Logic: Calculates efficiency based on the selected role.
      */
     public BigDecimal getEfficiencyForRole(HeroRole role) {
-        if (role == primaryRole) return new BigDecimal("1.00");
-        if (role == secondaryRole) return new BigDecimal("0.80");
-        return new BigDecimal("0.10"); // Emergency pick
+        if (role == primaryRole) return PRIMARY_EFFICIENCY;
+        if (role == secondaryRole) return SECONDARY_EFFICIENCY;
+        return EMERGENCY_EFFICIENCY; // Emergency pick
     }
 
     /**
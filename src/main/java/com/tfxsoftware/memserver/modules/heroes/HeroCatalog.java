@@ -0,0 +1,210 @@
+package com.tfxsoftware.memserver.modules.heroes;
+
+import com.tfxsoftware.memserver.modules.heroes.Hero.HeroArchetype;
+import com.tfxsoftware.memserver.modules.heroes.Hero.HeroRole;
+import com.tfxsoftware.memserver.modules.heroes.Hero.MetaTier;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Immutable, versioned snapshot of the hero pool used by the Match Engine and draft validation.
+ * Heroes are indexed by id, by playable role and by primary tier, and the archetype
+ * counter/synergy relations are precomputed into matrices so no lookup ever touches the database.
+ *
+ * Heroes are detached copies: mutating a managed Hero entity never leaks into a published catalog.
+ * The pool is ordered by name then id (not by database row order), so draft fallbacks are deterministic
+ * and two catalogs with the same content have the same {@link #getFingerprint() fingerprint}.
+ */
+public final class HeroCatalog {
+
+    private static final HeroCatalog EMPTY = new HeroCatalog(0L, List.of());
+
+    private final long version;
+    private final String fingerprint;
+    private final List<Hero> heroes;
+    private final Map<UUID, Hero> byId;
+    private final Map<HeroRole, List<Hero>> byRole;
+    private final Map<MetaTier, List<Hero>> byTier;
+    private final boolean[][] counters;
+    private final boolean[][] synergies;
+
+    private HeroCatalog(long version, List<Hero> source) {
+        this.version = version;
+
+        List<Hero> copies = new ArrayList<>(source.size());
+        Map<UUID, Hero> ids = new HashMap<>();
+        for (Hero hero : source) {
+            Hero copy = copyOf(hero);
+            copies.add(copy);
+            ids.put(copy.getId(), copy);
+        }
+        copies.sort(Comparator.comparing(Hero::getName, Comparator.nullsFirst(Comparator.<String>naturalOrder()))
+                .thenComparing(Hero::getId));
+        this.fingerprint = fingerprintOf(copies);
+        this.heroes = Collections.unmodifiableList(copies);
+        this.byId = Collections.unmodifiableMap(ids);
+
+        // Role lists keep the pool order and are sorted by primary tier (stable), which is the draft fallback order
+        Map<HeroRole, List<Hero>> roles = new EnumMap<>(HeroRole.class);
+        for (HeroRole role : HeroRole.values()) {
+            List<Hero> playable = new ArrayList<>();
+            for (Hero hero : copies) {
+                if (hero.getPrimaryRole() == role || hero.getSecondaryRole() == role) {
+                    playable.add(hero);
+                }
+            }
+            playable.sort(Comparator.comparingInt(h -> h.getPrimaryTier().ordinal()));
+            roles.put(role, Collections.unmodifiableList(playable));
+        }
+        this.byRole = Collections.unmodifiableMap(roles);
+
+        Map<MetaTier, List<Hero>> tiers = new EnumMap<>(MetaTier.class);
+        for (MetaTier tier : MetaTier.values()) {
+            List<Hero> inTier = new ArrayList<>();
+            for (Hero hero : copies) {
+                if (hero.getPrimaryTier() == tier) {
+                    inTier.add(hero);
+                }
+            }
+            tiers.put(tier, Collections.unmodifiableList(inTier));
+        }
+        this.byTier = Collections.unmodifiableMap(tiers);
+
+        int archetypes = HeroArchetype.values().length;
+        this.counters = new boolean[archetypes][archetypes];
+        this.synergies = new boolean[archetypes][archetypes];
+        for (HeroArchetype a : HeroArchetype.values()) {
+            for (HeroArchetype b : HeroArchetype.values()) {
+                counters[a.ordinal()][b.ordinal()] = a.counters(b);
+                synergies[a.ordinal()][b.ordinal()] = a.synergizesWith(b);
+            }
+        }
+    }
+
+    public static HeroCatalog of(long version, List<Hero> heroes) {
+        return new HeroCatalog(version, heroes);
+    }
+
+    public static HeroCatalog empty() {
+        return EMPTY;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Content hash of the pool (ids, names, roles, tiers, archetypes, in catalog order).
+     * Stable across restarts, unlike the version counter; stored on MatchResult for replays.
+     */
+    public String getFingerprint() {
+        return fingerprint;
+    }
+
+    public int size() {
+        return heroes.size();
+    }
+
+    public boolean isEmpty() {
+        return heroes.isEmpty();
+    }
+
+    public List<Hero> getHeroes() {
+        return heroes;
+    }
+
+    public boolean contains(UUID heroId) {
+        return heroId != null && byId.containsKey(heroId);
+    }
+
+    /**
+     * Returns the hero or null when the id is null or unknown.
+     */
+    public Hero get(UUID heroId) {
+        return heroId != null ? byId.get(heroId) : null;
+    }
+
+    public Optional<Hero> findById(UUID heroId) {
+        return Optional.ofNullable(get(heroId));
+    }
+
+    /**
+     * Heroes that can play the role (primary or secondary), best primary tier first.
+     */
+    public List<Hero> getHeroesForRole(HeroRole role) {
+        return byRole.get(role);
+    }
+
+    /**
+     * Heroes whose primary tier is the given tier.
+     */
+    public List<Hero> getHeroesForTier(MetaTier tier) {
+        return byTier.get(tier);
+    }
+
+    /**
+     * Best available meta hero for a role: the best primary tier among heroes playing the role,
+     * falling back to the best primary tier of the whole pool. Null if every hero is unavailable.
+     */
+    public Hero findBestAvailable(HeroRole role, Set<UUID> unavailable) {
+        for (Hero hero : byRole.get(role)) {
+            if (!unavailable.contains(hero.getId())) return hero;
+        }
+        for (MetaTier tier : MetaTier.values()) {
+            for (Hero hero : byTier.get(tier)) {
+                if (!unavailable.contains(hero.getId())) return hero;
+            }
+        }
+        return null;
+    }
+
+    public boolean counters(HeroArchetype attacker, HeroArchetype target) {
+        return counters[attacker.ordinal()][target.ordinal()];
+    }
+
+    public boolean synergizes(HeroArchetype a, HeroArchetype b) {
+        return synergies[a.ordinal()][b.ordinal()];
+    }
+
+    private static String fingerprintOf(List<Hero> heroes) {
+        // Only String/UUID hashes (specified by the JDK) and enum names, never identity hashes
+        long hash = 1125899906842597L;
+        for (Hero hero : heroes) {
+            hash = 31 * hash + hero.getId().hashCode();
+            hash = 31 * hash + Objects.hashCode(hero.getName());
+            hash = 31 * hash + nameHash(hero.getPrimaryRole());
+            hash = 31 * hash + nameHash(hero.getPrimaryTier());
+            hash = 31 * hash + nameHash(hero.getSecondaryRole());
+            hash = 31 * hash + nameHash(hero.getSecondaryTier());
+            hash = 31 * hash + nameHash(hero.getArchetype());
+        }
+        return heroes.size() + "-" + Long.toHexString(hash);
+    }
+
+    private static int nameHash(Enum<?> value) {
+        return value != null ? value.name().hashCode() : 0;
+    }
+
+    private static Hero copyOf(Hero hero) {
+        return Hero.builder()
+                .id(hero.getId())
+                .name(hero.getName())
+                .pictureUrl(hero.getPictureUrl())
+                .primaryRole(hero.getPrimaryRole())
+                .primaryTier(hero.getPrimaryTier())
+                .secondaryRole(hero.getSecondaryRole())
+                .secondaryTier(hero.getSecondaryTier())
+                .archetype(hero.getArchetype())
+                .build();
+    }
+}
@@ -0,0 +1,82 @@
+package com.tfxsoftware.memserver.modules.heroes;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Holds the currently published {@link HeroCatalog}.
+ * The catalog is built at startup and republished whenever heroes are written (see {@link #rebuildAfterCommit}),
+ * swapped atomically, so readers (engine, draft validation) never hit the database.
+ */
+@Service
+@Slf4j
+public class HeroCatalogService {
+
+    private final HeroRepository heroRepository;
+    private final TransactionTemplate readTransaction;
+    private final AtomicLong versions = new AtomicLong();
+    private volatile HeroCatalog current = HeroCatalog.empty();
+
+    public HeroCatalogService(HeroRepository heroRepository, PlatformTransactionManager transactionManager) {
+        this.heroRepository = heroRepository;
+        // rebuild() is reached from current() and from afterCompletion callbacks, never through the proxy, so its
+        // transaction is explicit. REQUIRES_NEW because a completed transaction's resources may still be bound there.
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
+        this.readTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Returns the published catalog, building it on first access if the initializer has not run yet.
+     */
+    public HeroCatalog current() {
+        HeroCatalog catalog = current;
+        if (catalog.getVersion() == 0L) {
+            return rebuild();
+        }
+        return catalog;
+    }
+
+    /**
+     * Republishes the catalog once the current transaction commits (at most once per transaction, however many
+     * heroes it wrote), or right away outside a transaction. Every hero write path calls this.
+     */
+    public void rebuildAfterCommit() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            rebuild();
+            return;
+        }
+        if (TransactionSynchronizationManager.hasResource(this)) {
+            return;
+        }
+        TransactionSynchronizationManager.bindResource(this, Boolean.TRUE);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(HeroCatalogService.this);
+                if (status == STATUS_COMMITTED) {
+                    rebuild();
+                }
+            }
+        });
+    }
+
+    /**
+     * Reloads the hero pool from the database and publishes a new catalog version.
+     */
+    public synchronized HeroCatalog rebuild() {
+        List<Hero> heroes = readTransaction.execute(status -> heroRepository.findAll());
+        HeroCatalog catalog = HeroCatalog.of(versions.incrementAndGet(), heroes);
+        current = catalog;
+        log.info("Hero catalog v{} published with {} heroes.", catalog.getVersion(), catalog.size());
+        return catalog;
+    }
+}
@@ -16,13 +16,24 @@ import java.util.List;
 public class HeroDataInitializer implements CommandLineRunner {
 
     private final HeroRepository heroRepository;
+    private final HeroService heroService;
 
     @Override
     @Transactional
     public void run(String... args) {
         log.info("Synchronizing Hero pool with Archetypes (22 Heroes)...");
 
-        List<Hero> seedHeroes = List.of(
+        seedHeroes().forEach(this::upsertHero);
+        // The catalog is republished once this transaction commits (HeroService.save)
+        log.info("Hero synchronization complete. Total: {}", heroRepository.count());
+    }
+
+    /**
+     * The canonical hero pool (without ids). Also used by the offline balance lab, so tier changes
+     * can be evaluated before they are deployed.
+     */
+    public static List<Hero> seedHeroes() {
+        return List.of(
             // --- MID ---
             createHero("Luxana", "MID", MetaTier.S, "SUPPORT", MetaTier.B, HeroArchetype.MAGE),
             createHero("Ignis", "MID", MetaTier.A, null, null, HeroArchetype.MAGE),
@@ -55,9 +66,6 @@ public class HeroDataInitializer implements CommandLineRunner {
             createHero("Thorn", "SUPPORT", MetaTier.A, "TOP", MetaTier.D, HeroArchetype.TANK),
             createHero("Echo", "SUPPORT", MetaTier.B, "MID", MetaTier.D, HeroArchetype.ENCHANTER)
         );
-
-        seedHeroes.forEach(this::upsertHero);
-        log.info("Hero synchronization complete. Total: {}", heroRepository.count());
     }
 
     private void upsertHero(Hero seed) {
@@ -69,13 +77,13 @@ public class HeroDataInitializer implements CommandLineRunner {
                 existing.setSecondaryRole(seed.getSecondaryRole());
                 existing.setSecondaryTier(seed.getSecondaryTier());
                 existing.setArchetype(seed.getArchetype());
-                heroRepository.save(existing);
+                heroService.save(existing);
             },
-            () -> heroRepository.save(seed)
+            () -> heroService.save(seed)
         );
     }
 
-    private Hero createHero(String name, String pR, MetaTier pT, String sR, MetaTier sT, HeroArchetype arch) {
+    private static Hero createHero(String name, String pR, MetaTier pT, String sR, MetaTier sT, HeroArchetype arch) {
         return Hero.builder()
                 .name(name)
                 .pictureUrl("https://api.dicebear.com/7.x/pixel-art/svg?seed=" + name)
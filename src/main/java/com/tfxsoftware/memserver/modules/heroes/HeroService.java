@@ -14,6 +14,7 @@ import java.util.stream.Collectors;
 public class HeroService {
 
     private final HeroRepository heroRepository;
+    private final HeroCatalogService heroCatalogService;
 
     /**
      * Fetches all heroes and transforms them into DTOs using the flat structure.
@@ -35,6 +36,16 @@ public class HeroService {
         return heroRepository.findAll();
     }
 
+    /**
+     * Creates or updates a hero; the engine's catalog picks the change up once the transaction commits.
+     */
+    @Transactional
+    public Hero save(Hero hero) {
+        Hero saved = heroRepository.save(hero);
+        heroCatalogService.rebuildAfterCommit();
+        return saved;
+    }
+
     /**
      * Returns all heroes grouped by role, each entry with hero id and meta strength for that role.
      * A hero appears under each role they have (primary and/or secondary) with the corresponding tier.
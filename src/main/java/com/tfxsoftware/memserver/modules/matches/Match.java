@@ -10,7 +10,13 @@ import java.util.List;
 import java.util.UUID;
 
 @Entity
-@Table(name = "matches")
+@Table(name = "matches", indexes = {
+        // Claim order and keyset cursor of MatchClaimService
+        @Index(name = "idx_matches_scheduled_time_id", columnList = "scheduledTime, id"),
+        // Rosters with a live claim (see MatchRepository.lockClaimable)
+        @Index(name = "idx_matches_home_roster_status", columnList = "homeRosterId, status"),
+        @Index(name = "idx_matches_away_roster_status", columnList = "awayRosterId, status")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -37,6 +43,14 @@ public class Match {
 
     private LocalDateTime playedAt;
 
+    // --- Simulation lease (multi-node claiming, see MatchClaimService) ---
+
+    private String claimedBy;
+
+    private UUID claimToken;
+
+    private LocalDateTime claimExpiresAt;
+
     // Link back to the Event that owns this match
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "event_id")
@@ -71,9 +85,11 @@ public class Match {
 
     /**
      * status for async drafting workflow.
+     * CLAIMED: a node holds a lease to simulate the match; an expired lease can be claimed again.
      */
     public enum MatchStatus {
         SCHEDULED,
+        CLAIMED,
         COMPLETED,
         CANCELLED
     }
@@ -0,0 +1,260 @@
+package com.tfxsoftware.memserver.modules.matches;
+
+import com.tfxsoftware.memserver.modules.events.Event;
+import com.tfxsoftware.memserver.modules.heroes.Hero.HeroRole;
+import com.tfxsoftware.memserver.modules.matches.engine.DraftIntent;
+import com.tfxsoftware.memserver.modules.matches.engine.MatchSnapshot;
+import com.tfxsoftware.memserver.modules.matches.engine.PlayerSnapshot;
+import com.tfxsoftware.memserver.modules.matches.engine.RosterSnapshot;
+import com.tfxsoftware.memserver.modules.players.Player;
+import com.tfxsoftware.memserver.modules.players.PlayerHeroMasteryRepository;
+import com.tfxsoftware.memserver.modules.players.PlayerRepository;
+import com.tfxsoftware.memserver.modules.players.PlayerRoleMasteryRepository;
+import com.tfxsoftware.memserver.modules.rosters.RosterEnergy;
+import com.tfxsoftware.memserver.modules.rosters.RosterRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Batch loading stage of the Match Engine.
+ * Turns N match ids into immutable {@link MatchSnapshot}s with a constant number of projection queries
+ * (headers, 4 draft collections, rosters, players, traits, role and hero masteries),
+ * so the simulation stage never goes back to the database to read.
+ * Read-only: accrued bootcamp ticks are materialized by the callers that go on to play the matches
+ * (BootcampCatchUpProcessor.beforeMatches), never by forecasts.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class MatchBatchLoader {
+
+    private static final int DEFAULT_ENERGY = 100;
+
+    private final MatchRepository matchRepository;
+    private final RosterRepository rosterRepository;
+    private final PlayerRepository playerRepository;
+    private final PlayerRoleMasteryRepository roleMasteryRepository;
+    private final PlayerHeroMasteryRepository heroMasteryRepository;
+
+    /**
+     * Loads snapshots for the given matches, in the given order. Unknown ids are skipped.
+     */
+    @Transactional(readOnly = true)
+    public List<MatchSnapshot> load(List<UUID> matchIds) {
+        if (matchIds.isEmpty()) {
+            return List.of();
+        }
+
+        Map<UUID, MatchRepository.MatchHeaderView> headers = new HashMap<>();
+        for (MatchRepository.MatchHeaderView header : matchRepository.findHeadersByIdIn(matchIds)) {
+            headers.put(header.getId(), header);
+        }
+        if (headers.isEmpty()) {
+            return List.of();
+        }
+
+        Map<UUID, List<UUID>> homeBans = groupBans(matchRepository.findHomeBansByMatchIdIn(headers.keySet()));
+        Map<UUID, List<UUID>> awayBans = groupBans(matchRepository.findAwayBansByMatchIdIn(headers.keySet()));
+        Map<UUID, List<DraftIntent>> homePicks = groupPicks(matchRepository.findHomePicksByMatchIdIn(headers.keySet()));
+        Map<UUID, List<DraftIntent>> awayPicks = groupPicks(matchRepository.findAwayPicksByMatchIdIn(headers.keySet()));
+
+        Set<UUID> rosterIds = new HashSet<>();
+        for (MatchRepository.MatchHeaderView header : headers.values()) {
+            rosterIds.add(header.getHomeRosterId());
+            rosterIds.add(header.getAwayRosterId());
+        }
+        // Roster members (for default intentions) plus anyone named in a pick, even if they left the roster since
+        Map<UUID, PlayerRepository.PlayerIdentityView> identities = new LinkedHashMap<>();
+        Map<UUID, List<UUID>> membersByRoster = new HashMap<>();
+        for (PlayerRepository.PlayerIdentityView identity : playerRepository.findIdentitiesByRosterIdIn(rosterIds)) {
+            identities.put(identity.getId(), identity);
+            membersByRoster.computeIfAbsent(identity.getRosterId(), k -> new ArrayList<>()).add(identity.getId());
+        }
+        Set<UUID> missingPickPlayers = new HashSet<>();
+        collectMissingPlayers(homePicks, identities, missingPickPlayers);
+        collectMissingPlayers(awayPicks, identities, missingPickPlayers);
+        if (!missingPickPlayers.isEmpty()) {
+            for (PlayerRepository.PlayerIdentityView identity : playerRepository.findIdentitiesByIdIn(missingPickPlayers)) {
+                identities.put(identity.getId(), identity);
+            }
+        }
+
+        Map<UUID, PlayerSnapshot> players = loadPlayers(identities);
+
+        Map<UUID, RosterSnapshot> rosters = new HashMap<>();
+        LocalDateTime now = LocalDateTime.now();
+        for (RosterRepository.RosterVitalsView vitals : rosterRepository.findVitalsByIdIn(rosterIds)) {
+            rosters.put(vitals.getId(), rosterSnapshot(vitals, membersByRoster.getOrDefault(vitals.getId(), List.of()), now));
+        }
+
+        List<MatchSnapshot> snapshots = new ArrayList<>(headers.size());
+        for (UUID matchId : matchIds) {
+            MatchRepository.MatchHeaderView header = headers.get(matchId);
+            if (header == null) continue;
+
+            RosterSnapshot home = rosters.get(header.getHomeRosterId());
+            RosterSnapshot away = rosters.get(header.getAwayRosterId());
+            if (home == null || away == null) {
+                log.warn("Match {} references a missing roster. Skipping snapshot.", matchId);
+                continue;
+            }
+
+            List<DraftIntent> homeIntentions = homePicks.getOrDefault(matchId, List.of());
+            List<DraftIntent> awayIntentions = awayPicks.getOrDefault(matchId, List.of());
+            snapshots.add(new MatchSnapshot(
+                    matchId,
+                    header.getStatus(),
+                    header.getClaimToken(),
+                    header.getScheduledTime(),
+                    header.getEventId(),
+                    header.getEventType() == Event.EventType.LEAGUE,
+                    home,
+                    away,
+                    homeBans.getOrDefault(matchId, List.of()),
+                    awayBans.getOrDefault(matchId, List.of()),
+                    homeIntentions,
+                    awayIntentions,
+                    playersFor(home, away, homeIntentions, awayIntentions, players)
+            ));
+        }
+
+        log.debug("Loaded {} match snapshots ({} rosters, {} players).", snapshots.size(), rosters.size(), players.size());
+        return snapshots;
+    }
+
+    /**
+     * The same snapshot with both rosters read again: vitals (cohesion, morale, energy) and the players' traits and
+     * role/hero masteries. A batch is loaded once, so a roster's later match in the batch needs this after its
+     * earlier match has been applied (XP and level-ups included).
+     */
+    @Transactional(readOnly = true)
+    public MatchSnapshot withFreshRosters(MatchSnapshot match) {
+        LocalDateTime now = LocalDateTime.now();
+        RosterSnapshot home = match.home();
+        RosterSnapshot away = match.away();
+        for (RosterRepository.RosterVitalsView vitals : rosterRepository.findVitalsByIdIn(List.of(home.id(), away.id()))) {
+            if (vitals.getId().equals(home.id())) {
+                home = rosterSnapshot(vitals, home.memberIds(), now);
+            } else {
+                away = rosterSnapshot(vitals, away.memberIds(), now);
+            }
+        }
+
+        Map<UUID, PlayerRepository.PlayerIdentityView> identities = new LinkedHashMap<>();
+        if (!match.players().isEmpty()) {
+            for (PlayerRepository.PlayerIdentityView identity : playerRepository.findIdentitiesByIdIn(match.players().keySet())) {
+                identities.put(identity.getId(), identity);
+            }
+        }
+        Map<UUID, PlayerSnapshot> players = new HashMap<>(match.players());
+        players.putAll(loadPlayers(identities));
+
+        return new MatchSnapshot(match.matchId(), match.status(), match.claimToken(), match.scheduledTime(),
+                match.eventId(), match.leagueMatch(), home, away, match.homeBans(), match.awayBans(),
+                match.homeIntentions(), match.awayIntentions(), players);
+    }
+
+    private RosterSnapshot rosterSnapshot(RosterRepository.RosterVitalsView vitals, List<UUID> memberIds, LocalDateTime now) {
+        return new RosterSnapshot(
+                vitals.getId(),
+                vitals.getName(),
+                vitals.getCohesion(),
+                vitals.getMorale(),
+                vitals.getEnergy() != null
+                        ? RosterEnergy.current(vitals.getEnergy(), vitals.getEnergyUpdatedAt(), vitals.getActivity(), now)
+                        : DEFAULT_ENERGY,
+                memberIds
+        );
+    }
+
+    private Map<UUID, PlayerSnapshot> loadPlayers(Map<UUID, PlayerRepository.PlayerIdentityView> identities) {
+        if (identities.isEmpty()) {
+            return Map.of();
+        }
+        Set<UUID> playerIds = identities.keySet();
+
+        Map<UUID, Set<Player.PlayerTrait>> traits = new HashMap<>();
+        for (PlayerRepository.PlayerTraitView view : playerRepository.findTraitsByPlayerIdIn(playerIds)) {
+            traits.computeIfAbsent(view.getPlayerId(), k -> EnumSet.noneOf(Player.PlayerTrait.class)).add(view.getTrait());
+        }
+
+        Map<UUID, Map<HeroRole, Integer>> roleLevels = new HashMap<>();
+        for (PlayerRoleMasteryRepository.RoleLevelView view : roleMasteryRepository.findLevelsByPlayerIdIn(playerIds)) {
+            roleLevels.computeIfAbsent(view.getPlayerId(), k -> new EnumMap<>(HeroRole.class)).put(view.getRole(), view.getLevel());
+        }
+
+        Map<UUID, Map<UUID, Integer>> heroLevels = new HashMap<>();
+        for (PlayerHeroMasteryRepository.HeroLevelView view : heroMasteryRepository.findLevelsByPlayerIdIn(playerIds)) {
+            heroLevels.computeIfAbsent(view.getPlayerId(), k -> new HashMap<>()).put(view.getHeroId(), view.getLevel());
+        }
+
+        Map<UUID, PlayerSnapshot> players = new HashMap<>();
+        for (PlayerRepository.PlayerIdentityView identity : identities.values()) {
+            UUID id = identity.getId();
+            players.put(id, new PlayerSnapshot(
+                    id,
+                    identity.getNickname(),
+                    traits.getOrDefault(id, Set.of()),
+                    roleLevels.getOrDefault(id, Map.of()),
+                    heroLevels.getOrDefault(id, Map.of())
+            ));
+        }
+        return players;
+    }
+
+    private Map<UUID, PlayerSnapshot> playersFor(RosterSnapshot home, RosterSnapshot away,
+                                                 List<DraftIntent> homeIntentions, List<DraftIntent> awayIntentions,
+                                                 Map<UUID, PlayerSnapshot> players) {
+        Map<UUID, PlayerSnapshot> result = new HashMap<>();
+        addPlayers(home.memberIds(), players, result);
+        addPlayers(away.memberIds(), players, result);
+        for (DraftIntent intent : homeIntentions) addPlayer(intent.playerId(), players, result);
+        for (DraftIntent intent : awayIntentions) addPlayer(intent.playerId(), players, result);
+        return result;
+    }
+
+    private void addPlayers(List<UUID> ids, Map<UUID, PlayerSnapshot> players, Map<UUID, PlayerSnapshot> target) {
+        for (UUID id : ids) addPlayer(id, players, target);
+    }
+
+    private void addPlayer(UUID id, Map<UUID, PlayerSnapshot> players, Map<UUID, PlayerSnapshot> target) {
+        PlayerSnapshot player = players.get(id);
+        if (player != null) target.put(id, player);
+    }
+
+    private void collectMissingPlayers(Map<UUID, List<DraftIntent>> picks, Map<UUID, ?> known, Set<UUID> missing) {
+        for (List<DraftIntent> intents : picks.values()) {
+            for (DraftIntent intent : intents) {
+                if (!known.containsKey(intent.playerId())) missing.add(intent.playerId());
+            }
+        }
+    }
+
+    private Map<UUID, List<UUID>> groupBans(List<MatchRepository.MatchBanView> bans) {
+        Map<UUID, List<UUID>> grouped = new HashMap<>();
+        for (MatchRepository.MatchBanView ban : bans) {
+            grouped.computeIfAbsent(ban.getMatchId(), k -> new ArrayList<>()).add(ban.getHeroId());
+        }
+        return grouped;
+    }
+
+    private Map<UUID, List<DraftIntent>> groupPicks(List<MatchRepository.MatchPickView> picks) {
+        Map<UUID, List<DraftIntent>> grouped = new HashMap<>();
+        for (MatchRepository.MatchPickView pick : picks) {
+            grouped.computeIfAbsent(pick.getMatchId(), k -> new ArrayList<>()).add(new DraftIntent(
+                    pick.getPlayerId(),
+                    pick.getRole(),
+                    pick.getPreferredHeroId1(),
+                    pick.getPreferredHeroId2(),
+                    pick.getPreferredHeroId3(),
+                    pick.getPickOrder() != null ? pick.getPickOrder() : 0
+            ));
+        }
+        return grouped;
+    }
+}
@@ -0,0 +1,104 @@
+package com.tfxsoftware.memserver.modules.matches;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.lang.management.ManagementFactory;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Claim protocol that lets several memserver nodes simulate matches without double work.
+ * Each tick a node locks the next K due matches with FOR UPDATE SKIP LOCKED and marks them CLAIMED
+ * with a lease. Only the holder of the lease token can complete the match; if a node dies,
+ * its lease expires and any node can claim the match again.
+ */
+@Service
+@Slf4j
+public class MatchClaimService {
+
+    private final MatchRepository matchRepository;
+    private final String nodeId;
+    private final long leaseSeconds;
+    private final int batchSize;
+
+    public MatchClaimService(
+            MatchRepository matchRepository,
+            @Value("${matches.claim.node-id:}") String nodeId,
+            @Value("${matches.claim.lease-seconds:300}") long leaseSeconds,
+            @Value("${matches.claim.batch-size:500}") int batchSize
+    ) {
+        this.matchRepository = matchRepository;
+        // Defaults to pid@hostname, which is unique per running instance
+        this.nodeId = nodeId.isBlank() ? ManagementFactory.getRuntimeMXBean().getName() : nodeId;
+        this.leaseSeconds = leaseSeconds;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Atomically claims up to batch-size matches due before dueBefore for this node, in (scheduledTime, id) order.
+     * Pass the cursor of the previous claim to continue a catch-up pass after it (keyset pagination), or null to
+     * start from the oldest due match.
+     */
+    @Transactional
+    public Claim claimDue(LocalDateTime dueBefore, Cursor after) {
+        List<MatchRepository.ClaimableView> rows = after == null
+                ? matchRepository.lockClaimable(dueBefore, batchSize)
+                : matchRepository.lockClaimableAfter(dueBefore, after.scheduledTime(), after.id(), batchSize);
+        if (rows.isEmpty()) {
+            return new Claim(List.of(), after, false);
+        }
+
+        List<UUID> ids = rows.stream().map(MatchRepository.ClaimableView::getId).toList();
+        MatchRepository.ClaimableView last = rows.getLast();
+        UUID claimToken = UUID.randomUUID();
+        // The lease starts now, not at dueBefore, which may be well in the past during a long catch-up pass
+        matchRepository.claim(ids, Match.MatchStatus.CLAIMED, nodeId, claimToken, LocalDateTime.now().plusSeconds(leaseSeconds));
+        log.info("Node {} claimed {} matches (lease {}s, token {}).", nodeId, ids.size(), leaseSeconds, claimToken);
+        return new Claim(ids, new Cursor(last.getScheduledTime(), last.getId()), ids.size() == batchSize);
+    }
+
+    /**
+     * Gives up the claim on a match whose simulation failed, so it is retried by the next batch (on any node)
+     * instead of blocking its rosters until the lease expires. A no-op if the lease has already moved on.
+     */
+    @Transactional
+    public boolean release(UUID matchId, UUID claimToken) {
+        return matchRepository.releaseClaim(matchId, claimToken, Match.MatchStatus.CLAIMED, Match.MatchStatus.SCHEDULED) > 0;
+    }
+
+    /**
+     * Overdue matches (due but not yet claimed, or with an expired lease) and the oldest of their scheduled times.
+     */
+    @Transactional(readOnly = true)
+    public MatchRepository.BacklogView backlog(LocalDateTime now) {
+        return matchRepository.findBacklog(now);
+    }
+
+    /**
+     * The rosters playing in the given (claimed) matches.
+     */
+    @Transactional(readOnly = true)
+    public Set<UUID> rosterIds(Collection<UUID> matchIds) {
+        return matchRepository.findRosterIdsByIdIn(matchIds);
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    /**
+     * Position of the last claimed match in (scheduledTime, id) order.
+     */
+    public record Cursor(LocalDateTime scheduledTime, UUID id) {}
+
+    /**
+     * Claimed ids plus the cursor to continue from; full means the batch limit was hit, so more may be due.
+     */
+    public record Claim(List<UUID> ids, Cursor next, boolean full) {}
+}
@@ -7,6 +7,7 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
@@ -23,6 +24,8 @@ public class MatchController {
 
     private final MatchService matchService;
     private final MatchEngineService matchEngineService;
+    private final MatchForecastService matchForecastService;
+    private final MatchOrchestrator matchOrchestrator;
 
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
@@ -40,12 +43,52 @@ public class MatchController {
         return matchService.updateDraft(id, dto, user);
     }
 
+    /**
+     * Read-only Monte Carlo forecast of a proposed draft. Nothing is saved.
+     */
+    @PostMapping("/{id}/forecast")
+    public MatchForecastResponse forecast(
+            @PathVariable UUID id,
+            @RequestBody @Valid UpdateMatchDraftDto dto,
+            @RequestParam(defaultValue = "10000") int trials,
+            @AuthenticationPrincipal User user
+    ) {
+        return matchForecastService.forecast(id, dto, trials, user);
+    }
+
     @PostMapping("engine/test/{id}")
     @PreAuthorize("hasRole('ADMIN')")
     public void simulateGame(@PathVariable UUID id){
         matchEngineService.simulateMatch(id);
     }
 
+    /**
+     * Re-runs a finished match from its stored input snapshot and seed and compares with the stored result.
+     */
+    @GetMapping("/{id}/replay")
+    @PreAuthorize("hasRole('ADMIN')")
+    public MatchReplayResponse replay(@PathVariable UUID id) {
+        return matchEngineService.replay(id);
+    }
+
+    /**
+     * Text rendering of the simulation trace stored with a finished match.
+     */
+    @GetMapping(value = "/{id}/trace", produces = MediaType.TEXT_PLAIN_VALUE)
+    @PreAuthorize("hasRole('ADMIN')")
+    public String trace(@PathVariable UUID id) {
+        return matchEngineService.trace(id);
+    }
+
+    /**
+     * Overdue match backlog and catch-up progress of this node.
+     */
+    @GetMapping("/backlog")
+    @PreAuthorize("hasRole('ADMIN')")
+    public MatchBacklogResponse backlog() {
+        return matchOrchestrator.backlog();
+    }
+
     @GetMapping("/my-schedule")
     public List<UserMatchScheduleResponse> getMySchedule(@AuthenticationPrincipal User user) {
         return matchService.getMyScheduledMatches(user);
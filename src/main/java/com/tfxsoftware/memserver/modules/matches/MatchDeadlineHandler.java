@@ -0,0 +1,54 @@
+package com.tfxsoftware.memserver.modules.matches;
+
+import com.tfxsoftware.memserver.infra.scheduling.DeadlineHandler;
+import com.tfxsoftware.memserver.infra.scheduling.DeadlineType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Match deadlines: a SCHEDULED match is due at its scheduled time, a CLAIMED one when its lease expires
+ * (the claiming node died mid-simulation).
+ */
+@Component
+@RequiredArgsConstructor
+public class MatchDeadlineHandler implements DeadlineHandler {
+
+    private static final List<Match.MatchStatus> PENDING = List.of(Match.MatchStatus.SCHEDULED, Match.MatchStatus.CLAIMED);
+
+    private final MatchRepository matchRepository;
+    private final MatchOrchestrator matchOrchestrator;
+
+    @Override
+    public DeadlineType type() {
+        return DeadlineType.MATCH;
+    }
+
+    @Override
+    public Map<UUID, LocalDateTime> pendingDeadlines(LocalDateTime until) {
+        return toDeadlines(matchRepository.findDeadlinesBefore(until, Match.MatchStatus.SCHEDULED, Match.MatchStatus.CLAIMED));
+    }
+
+    @Override
+    public Map<UUID, LocalDateTime> deadlinesFor(Collection<UUID> ids) {
+        return toDeadlines(matchRepository.findDeadlinesByIdInAndStatusIn(ids, PENDING));
+    }
+
+    @Override
+    public void fire(Collection<UUID> dueIds) {
+        matchOrchestrator.runScheduledMatches();
+    }
+
+    private static Map<UUID, LocalDateTime> toDeadlines(List<MatchRepository.MatchDeadlineView> views) {
+        Map<UUID, LocalDateTime> deadlines = new HashMap<>();
+        for (MatchRepository.MatchDeadlineView view : views) {
+            LocalDateTime dueAt = view.getStatus() == Match.MatchStatus.CLAIMED ? view.getClaimExpiresAt() : view.getScheduledTime();
+            if (dueAt != null) {
+                deadlines.put(view.getId(), dueAt);
+            }
+        }
+        return deadlines;
+    }
+}
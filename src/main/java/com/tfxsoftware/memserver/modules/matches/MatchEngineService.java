@@ -1,361 +1,258 @@
 package com.tfxsoftware.memserver.modules.matches;
 
+import com.tfxsoftware.memserver.modules.bootcamps.BootcampCatchUpProcessor;
+import com.tfxsoftware.memserver.modules.events.league.LeagueGenerator;
 import com.tfxsoftware.memserver.modules.heroes.Hero;
-import com.tfxsoftware.memserver.modules.heroes.HeroService;
-import com.tfxsoftware.memserver.modules.players.Player;
-import com.tfxsoftware.memserver.modules.players.PlayerService;
-import com.tfxsoftware.memserver.modules.rosters.Roster;
-import com.tfxsoftware.memserver.modules.rosters.RosterService;
+import com.tfxsoftware.memserver.modules.heroes.HeroCatalog;
+import com.tfxsoftware.memserver.modules.heroes.HeroCatalogService;
+import com.tfxsoftware.memserver.modules.matches.dto.MatchReplayResponse;
+import com.tfxsoftware.memserver.modules.matches.engine.DraftIntent;
+import com.tfxsoftware.memserver.modules.matches.engine.MatchSnapshot;
+import com.tfxsoftware.memserver.modules.matches.engine.PlayerSnapshot;
+import com.tfxsoftware.memserver.modules.matches.engine.RosterSnapshot;
+import com.tfxsoftware.memserver.modules.matches.engine.ScoringKernel;
+import com.tfxsoftware.memserver.modules.matches.engine.SimulationKernel;
+import com.tfxsoftware.memserver.modules.matches.engine.SimulationOutcome;
+import com.tfxsoftware.memserver.modules.matches.engine.SimulationTrace;
+import com.tfxsoftware.memserver.modules.matches.engine.TeamScorer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.math.BigDecimal;
-import java.math.RoundingMode;
 import java.time.LocalDateTime;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.stream.Stream;
 
+/**
+ * Spring/persistence adapter around {@link SimulationKernel}: picks the seed and catalog, runs the kernel,
+ * and persists the outcome (guarded status flip, MatchResult, post-match progression).
+ */
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class MatchEngineService {
 
     private final MatchRepository matchRepository;
-    private final PlayerService playerService;
-    private final HeroService heroService;
-    private final RosterService rosterService;
+    private final MatchBatchLoader matchBatchLoader;
+    private final HeroCatalogService heroCatalogService;
     private final MatchResultService matchResultService;
     private final PostMatchProcessor postMatchProcessor;
+    private final LeagueGenerator leagueGenerator;
+    private final SimulationTraceRecorder traceRecorder;
+    private final BootcampCatchUpProcessor bootcampCatchUpProcessor;
 
-    private static final BigDecimal CLUTCH_THRESHOLD_PERCENT = new BigDecimal("0.05");
-    private static final double CLUTCH_PROBABILITY_BONUS = 0.20;
-
+    /**
+     * Simulates a single match by id (admin/test path). Loads its snapshot through the batch loader.
+     */
     @Transactional
     public void simulateMatch(UUID matchId) {
-        Match match = matchRepository.findById(matchId).orElseThrow();
-        if (match.getStatus() != Match.MatchStatus.SCHEDULED) {
-            log.warn("Match {} is not in SCHEDULED status. Skipping simulation.", matchId);
-            return;
+        bootcampCatchUpProcessor.beforeMatches(matchRepository.findRosterIdsByIdIn(List.of(matchId)));
+        List<MatchSnapshot> snapshots = matchBatchLoader.load(List.of(matchId));
+        if (snapshots.isEmpty()) {
+            throw new NoSuchElementException("Match not found: " + matchId);
         }
-
-        log.info("Starting simulation for Match: {}", matchId);
-
-        // 1. Resolve Intentions early to avoid redundancy
-        List<Match.MatchPick> homeIntentions = match.getHomePickIntentions();
-        if (homeIntentions == null || homeIntentions.isEmpty()) {
-            log.info("Home team has no pick intentions. Generating default preparation.");
-            homeIntentions = generateDefaultIntentions(match.getHomeRosterId());
+        MatchSnapshot match = snapshots.get(0);
+        if (match.status() == Match.MatchStatus.CLAIMED) {
+            log.warn("Match {} is currently claimed by a simulation node. Skipping simulation.", matchId);
+            return;
         }
-        List<Match.MatchPick> awayIntentions = match.getAwayPickIntentions();
-        if (awayIntentions == null || awayIntentions.isEmpty()) {
-            log.info("Away team has no pick intentions. Generating default preparation.");
-            awayIntentions = generateDefaultIntentions(match.getAwayRosterId());
+        simulate(match);
+        if (match.leagueMatch()) {
+            postMatchProcessor.recalculatePositions(match.eventId());
+            leagueGenerator.extendSchedule(match.eventId());
         }
-
-        // 2. Resolve Draft
-        log.info("Step 1: Resolving Draft for Match {}", matchId);
-        Map<UUID, Hero> finalizedPicks = resolveDraft(match, homeIntentions, awayIntentions);
-        
-        List<Hero> homeHeroes = homeIntentions.stream().map(p -> finalizedPicks.get(p.getPlayerId())).toList();
-        List<Hero> awayHeroes = awayIntentions.stream().map(p -> finalizedPicks.get(p.getPlayerId())).toList();
-        log.info("Draft resolved. Home picks: {}, Away picks: {}", 
-                homeHeroes.stream().map(Hero::getName).toList(), 
-                awayHeroes.stream().map(Hero::getName).toList());
-
-        log.info("Step 2: Calculating roster performances");
-        RosterPerformance homePerf = calculateRosterPerformance(match.getHomeRosterId(), homeIntentions, finalizedPicks, awayHeroes);
-        RosterPerformance awayPerf = calculateRosterPerformance(match.getAwayRosterId(), awayIntentions, finalizedPicks, homeHeroes);
-        log.info("Performance calculated. Home Strength: {}, Away Strength: {}", homePerf.totalStrength(), awayPerf.totalStrength());
-
-        // 3. Determine Winner (Probabilistic Clutch Logic)
-        log.info("Step 3: Determining winner");
-        UUID winnerId = determineWinner(homePerf, awayPerf, match);
-        log.info("Winner determined: {}", winnerId);
-
-        // 4. Persistence
-        log.info("Step 4: Saving match result and updating match status");
-        saveMatchResult(match, homePerf, awayPerf, winnerId, finalizedPicks);
-
-        log.info("Match {} simulation complete. Result persisted.", matchId);
     }
 
-    private RosterPerformance calculateRosterPerformance(UUID rosterId, List<Match.MatchPick> intentions, Map<UUID, Hero> picks, List<Hero> opponents) {
-        Roster roster = rosterService.findById(rosterId).orElseThrow();
-        List<Hero> teamHeroes = intentions.stream().map(i -> picks.get(i.getPlayerId())).toList();
-        log.info("Calculating performance for roster: {} ({})", roster.getName(), rosterId);
-
-        Map<UUID, BigDecimal> playerScores = new HashMap<>();
-        boolean hasClutchPlayer = false;
-        BigDecimal sumPlayerPerformance = BigDecimal.ZERO;
-
-        for (Match.MatchPick pick : intentions) {
-            Player player = playerService.findById(pick.getPlayerId()).orElseThrow();
-            Hero hero = picks.get(pick.getPlayerId());
-
-            if (player.getTraits().contains(Player.PlayerTrait.CLUTCH_FACTOR)) {
-                hasClutchPlayer = true;
-            }
-
-            BigDecimal pPerf = calculatePlayerPerformance(player, hero, pick.getRole());
-            playerScores.put(player.getId(), pPerf);
-            sumPlayerPerformance = sumPlayerPerformance.add(pPerf);
-            log.info("Player {} performance: {}", player.getNickname(), pPerf);
-        }
-
-        BigDecimal counterStrength = calculateCounterStrength(teamHeroes, opponents);
-        BigDecimal synergyStrength = calculateSynergyStrength(teamHeroes);
-
-        BigDecimal cohesionMult = BigDecimal.ONE.add(roster.getCohesion().divide(new BigDecimal("100"), 4, RoundingMode.HALF_UP));
-        BigDecimal moraleMult = BigDecimal.ONE.add(roster.getMorale().subtract(new BigDecimal("5.0")).divide(new BigDecimal("50"), 4, RoundingMode.HALF_UP));
-
-        int energy = roster.getEnergy() != null ? roster.getEnergy() : 100;
-        BigDecimal energyMult;
-        if (energy >= 75) {
-            energyMult = BigDecimal.ONE;
-        } else if (energy >= 30) {
-            energyMult = new BigDecimal("0.90");
-        } else {
-            energyMult = new BigDecimal("0.50");
+    /**
+     * Simulates a preloaded match. Reads come only from the snapshot and the hero catalog;
+     * the database is touched only to persist the outcome. Safe to call concurrently for matches
+     * that don't share a roster (see MatchSimulationExecutor).
+     */
+    @Transactional
+    public void simulate(MatchSnapshot match) {
+        UUID matchId = match.matchId();
+        if (match.status() != Match.MatchStatus.SCHEDULED && match.status() != Match.MatchStatus.CLAIMED) {
+            log.warn("Match {} is not in SCHEDULED or CLAIMED status. Skipping simulation.", matchId);
+            return;
         }
 
-        log.info("Roster Stats - Cohesion: {} (x{}), Morale: {} (x{}), Energy: {} (x{}), Counter Strength: {}, Synergy Strength: {}", 
-                roster.getCohesion(), cohesionMult, roster.getMorale(), moraleMult, energy, energyMult, counterStrength, synergyStrength);
-
-        BigDecimal performanceBeforeMults = sumPlayerPerformance.add(counterStrength).add(synergyStrength);
-        BigDecimal totalStrength = performanceBeforeMults
-                .multiply(cohesionMult)
-                .multiply(moraleMult)
-                .multiply(energyMult);
-        
-        log.info("Roster {} Total Strength Calculation: (SumPlayerPerf: {} + Counter: {} + Synergy: {}) * CohesionMult: {} * MoraleMult: {} * EnergyMult: {} = {}",
-                roster.getName(), sumPlayerPerformance, counterStrength, synergyStrength, cohesionMult, moraleMult, energyMult, totalStrength);
-
-        return new RosterPerformance(
-                totalStrength,
-                playerScores,
-                counterStrength,
-                synergyStrength,
-                roster.getCohesion(),
-                roster.getMorale(),
-                hasClutchPlayer
-        );
-    }
-
-    private BigDecimal calculatePlayerPerformance(Player player, Hero hero, Hero.HeroRole role) {
-        BigDecimal baseRS = player.getRoleMasteries().stream()
-                .filter(rm -> rm.getRole() == role)
-                .findFirst()
-                .map(rm -> new BigDecimal(rm.getStrength()))
-                .orElse(BigDecimal.ONE.setScale(2));
-
-        BigDecimal roleEfficiency = hero.getEfficiencyForRole(role);
-        BigDecimal effectiveRS = baseRS.multiply(roleEfficiency);
-
-        BigDecimal cs = player.getHeroMasteries().stream()
-                .filter(hm -> hm.getHeroId().equals(hero.getId()))
-                .findFirst()
-                .map(hm -> new BigDecimal(hm.getLevel()))
-                .orElse(BigDecimal.ONE);
-        
-        BigDecimal metaMult = hero.getMultiplierForRole(role);
-
-        BigDecimal rolePower = effectiveRS.multiply(new BigDecimal("0.60"));
-        BigDecimal heroPower = cs.multiply(metaMult).multiply(new BigDecimal("0.40"));
-        BigDecimal pPower = rolePower.add(heroPower);
+        HeroCatalog catalog = heroCatalogService.current();
+        long seed = ThreadLocalRandom.current().nextLong();
+        log.debug("Starting simulation for Match: {} (seed {})", matchId, seed);
+        SimulationOutcome outcome = SimulationKernel.simulate(match, catalog, seed);
+        logOutcome(match, outcome);
 
-        log.info("Player {} performance calculation: (BaseRS: {} * Eff: {} = EffectiveRS: {}) * 0.60 [{}] + (CS: {} * MetaMult: {}) * 0.40 [{}] = Total: {}",
-                player.getNickname(), baseRS, roleEfficiency, effectiveRS, rolePower, cs, metaMult, heroPower, pPower);
+        RosterPerformance home = toPerformance(match.home(), outcome.homeIntentions(), outcome.home());
+        RosterPerformance away = toPerformance(match.away(), outcome.awayIntentions(), outcome.away());
 
-        if (player.getTraits().contains(Player.PlayerTrait.LONE_WOLF)) {
-            BigDecimal beforeTrait = pPower;
-            pPower = pPower.multiply(new BigDecimal("1.10"));
-            log.info("Lone Wolf trait applied to player {}: {} * 1.10 = {}", player.getNickname(), beforeTrait, pPower);
+        log.debug("Step 4: Saving match result and updating match status");
+        if (!saveMatchResult(match, outcome, home, away, catalog, seed)) {
+            log.warn("Match {} was completed by another worker. Discarding this simulation.", matchId);
+            return;
         }
 
-        return pPower.setScale(2, RoundingMode.HALF_UP);
+        log.info("Match {} simulated. Winner: {} (home {} vs away {}, seed {}).",
+                matchId, outcome.winnerId(), home.totalStrength(), away.totalStrength(), seed);
     }
 
     /**
-     * Probabilistic Winner Logic:
-     * 1. Base prob = HomePower / TotalPower.
-     * 2. If close (< 5%), shift prob by 20% in favor of the Clutch team.
-     * 3. Clamp between 5% and 95%.
+     * Re-runs a completed match from the input snapshot and seed stored on its MatchResult.
+     * Nothing is persisted. Requires the hero pool to be unchanged since the match was played.
      */
-    private UUID determineWinner(RosterPerformance home, RosterPerformance away, Match match) {
-        BigDecimal homeStr = home.totalStrength();
-        BigDecimal awayStr = away.totalStrength();
-        BigDecimal total = homeStr.add(awayStr);
-
-        log.info("Determining winner: Home Strength: {}, Away Strength: {}, Total Strength: {}", homeStr, awayStr, total);
-
-        if (total.compareTo(BigDecimal.ZERO) == 0) return match.getHomeRosterId();
-
-        double winProbHome = homeStr.doubleValue() / total.doubleValue();
-        log.info("Base Win Probability - Home: {}%, Away: {}%", 
-                String.format("%.2f", winProbHome * 100), 
-                String.format("%.2f", (1 - winProbHome) * 100));
-
-        // Check for Clutch Window
-        BigDecimal diff = homeStr.subtract(awayStr).abs();
-        BigDecimal threshold = total.multiply(CLUTCH_THRESHOLD_PERCENT);
-
-        log.info("Clutch window check - Diff: {}, Threshold (5% of total): {}", diff, threshold);
-
-        if (diff.compareTo(threshold) < 0) {
-            log.info("Match is within Clutch Threshold. Checking for Clutch Factor trait...");
-            if (home.hasClutchPlayer() && !away.hasClutchPlayer()) {
-                winProbHome += CLUTCH_PROBABILITY_BONUS;
-                log.info("Home team has a Clutch player. Bonus +20%. New Home Prob: {}%", String.format("%.2f", winProbHome * 100));
-            } else if (away.hasClutchPlayer() && !home.hasClutchPlayer()) {
-                winProbHome -= CLUTCH_PROBABILITY_BONUS;
-                log.info("Away team has a Clutch player. Bonus +20% to Away. New Home Prob: {}%", String.format("%.2f", winProbHome * 100));
-            } else if (home.hasClutchPlayer() && away.hasClutchPlayer()) {
-                log.info("Both teams have Clutch players. Bonuses cancel out.");
-            } else {
-                log.info("No Clutch players found on either team.");
-            }
+    @Transactional(readOnly = true)
+    public MatchReplayResponse replay(UUID matchId) {
+        MatchResult stored = matchResultService.findByMatchId(matchId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "No result found for match " + matchId));
+        if (stored.getInputSnapshot() == null || stored.getSeed() == null) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Match was simulated before replay data was recorded");
         }
 
-        // Clamp to ensure there's always a chance for either side
-        double beforeClamp = winProbHome;
-        winProbHome = Math.max(0.05, Math.min(0.95, winProbHome));
-        if (beforeClamp != winProbHome) {
-            log.info("Probability clamped from {}% to {}%", String.format("%.2f", beforeClamp * 100), String.format("%.2f", winProbHome * 100));
+        HeroCatalog catalog = heroCatalogService.current();
+        if (!catalog.getFingerprint().equals(stored.getHeroCatalogFingerprint())) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Hero pool changed since this match was played");
         }
-        log.info("Final Win Probability - Home: {}%", String.format("%.2f", winProbHome * 100));
 
-        return Math.random() < winProbHome ? match.getHomeRosterId() : match.getAwayRosterId();
+        SimulationOutcome outcome = SimulationKernel.simulate(stored.getInputSnapshot(), catalog, stored.getSeed());
+        BigDecimal homeTotal = ScoringKernel.toCents(outcome.home().strength());
+        BigDecimal awayTotal = ScoringKernel.toCents(outcome.away().strength());
+
+        Map<UUID, UUID> heroPicks = new LinkedHashMap<>();
+        outcome.finalizedPicks().forEach((playerId, hero) -> heroPicks.put(playerId, hero.getId()));
+
+        return MatchReplayResponse.builder()
+                .matchId(matchId)
+                .seed(stored.getSeed())
+                .storedWinnerRosterId(stored.getWinnerRosterId())
+                .replayedWinnerRosterId(outcome.winnerId())
+                .storedHomeTotalPerformance(stored.getHomeTotalPerformance())
+                .replayedHomeTotalPerformance(homeTotal)
+                .storedAwayTotalPerformance(stored.getAwayTotalPerformance())
+                .replayedAwayTotalPerformance(awayTotal)
+                .homeWinProbability(outcome.homeWinProbability())
+                .heroPicks(heroPicks)
+                .identical(stored.getWinnerRosterId().equals(outcome.winnerId())
+                        && stored.getHomeTotalPerformance().compareTo(homeTotal) == 0
+                        && stored.getAwayTotalPerformance().compareTo(awayTotal) == 0)
+                .build();
     }
 
-    private BigDecimal calculateCounterStrength(List<Hero> team, List<Hero> opponents) {
-        int points = 0;
-        for (Hero t : team) {
-            for (Hero o : opponents) {
-                if (t.getArchetype().counters(o.getArchetype())) {
-                    points++;
-                    log.info("Counter match: {} counters {} (+1 point)", t.getName(), o.getName());
-                }
-            }
+    /**
+     * Renders the stored simulation trace of a completed match as text.
+     */
+    @Transactional(readOnly = true)
+    public String trace(UUID matchId) {
+        MatchResult stored = matchResultService.findByMatchId(matchId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "No result found for match " + matchId));
+        if (stored.getTrace() == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "No trace was recorded for match " + matchId);
         }
-        BigDecimal result = new BigDecimal(points).multiply(new BigDecimal("5.00"));
-        log.info("Total Counter Points: {} * 5.00 = {}", points, result);
-        return result;
+        return SimulationTrace.render(stored.getTrace(), heroCatalogService.current());
     }
 
-    private BigDecimal calculateSynergyStrength(List<Hero> team) {
-        int points = 0;
-        for (int i = 0; i < team.size(); i++) {
-            for (int j = i + 1; j < team.size(); j++) {
-                if (team.get(i).getArchetype().synergizesWith(team.get(j).getArchetype())) {
-                    points++;
-                    log.info("Synergy match: {} synergizes with {} (+1 point)", team.get(i).getName(), team.get(j).getName());
-                }
-            }
+    private void logOutcome(MatchSnapshot match, SimulationOutcome outcome) {
+        if (!log.isDebugEnabled()) {
+            return;
         }
-        BigDecimal result = new BigDecimal(points).multiply(new BigDecimal("3.00"));
-        log.info("Total Synergy Points: {} * 3.00 = {}", points, result);
-        return result;
-    }
-
-    private void saveMatchResult(Match match, RosterPerformance home, RosterPerformance away, UUID winnerId, Map<UUID, Hero> finalizedPicks) {
-        match.setStatus(Match.MatchStatus.COMPLETED);
-        match.setPlayedAt(LocalDateTime.now());
-        matchResultService.createResult(match, home, away, winnerId, finalizedPicks);
-        matchRepository.save(match);
-
-        postMatchProcessor.process(match, winnerId, finalizedPicks);
+        log.debug("Draft resolved for Match {}. Bans: {} / {}. Home picks: {}, Away picks: {}", match.matchId(),
+                match.homeBans(), match.awayBans(),
+                Arrays.stream(outcome.draft().home()).map(Hero::getName).toList(),
+                Arrays.stream(outcome.draft().away()).map(Hero::getName).toList());
+        double homeStr = outcome.home().strength();
+        double awayStr = outcome.away().strength();
+        log.debug("Determining winner: Home Strength: {}, Away Strength: {}, Clutch window: {}, Home Clutch: {}, Away Clutch: {}, Home Win Probability: {}",
+                homeStr, awayStr, ScoringKernel.isClutchWindow(homeStr, awayStr), outcome.home().hasClutchPlayer(),
+                outcome.away().hasClutchPlayer(), outcome.homeWinProbability());
+        log.debug("Winner determined: {}", outcome.winnerId());
     }
 
-    private Map<UUID, Hero> resolveDraft(Match match, List<Match.MatchPick> homeIntentions, List<Match.MatchPick> awayIntentions) {
-        List<UUID> homeBans = match.getHomeBans() != null ? match.getHomeBans() : List.of();
-        List<UUID> awayBans = match.getAwayBans() != null ? match.getAwayBans() : List.of();
-
-        Set<UUID> unavailable = Stream.concat(homeBans.stream(), awayBans.stream())
-                .collect(Collectors.toSet());
-        log.info("Starting draft resolution. Unavailable heroes (bans): {}", unavailable);
-
-        List<DraftEntry> sequence = Stream.concat(
-                homeIntentions.stream().map(p -> new DraftEntry(p, true)),
-                awayIntentions.stream().map(p -> new DraftEntry(p, false))
-        ).sorted(Comparator.comparingInt(e -> e.pick().getPickOrder())).toList();
-
-        Map<UUID, Hero> finalPicks = new HashMap<>();
-        List<Hero> allHeroes = heroService.findAll();
-
-        for (DraftEntry entry : sequence) {
-            Match.MatchPick intent = entry.pick();
-            String teamLabel = entry.isHome() ? "Home" : "Away";
-            log.info("Resolving pick for {} team, Player: {}, Role: {}, Order: {}", 
-                    teamLabel, intent.getPlayerId(), intent.getRole(), intent.getPickOrder());
-
-            Hero assigned = tryAssign(intent.getPreferredHeroId1(), unavailable, allHeroes);
-            if (assigned != null) {
-                log.info("Assigned preferred hero 1: {} for player {}", assigned.getName(), intent.getPlayerId());
-            } else {
-                assigned = tryAssign(intent.getPreferredHeroId2(), unavailable, allHeroes);
-                if (assigned != null) {
-                    log.info("Assigned preferred hero 2: {} for player {}", assigned.getName(), intent.getPlayerId());
-                } else {
-                    assigned = tryAssign(intent.getPreferredHeroId3(), unavailable, allHeroes);
-                    if (assigned != null) {
-                        log.info("Assigned preferred hero 3: {} for player {}", assigned.getName(), intent.getPlayerId());
-                    } else {
-                        assigned = findBestMetaHero(intent.getRole(), unavailable, allHeroes);
-                        log.info("No preferred heroes available. Assigned best meta hero: {} for player {}", 
-                                assigned.getName(), intent.getPlayerId());
-                    }
-                }
-            }
-
-            finalPicks.put(intent.getPlayerId(), assigned);
-            unavailable.add(assigned.getId());
+    /**
+     * Rounded view of a team score for MatchResult; the full breakdown lives in the SimulationTrace.
+     */
+    private RosterPerformance toPerformance(RosterSnapshot roster, List<DraftIntent> intentions, TeamScorer.TeamScore score) {
+        Map<UUID, BigDecimal> playerScores = new HashMap<>();
+        for (int i = 0; i < intentions.size(); i++) {
+            playerScores.put(intentions.get(i).playerId(), ScoringKernel.toCents(score.playerPerformance()[i]));
         }
-        return finalPicks;
-    }
-
-    private List<Match.MatchPick> generateDefaultIntentions(UUID rosterId) {
-        Roster roster = rosterService.findById(rosterId).orElseThrow();
-        List<Player> players = roster.getPlayers();
-        List<Match.MatchPick> intentions = new ArrayList<>();
 
-        for (int i = 0; i < players.size(); i++) {
-            Player player = players.get(i);
-            Hero.HeroRole primaryRole = player.getRoleMasteries().stream()
-                    .max(Comparator.comparingInt(rm -> rm.getLevel()))
-                    .map(rm -> rm.getRole())
-                    .orElse(Hero.HeroRole.MID); // Fallback
+        return new RosterPerformance(
+                ScoringKernel.toCents(score.strength()),
+                playerScores,
+                ScoringKernel.toCents(ScoringKernel.counterStrength(score.counterPoints())),
+                ScoringKernel.toCents(ScoringKernel.synergyStrength(score.synergyPoints())),
+                roster.cohesion(),
+                roster.morale(),
+                score.hasClutchPlayer(),
+                score.strength()
+        );
+    }
 
-            intentions.add(new Match.MatchPick(
-                    player.getId(),
-                    primaryRole,
-                    null, null, null,
-                    i + 1
-            ));
+    /**
+     * Flips the match to COMPLETED with a guarded update first, so a match is never persisted twice.
+     * Claimed matches complete only while our lease token is still on the row.
+     * Returns false when the match had already been completed or re-claimed.
+     */
+    private boolean saveMatchResult(MatchSnapshot match, SimulationOutcome outcome, RosterPerformance home, RosterPerformance away,
+                                    HeroCatalog catalog, long seed) {
+        LocalDateTime playedAt = LocalDateTime.now();
+        int updated = match.claimToken() != null
+                ? matchRepository.updateStatusIfClaimed(match.matchId(), match.claimToken(),
+                        Match.MatchStatus.CLAIMED, Match.MatchStatus.COMPLETED, playedAt)
+                : matchRepository.updateStatusIfCurrent(match.matchId(),
+                        Match.MatchStatus.SCHEDULED, Match.MatchStatus.COMPLETED, playedAt);
+        if (updated == 0) {
+            return false;
         }
-        return intentions;
+        Map<UUID, Hero> finalizedPicks = outcome.finalizedPicks();
+        matchResultService.createResult(match.matchId(), outcome.homeIntentions(), outcome.awayIntentions(),
+                home, away, outcome.winnerId(), finalizedPicks,
+                seed, catalog.getFingerprint(), replayInput(match, outcome, finalizedPicks),
+                traceRecorder.record(match, outcome, catalog, seed));
+
+        postMatchProcessor.process(match, outcome.homeIntentions(), outcome.awayIntentions(), outcome.winnerId(), finalizedPicks);
+        return true;
     }
 
-    private Hero tryAssign(UUID id, Set<UUID> unavailable, List<Hero> all) {
-        if (id == null || unavailable.contains(id)) return null;
-        return all.stream().filter(h -> h.getId().equals(id)).findFirst().orElse(null);
+    /**
+     * Trims the snapshot to what a replay needs: effective intentions (so defaults are not regenerated),
+     * the picked players, and only the hero level of the hero each player ended up with.
+     */
+    private MatchSnapshot replayInput(MatchSnapshot match, SimulationOutcome outcome, Map<UUID, Hero> finalizedPicks) {
+        Map<UUID, PlayerSnapshot> players = new HashMap<>();
+        Stream.concat(outcome.homeIntentions().stream(), outcome.awayIntentions().stream()).forEach(intent -> {
+            PlayerSnapshot player = match.player(intent.playerId());
+            UUID heroId = finalizedPicks.get(intent.playerId()).getId();
+            Map<UUID, Integer> heroLevels = player.heroLevels().containsKey(heroId)
+                    ? Map.of(heroId, player.heroLevel(heroId))
+                    : Map.of();
+            players.put(player.id(), new PlayerSnapshot(player.id(), player.nickname(), player.traits(), player.roleLevels(), heroLevels));
+        });
+
+        return new MatchSnapshot(
+                match.matchId(),
+                match.status(),
+                null,
+                match.scheduledTime(),
+                match.eventId(),
+                match.leagueMatch(),
+                withoutMembers(match.home()),
+                withoutMembers(match.away()),
+                match.homeBans(),
+                match.awayBans(),
+                outcome.homeIntentions(),
+                outcome.awayIntentions(),
+                players
+        );
     }
 
-    private Hero findBestMetaHero(Hero.HeroRole role, Set<UUID> unavailable, List<Hero> all) {
-        return all.stream()
-                .filter(h -> !unavailable.contains(h.getId()))
-                .filter(h -> h.getPrimaryRole() == role || h.getSecondaryRole() == role)
-                .min(Comparator.comparingInt(h -> h.getPrimaryTier().ordinal()))
-                .or(() -> all.stream()
-                        .filter(h -> !unavailable.contains(h.getId()))
-                        .min(Comparator.comparingInt(h -> h.getPrimaryTier().ordinal())))
-                .orElseThrow(() -> new IllegalStateException("No heroes available in the game database to assign."));
+    private RosterSnapshot withoutMembers(RosterSnapshot roster) {
+        return new RosterSnapshot(roster.id(), roster.name(), roster.cohesion(), roster.morale(), roster.energy(), List.of());
     }
 
-    private record DraftEntry(Match.MatchPick pick, boolean isHome) {}
-
     public record RosterPerformance(
             BigDecimal totalStrength,
             Map<UUID, BigDecimal> playerScores,
@@ -363,6 +260,7 @@ public class MatchEngineService {
             BigDecimal synergyStrength,
             BigDecimal cohesionSnapshot,
             BigDecimal moraleSnapshot,
-            boolean hasClutchPlayer
+            boolean hasClutchPlayer,
+            double rawStrength // Unrounded kernel strength, used for the win probability
     ) {}
 }
\ No newline at end of file
@@ -0,0 +1,208 @@
+package com.tfxsoftware.memserver.modules.matches;
+
+import com.tfxsoftware.memserver.modules.heroes.Hero;
+import com.tfxsoftware.memserver.modules.heroes.HeroCatalog;
+import com.tfxsoftware.memserver.modules.heroes.HeroCatalogService;
+import com.tfxsoftware.memserver.modules.matches.dto.MatchForecastResponse;
+import com.tfxsoftware.memserver.modules.matches.dto.UpdateMatchDraftDto;
+import com.tfxsoftware.memserver.modules.matches.engine.DraftIntent;
+import com.tfxsoftware.memserver.modules.matches.engine.DraftResolver;
+import com.tfxsoftware.memserver.modules.matches.engine.MatchSnapshot;
+import com.tfxsoftware.memserver.modules.matches.engine.RosterSnapshot;
+import com.tfxsoftware.memserver.modules.matches.engine.ScoringKernel;
+import com.tfxsoftware.memserver.modules.matches.engine.TeamScorer;
+import com.tfxsoftware.memserver.modules.rosters.RosterService;
+import com.tfxsoftware.memserver.modules.users.User;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.*;
+
+/**
+ * Read-only draft forecast for managers. Runs the engine's draft resolution and scoring in memory
+ * against a proposed draft; nothing is persisted and the match is not touched.
+ *
+ * Draft resolution is deterministic, so the uncertainty sampled here is the opponent's draft, which the
+ * manager can't see: each trial the opponent plays their default roles with preferred heroes drawn from
+ * the top of the meta for that role, and no bans.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class MatchForecastService {
+
+    public static final int MAX_TRIALS = 100_000;
+    private static final int OPPONENT_HERO_POOL = 5;
+
+    private final MatchBatchLoader matchBatchLoader;
+    private final RosterService rosterService;
+    private final HeroCatalogService heroCatalogService;
+
+    @Transactional(readOnly = true)
+    public MatchForecastResponse forecast(UUID matchId, UpdateMatchDraftDto dto, int trials, User currentUser) {
+        if (trials < 1 || trials > MAX_TRIALS) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Trials must be between 1 and " + MAX_TRIALS);
+        }
+
+        List<MatchSnapshot> snapshots = matchBatchLoader.load(List.of(matchId));
+        if (snapshots.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Match not found");
+        }
+        MatchSnapshot match = snapshots.get(0);
+        if (match.status() != Match.MatchStatus.SCHEDULED) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Cannot forecast a non-scheduled match");
+        }
+
+        boolean isHome = ownsRoster(match.home().id(), currentUser);
+        if (!isHome && !ownsRoster(match.away().id(), currentUser)) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "You do not own any roster in this match");
+        }
+
+        HeroCatalog catalog = heroCatalogService.current();
+        RosterSnapshot own = isHome ? match.home() : match.away();
+        RosterSnapshot opponent = isHome ? match.away() : match.home();
+
+        List<UUID> ownBans = dto.getTeamBans() != null ? dto.getTeamBans() : (isHome ? match.homeBans() : match.awayBans());
+        validateHeroIds(ownBans, catalog);
+        List<DraftIntent> ownIntentions = proposedIntentions(match, own,
+                isHome ? match.homeIntentions() : match.awayIntentions(), dto.getPickIntentions(), catalog);
+
+        long started = System.nanoTime();
+        Forecast forecast = run(match, isHome, ownIntentions, ownBans, DraftResolver.defaultIntentions(match, opponent),
+                catalog, trials, new SplittableRandom(matchId.getMostSignificantBits() ^ matchId.getLeastSignificantBits()));
+        log.debug("Forecast for match {} ({} trials) took {} ms", matchId, trials, (System.nanoTime() - started) / 1_000_000);
+
+        List<MatchForecastResponse.PickDistribution> distribution = new ArrayList<>(ownIntentions.size());
+        for (int i = 0; i < ownIntentions.size(); i++) {
+            Map<UUID, Double> rates = new LinkedHashMap<>();
+            forecast.pickCounts().get(i).forEach((heroId, count) -> rates.put(heroId, (double) count[0] / trials));
+            distribution.add(MatchForecastResponse.PickDistribution.builder()
+                    .playerId(ownIntentions.get(i).playerId())
+                    .role(ownIntentions.get(i).role())
+                    .heroRates(rates)
+                    .build());
+        }
+
+        return MatchForecastResponse.builder()
+                .matchId(matchId)
+                .rosterId(own.id())
+                .trials(trials)
+                .winProbability(forecast.winProbability())
+                .expectedStrength(ScoringKernel.toCents(forecast.expectedStrength()))
+                .expectedOpponentStrength(ScoringKernel.toCents(forecast.expectedOpponentStrength()))
+                .pickDistribution(distribution)
+                .build();
+    }
+
+    /**
+     * The trial loop. Pure: only the snapshot, the catalog and the generator are read.
+     * Win probability is the mean of the kernel probability per trial rather than a count of sampled winners.
+     */
+    static Forecast run(MatchSnapshot match, boolean isHome, List<DraftIntent> ownIntentions, List<UUID> ownBans,
+                        List<DraftIntent> opponentRoles, HeroCatalog catalog, int trials, SplittableRandom rng) {
+        RosterSnapshot own = isHome ? match.home() : match.away();
+        RosterSnapshot opponent = isHome ? match.away() : match.home();
+
+        Hero[][] candidates = new Hero[opponentRoles.size()][];
+        for (int i = 0; i < candidates.length; i++) {
+            List<Hero> forRole = catalog.getHeroesForRole(opponentRoles.get(i).role());
+            candidates[i] = forRole.subList(0, Math.min(OPPONENT_HERO_POOL, forRole.size())).toArray(new Hero[0]);
+        }
+        DraftIntent[] sampled = new DraftIntent[opponentRoles.size()];
+        List<DraftIntent> opponentIntentions = Arrays.asList(sampled);
+
+        List<Map<UUID, int[]>> pickCounts = new ArrayList<>(ownIntentions.size());
+        for (int i = 0; i < ownIntentions.size(); i++) pickCounts.add(new HashMap<>());
+
+        double winSum = 0.0;
+        double ownStrengthSum = 0.0;
+        double opponentStrengthSum = 0.0;
+        for (int t = 0; t < trials; t++) {
+            for (int i = 0; i < sampled.length; i++) {
+                DraftIntent role = opponentRoles.get(i);
+                sampled[i] = new DraftIntent(role.playerId(), role.role(),
+                        sample(candidates[i], rng), sample(candidates[i], rng), sample(candidates[i], rng), role.pickOrder());
+            }
+
+            DraftResolver.DraftPicks draft = isHome
+                    ? DraftResolver.resolve(ownIntentions, opponentIntentions, ownBans, List.of(), catalog)
+                    : DraftResolver.resolve(opponentIntentions, ownIntentions, List.of(), ownBans, catalog);
+            Hero[] ownPicks = isHome ? draft.home() : draft.away();
+            Hero[] opponentPicks = isHome ? draft.away() : draft.home();
+
+            TeamScorer.TeamScore ownScore = TeamScorer.score(match, own, ownIntentions, ownPicks, opponentPicks, catalog);
+            TeamScorer.TeamScore opponentScore = TeamScorer.score(match, opponent, opponentIntentions, opponentPicks, ownPicks, catalog);
+
+            double homeWin = isHome
+                    ? ScoringKernel.homeWinProbability(ownScore.strength(), opponentScore.strength(), ownScore.hasClutchPlayer(), opponentScore.hasClutchPlayer())
+                    : ScoringKernel.homeWinProbability(opponentScore.strength(), ownScore.strength(), opponentScore.hasClutchPlayer(), ownScore.hasClutchPlayer());
+            winSum += isHome ? homeWin : 1.0 - homeWin;
+            ownStrengthSum += ownScore.strength();
+            opponentStrengthSum += opponentScore.strength();
+
+            for (int i = 0; i < ownPicks.length; i++) {
+                pickCounts.get(i).computeIfAbsent(ownPicks[i].getId(), k -> new int[1])[0]++;
+            }
+        }
+
+        return new Forecast(winSum / trials, ownStrengthSum / trials, opponentStrengthSum / trials, pickCounts);
+    }
+
+    private static UUID sample(Hero[] candidates, SplittableRandom rng) {
+        return candidates.length == 0 ? null : candidates[rng.nextInt(candidates.length)].getId();
+    }
+
+    /**
+     * Stored intentions with the proposed picks applied on top, validated the same way as MatchService#updateDraft.
+     * Falls back to the default preparation when the roster has no intentions at all.
+     */
+    private List<DraftIntent> proposedIntentions(MatchSnapshot match, RosterSnapshot roster, List<DraftIntent> stored,
+                                                 List<UpdateMatchDraftDto.MatchPickDto> proposed, HeroCatalog catalog) {
+        List<DraftIntent> intentions = new ArrayList<>(stored);
+        if (proposed != null) {
+            for (UpdateMatchDraftDto.MatchPickDto pick : proposed) {
+                if (!roster.memberIds().contains(pick.getPlayerId())) {
+                    throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Player does not belong to the roster");
+                }
+                validateHeroIds(Arrays.asList(pick.getPreferredHeroId1(), pick.getPreferredHeroId2(), pick.getPreferredHeroId3()), catalog);
+
+                intentions.removeIf(i -> i.playerId().equals(pick.getPlayerId()));
+                intentions.add(new DraftIntent(pick.getPlayerId(), pick.getRole(), pick.getPreferredHeroId1(),
+                        pick.getPreferredHeroId2(), pick.getPreferredHeroId3(), pick.getPickOrder()));
+            }
+        }
+
+        Set<Object> roles = new HashSet<>();
+        Set<Integer> pickOrders = new HashSet<>();
+        for (DraftIntent intent : intentions) {
+            if (!roles.add(intent.role())) {
+                throw new ResponseStatusException(HttpStatus.CONFLICT, "Duplicate role: " + intent.role());
+            }
+            if (!pickOrders.add(intent.pickOrder())) {
+                throw new ResponseStatusException(HttpStatus.CONFLICT, "Duplicate pick order: " + intent.pickOrder());
+            }
+        }
+        return intentions.isEmpty() ? DraftResolver.defaultIntentions(match, roster) : intentions;
+    }
+
+    private void validateHeroIds(List<UUID> heroIds, HeroCatalog catalog) {
+        for (UUID id : heroIds) {
+            if (id != null && !catalog.contains(id)) {
+                throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Hero not found: " + id);
+            }
+        }
+    }
+
+    private boolean ownsRoster(UUID rosterId, User user) {
+        return rosterService.findById(rosterId)
+                .map(roster -> roster.getOwner().getId().equals(user.getId()))
+                .orElse(false);
+    }
+
+    record Forecast(double winProbability, double expectedStrength, double expectedOpponentStrength,
+                    List<Map<UUID, int[]>> pickCounts) {}
+}
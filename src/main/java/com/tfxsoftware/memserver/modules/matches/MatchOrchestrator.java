@@ -1,53 +1,145 @@
 package com.tfxsoftware.memserver.modules.matches;
 
+import com.tfxsoftware.memserver.modules.bootcamps.BootcampCatchUpProcessor;
+import com.tfxsoftware.memserver.modules.events.league.LeagueGenerator;
+import com.tfxsoftware.memserver.modules.matches.dto.MatchBacklogResponse;
+import com.tfxsoftware.memserver.modules.matches.engine.MatchSnapshot;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * The MatchOrchestrator is the background engine that triggers simulations.
- * It periodically scans the database for scheduled matches that have reached their start time.
+ * When a match deadline is due (MatchDeadlineHandler) it claims scheduled matches that have reached their start
+ * time (MatchClaimService, safe with several nodes), loads them all at once through the MatchBatchLoader and hands
+ * the snapshots to the MatchSimulationExecutor.
+ * After downtime the due matches can far outnumber one claim batch. The orchestrator then switches to catch-up
+ * mode: it keeps claiming bounded batches in scheduled order (keyset cursor), finishing each batch before claiming
+ * the next, until the backlog that existed when the pass started is drained.
  */
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class MatchOrchestrator {
 
-    private final MatchRepository matchRepository;
-    private final MatchEngineService matchEngineService;
+    private final MatchClaimService matchClaimService;
+    private final MatchBatchLoader matchBatchLoader;
+    private final MatchSimulationExecutor matchSimulationExecutor;
+    private final PostMatchProcessor postMatchProcessor;
+    private final LeagueGenerator leagueGenerator;
+    private final BootcampCatchUpProcessor bootcampCatchUpProcessor;
+
+    // Catch-up passes in progress; each run keeps its own progress, even if runs are allowed to overlap
+    private final Set<CatchUpPass> catchUpPasses = ConcurrentHashMap.newKeySet();
 
     /**
-     * Runs every minute (at the 30-second mark to offset from EventOrchestrator).
-     * This processes any match whose scheduled time has arrived.
+     * Processes any match whose scheduled time has arrived (or whose lease expired).
+     * Triggered by the DeadlineScheduler at the earliest pending match deadline.
      */
-    @Scheduled(cron = "30 * * * * *")
     public void runScheduledMatches() {
-        LocalDateTime now = LocalDateTime.now();
-        
-        List<Match> pendingMatches = matchRepository.findAllByStatusAndScheduledTimeBefore(
-                Match.MatchStatus.SCHEDULED, 
-                now
-        );
+        LocalDateTime dueBefore = LocalDateTime.now();
 
-        if (pendingMatches.isEmpty()) {
+        MatchClaimService.Claim claim = matchClaimService.claimDue(dueBefore, null);
+        if (claim.ids().isEmpty()) {
+            return;
+        }
+        if (!claim.full()) {
+            processBatch(claim.ids());
             return;
         }
 
-        log.info("MatchOrchestrator found {} matches ready for simulation.", pendingMatches.size());
-
-        for (Match match : pendingMatches) {
-            try {
-                // We process each match individually.
-                // The @Transactional inside simulateMatch ensures each game is its own atomic unit.
-                matchEngineService.simulateMatch(match.getId());
-            } catch (Exception e) {
-                log.error("Critical failure simulating match {}: {}", match.getId(), e.getMessage());
-                // We don't throw here so one broken match doesn't stop the whole batch
+        // A full batch means more is overdue: drain everything due before dueBefore, one bounded batch at a time.
+        // Matches that become due meanwhile are left to the next real-time run.
+        MatchRepository.BacklogView backlog = matchClaimService.backlog(dueBefore);
+        log.warn("MatchOrchestrator entering catch-up mode: {} more overdue matches, oldest scheduled at {}.",
+                backlog.getOverdue(), backlog.getOldestScheduledTime());
+        CatchUpPass pass = new CatchUpPass();
+        catchUpPasses.add(pass);
+        try {
+            int batches = 0;
+            while (true) {
+                processBatch(claim.ids());
+                pass.processed.addAndGet(claim.ids().size());
+                batches++;
+                if (!claim.full()) {
+                    break;
+                }
+                claim = matchClaimService.claimDue(dueBefore, claim.next());
+                if (claim.ids().isEmpty()) {
+                    break;
+                }
             }
+            log.info("MatchOrchestrator caught up: {} matches in {} batches over {} s.", pass.processed.get(), batches,
+                    Duration.between(pass.startedAt, LocalDateTime.now()).toSeconds());
+        } finally {
+            catchUpPasses.remove(pass);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * How far behind match processing is right now.
+     */
+    public MatchBacklogResponse backlog() {
+        LocalDateTime now = LocalDateTime.now();
+        MatchRepository.BacklogView backlog = matchClaimService.backlog(now);
+        LocalDateTime oldest = backlog.getOldestScheduledTime();
+        List<CatchUpPass> passes = List.copyOf(catchUpPasses);
+        return MatchBacklogResponse.builder()
+                .overdueMatches(backlog.getOverdue())
+                .oldestOverdueScheduledTime(oldest)
+                .lagSeconds(oldest == null ? 0 : Duration.between(oldest, now).toSeconds())
+                .catchingUp(!passes.isEmpty())
+                .catchUpStartedAt(passes.stream().map(p -> p.startedAt).min(Comparator.naturalOrder()).orElse(null))
+                .catchUpProcessed(passes.stream().mapToLong(p -> p.processed.get()).sum())
+                .build();
+    }
+
+    private void processBatch(List<UUID> claimedIds) {
+        // A roster in bootcamp enters the match with the XP, energy and cohesion its ticks accrued so far
+        bootcampCatchUpProcessor.beforeMatches(matchClaimService.rosterIds(claimedIds));
+        List<MatchSnapshot> pendingMatches = matchBatchLoader.load(claimedIds);
+
+        log.info("MatchOrchestrator found {} matches ready for simulation.", pendingMatches.size());
+
+        long startedAt = System.currentTimeMillis();
+        int simulated = matchSimulationExecutor.run(pendingMatches);
+        log.info("MatchOrchestrator simulated {}/{} matches in {} ms.",
+                simulated, pendingMatches.size(), System.currentTimeMillis() - startedAt);
+
+        // League positions are derived from wins, so they are recomputed once per league after the batch;
+        // lazily scheduled leagues get their next rounds at the same point
+        pendingMatches.stream()
+                .filter(MatchSnapshot::leagueMatch)
+                .map(MatchSnapshot::eventId)
+                .distinct()
+                .forEach(eventId -> {
+                    try {
+                        postMatchProcessor.recalculatePositions(eventId);
+                    } catch (Exception e) {
+                        log.error("Failed to recalculate standings for league {}: {}", eventId, e.getMessage());
+                    }
+                    try {
+                        leagueGenerator.extendSchedule(eventId);
+                    } catch (Exception e) {
+                        log.error("Failed to extend the schedule of league {}; its extension deadline will retry.", eventId, e);
+                    }
+                });
+    }
+
+    /**
+     * Progress of one catch-up pass (identity equality, so every run is tracked on its own).
+     */
+    private static final class CatchUpPass {
+        private final LocalDateTime startedAt = LocalDateTime.now();
+        private final AtomicLong processed = new AtomicLong();
+    }
+}
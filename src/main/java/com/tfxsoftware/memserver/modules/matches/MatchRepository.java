@@ -1,23 +1,25 @@
 package com.tfxsoftware.memserver.modules.matches;
 
+import com.tfxsoftware.memserver.modules.events.Event;
+import com.tfxsoftware.memserver.modules.heroes.Hero.HeroRole;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 @Repository
 public interface MatchRepository extends JpaRepository<Match, UUID> {
-    List<Match> findAllByStatusAndScheduledTimeBefore(
-        Match.MatchStatus status, 
-        LocalDateTime time
-    );
-
     List<Match> findAllByStatusAndHomeRosterIdInOrAwayRosterIdIn(
         Match.MatchStatus status,
         List<UUID> homeRosterIds,
@@ -26,4 +28,213 @@ public interface MatchRepository extends JpaRepository<Match, UUID> {
 
     @Query("SELECT m FROM Match m WHERE m.status = :status AND (m.homeRosterId IN :rosterIds OR m.awayRosterId IN :rosterIds)")
     Page<Match> findByStatusAndRosterIdsIn(@Param("status") Match.MatchStatus status, @Param("rosterIds") List<UUID> rosterIds, Pageable pageable);
+
+    // --- Batch loading for the simulation stage (projections only, so no EAGER association is triggered) ---
+
+    @Query("SELECT m.id AS id, m.status AS status, m.claimToken AS claimToken, m.scheduledTime AS scheduledTime, m.homeRosterId AS homeRosterId, " +
+           "m.awayRosterId AS awayRosterId, e.id AS eventId, e.type AS eventType " +
+           "FROM Match m LEFT JOIN m.event e WHERE m.id IN :ids")
+    List<MatchHeaderView> findHeadersByIdIn(@Param("ids") Collection<UUID> ids);
+
+    @Query("SELECT m.homeRosterId AS homeRosterId, m.awayRosterId AS awayRosterId FROM Match m WHERE m.id IN :ids")
+    List<MatchRostersView> findRostersByIdIn(@Param("ids") Collection<UUID> ids);
+
+    /**
+     * Every roster playing in the given matches.
+     */
+    default Set<UUID> findRosterIdsByIdIn(Collection<UUID> ids) {
+        Set<UUID> rosterIds = new HashSet<>();
+        for (MatchRostersView match : findRostersByIdIn(ids)) {
+            rosterIds.add(match.getHomeRosterId());
+            rosterIds.add(match.getAwayRosterId());
+        }
+        return rosterIds;
+    }
+
+    @Query("SELECT m.id AS matchId, b AS heroId FROM Match m JOIN m.homeBans b WHERE m.id IN :ids")
+    List<MatchBanView> findHomeBansByMatchIdIn(@Param("ids") Collection<UUID> ids);
+
+    @Query("SELECT m.id AS matchId, b AS heroId FROM Match m JOIN m.awayBans b WHERE m.id IN :ids")
+    List<MatchBanView> findAwayBansByMatchIdIn(@Param("ids") Collection<UUID> ids);
+
+    @Query("SELECT m.id AS matchId, p.playerId AS playerId, p.role AS role, p.preferredHeroId1 AS preferredHeroId1, " +
+           "p.preferredHeroId2 AS preferredHeroId2, p.preferredHeroId3 AS preferredHeroId3, p.pickOrder AS pickOrder " +
+           "FROM Match m JOIN m.homePickIntentions p WHERE m.id IN :ids")
+    List<MatchPickView> findHomePicksByMatchIdIn(@Param("ids") Collection<UUID> ids);
+
+    @Query("SELECT m.id AS matchId, p.playerId AS playerId, p.role AS role, p.preferredHeroId1 AS preferredHeroId1, " +
+           "p.preferredHeroId2 AS preferredHeroId2, p.preferredHeroId3 AS preferredHeroId3, p.pickOrder AS pickOrder " +
+           "FROM Match m JOIN m.awayPickIntentions p WHERE m.id IN :ids")
+    List<MatchPickView> findAwayPicksByMatchIdIn(@Param("ids") Collection<UUID> ids);
+
+    // --- Multi-node claiming (see MatchClaimService) ---
+
+    /**
+     * Locks up to :limit due matches (SCHEDULED past their time, or CLAIMED with an expired lease).
+     * Rows locked by another node's claim transaction are skipped instead of waited on.
+     * A match whose home or away roster already has a match under a live lease is left for a later claim, so a
+     * roster's matches go to one node at a time and keep their order. Two claims racing each other can still both
+     * take a roster; PostMatchProcessor locks the roster rows for that case.
+     */
+    @Query(value = "SELECT m.id AS \"id\", m.scheduled_time AS \"scheduledTime\" FROM matches m " +
+                   "WHERE ((m.status = 'SCHEDULED' AND m.scheduled_time < :now) " +
+                   "OR (m.status = 'CLAIMED' AND m.claim_expires_at < :now)) " +
+                   "AND NOT EXISTS (SELECT 1 FROM matches c WHERE c.status = 'CLAIMED' AND c.claim_expires_at >= :now " +
+                   "  AND (c.home_roster_id IN (m.home_roster_id, m.away_roster_id) " +
+                   "    OR c.away_roster_id IN (m.home_roster_id, m.away_roster_id))) " +
+                   "ORDER BY m.scheduled_time, m.id LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<ClaimableView> lockClaimable(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    /**
+     * Keyset continuation of lockClaimable: only rows after (afterTime, afterId) in (scheduled_time, id) order,
+     * so a catch-up pass walks the backlog forward instead of rescanning it from the oldest row every batch.
+     */
+    @Query(value = "SELECT m.id AS \"id\", m.scheduled_time AS \"scheduledTime\" FROM matches m " +
+                   "WHERE ((m.status = 'SCHEDULED' AND m.scheduled_time < :now) " +
+                   "OR (m.status = 'CLAIMED' AND m.claim_expires_at < :now)) " +
+                   "AND NOT EXISTS (SELECT 1 FROM matches c WHERE c.status = 'CLAIMED' AND c.claim_expires_at >= :now " +
+                   "  AND (c.home_roster_id IN (m.home_roster_id, m.away_roster_id) " +
+                   "    OR c.away_roster_id IN (m.home_roster_id, m.away_roster_id))) " +
+                   "AND (m.scheduled_time, m.id) > (:afterTime, :afterId) " +
+                   "ORDER BY m.scheduled_time, m.id LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<ClaimableView> lockClaimableAfter(@Param("now") LocalDateTime now,
+                                           @Param("afterTime") LocalDateTime afterTime,
+                                           @Param("afterId") UUID afterId,
+                                           @Param("limit") int limit);
+
+    @Query(value = "SELECT COUNT(*) AS \"overdue\", MIN(m.scheduled_time) AS \"oldestScheduledTime\" FROM matches m " +
+                   "WHERE (m.status = 'SCHEDULED' AND m.scheduled_time < :now) " +
+                   "OR (m.status = 'CLAIMED' AND m.claim_expires_at < :now)", nativeQuery = true)
+    BacklogView findBacklog(@Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE Match m SET m.status = :status, m.claimedBy = :claimedBy, m.claimToken = :claimToken, " +
+           "m.claimExpiresAt = :claimExpiresAt WHERE m.id IN :ids")
+    int claim(@Param("ids") Collection<UUID> ids,
+              @Param("status") Match.MatchStatus status,
+              @Param("claimedBy") String claimedBy,
+              @Param("claimToken") UUID claimToken,
+              @Param("claimExpiresAt") LocalDateTime claimExpiresAt);
+
+    /**
+     * Hands a claimed match back to the schedule if the lease is still ours (same token), so a failed simulation
+     * doesn't hold its rosters' other matches back until the lease expires.
+     */
+    @Modifying
+    @Query("UPDATE Match m SET m.status = :scheduled, m.claimedBy = null, m.claimToken = null, m.claimExpiresAt = null " +
+           "WHERE m.id = :id AND m.status = :claimed AND m.claimToken = :claimToken")
+    int releaseClaim(@Param("id") UUID id,
+                     @Param("claimToken") UUID claimToken,
+                     @Param("claimed") Match.MatchStatus claimed,
+                     @Param("scheduled") Match.MatchStatus scheduled);
+
+    /**
+     * Completes a claimed match only if the lease is still ours (same token), i.e. nobody re-claimed it after expiry.
+     */
+    @Modifying
+    @Query("UPDATE Match m SET m.status = :newStatus, m.playedAt = :playedAt, m.claimedBy = null, m.claimToken = null, " +
+           "m.claimExpiresAt = null WHERE m.id = :id AND m.status = :expectedStatus AND m.claimToken = :claimToken")
+    int updateStatusIfClaimed(@Param("id") UUID id,
+                              @Param("claimToken") UUID claimToken,
+                              @Param("expectedStatus") Match.MatchStatus expectedStatus,
+                              @Param("newStatus") Match.MatchStatus newStatus,
+                              @Param("playedAt") LocalDateTime playedAt);
+
+    /**
+     * Moves a match out of the expected status. Returns 0 when another worker already did it.
+     */
+    @Modifying
+    @Query("UPDATE Match m SET m.status = :newStatus, m.playedAt = :playedAt WHERE m.id = :id AND m.status = :expectedStatus")
+    int updateStatusIfCurrent(@Param("id") UUID id,
+                              @Param("expectedStatus") Match.MatchStatus expectedStatus,
+                              @Param("newStatus") Match.MatchStatus newStatus,
+                              @Param("playedAt") LocalDateTime playedAt);
+
+    @Query("SELECT COUNT(m) FROM Match m WHERE m.event.id = :eventId AND m.status IN :statuses")
+    long countByEventIdAndStatusIn(@Param("eventId") UUID eventId,
+                                   @Param("statuses") Collection<Match.MatchStatus> statuses);
+
+    /**
+     * Start time of the event's latest match, whatever its status; the floor for the next rounds' slots.
+     */
+    @Query("SELECT MAX(m.scheduledTime) FROM Match m WHERE m.event.id = :eventId")
+    Optional<LocalDateTime> findLatestScheduledTime(@Param("eventId") UUID eventId);
+
+    // --- Deadline index (see MatchDeadlineHandler) ---
+
+    /**
+     * Pending matches due before until: SCHEDULED ones by their start time, CLAIMED ones by their lease expiry.
+     */
+    @Query("SELECT m.id AS id, m.status AS status, m.scheduledTime AS scheduledTime, m.claimExpiresAt AS claimExpiresAt " +
+           "FROM Match m WHERE (m.status = :scheduled AND m.scheduledTime < :until) " +
+           "OR (m.status = :claimed AND m.claimExpiresAt < :until)")
+    List<MatchDeadlineView> findDeadlinesBefore(@Param("until") LocalDateTime until,
+                                                @Param("scheduled") Match.MatchStatus scheduled,
+                                                @Param("claimed") Match.MatchStatus claimed);
+
+    @Query("SELECT m.id AS id, m.status AS status, m.scheduledTime AS scheduledTime, m.claimExpiresAt AS claimExpiresAt " +
+           "FROM Match m WHERE m.id IN :ids AND m.status IN :statuses")
+    List<MatchDeadlineView> findDeadlinesByIdInAndStatusIn(@Param("ids") Collection<UUID> ids,
+                                                           @Param("statuses") Collection<Match.MatchStatus> statuses);
+
+    /**
+     * Scheduled matches per minute in [from, to), for the MatchSlotAllocator. Minutes without matches are omitted.
+     */
+    @Query(value = "SELECT date_trunc('minute', m.scheduled_time) AS \"minute\", COUNT(*) AS \"matches\" FROM matches m " +
+                   "WHERE m.status = 'SCHEDULED' AND m.scheduled_time >= :from AND m.scheduled_time < :to " +
+                   "GROUP BY 1", nativeQuery = true)
+    List<MinuteLoadView> countScheduledPerMinute(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    interface ClaimableView {
+        UUID getId();
+        LocalDateTime getScheduledTime();
+    }
+
+    interface MinuteLoadView {
+        LocalDateTime getMinute();
+        long getMatches();
+    }
+
+    interface BacklogView {
+        long getOverdue();
+        LocalDateTime getOldestScheduledTime();
+    }
+
+    interface MatchRostersView {
+        UUID getHomeRosterId();
+        UUID getAwayRosterId();
+    }
+
+    interface MatchHeaderView {
+        UUID getId();
+        Match.MatchStatus getStatus();
+        UUID getClaimToken();
+        LocalDateTime getScheduledTime();
+        UUID getHomeRosterId();
+        UUID getAwayRosterId();
+        UUID getEventId();
+        Event.EventType getEventType();
+    }
+
+    interface MatchBanView {
+        UUID getMatchId();
+        UUID getHeroId();
+    }
+
+    interface MatchPickView {
+        UUID getMatchId();
+        UUID getPlayerId();
+        HeroRole getRole();
+        UUID getPreferredHeroId1();
+        UUID getPreferredHeroId2();
+        UUID getPreferredHeroId3();
+        Integer getPickOrder();
+    }
+
+    interface MatchDeadlineView {
+        UUID getId();
+        Match.MatchStatus getStatus();
+        LocalDateTime getScheduledTime();
+        LocalDateTime getClaimExpiresAt();
+    }
 }
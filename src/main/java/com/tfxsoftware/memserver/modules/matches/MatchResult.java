@@ -1,5 +1,7 @@
 package com.tfxsoftware.memserver.modules.matches;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.tfxsoftware.memserver.modules.matches.engine.MatchSnapshot;
 import jakarta.persistence.*;
 import lombok.*;
 import org.hibernate.annotations.JdbcTypeCode;
@@ -42,5 +44,24 @@ public class MatchResult {
     @Column(columnDefinition = "jsonb")
     private Map<String, Object> playerStats;
 
+    // --- Replay data: re-running inputSnapshot with the same seed and hero pool reproduces this result ---
 
+    private Long seed;
+
+    @JsonIgnore
+    private String heroCatalogFingerprint;
+
+    /**
+     * Trimmed simulation input: effective pick intentions, the picked players and their levels.
+     */
+    @JsonIgnore
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(columnDefinition = "jsonb")
+    private MatchSnapshot inputSnapshot;
+
+    /**
+     * Binary SimulationTrace (factors, hits, clutch decision); rendered to text only on request.
+     */
+    @JsonIgnore
+    private byte[] trace;
 }
\ No newline at end of file
@@ -1,10 +1,13 @@
 package com.tfxsoftware.memserver.modules.matches;
 
 import com.tfxsoftware.memserver.modules.heroes.Hero;
+import com.tfxsoftware.memserver.modules.matches.engine.DraftIntent;
+import com.tfxsoftware.memserver.modules.matches.engine.MatchSnapshot;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
@@ -26,34 +29,41 @@ public class MatchResultService {
     }
 
     @Transactional
-    public MatchResult createResult(Match match, MatchEngineService.RosterPerformance home, MatchEngineService.RosterPerformance away, UUID winnerId, Map<UUID, Hero> finalizedPicks) {
+    public MatchResult createResult(UUID matchId, List<DraftIntent> homeIntentions, List<DraftIntent> awayIntentions,
+                                    MatchEngineService.RosterPerformance home, MatchEngineService.RosterPerformance away,
+                                    UUID winnerId, Map<UUID, Hero> finalizedPicks,
+                                    long seed, String heroCatalogFingerprint, MatchSnapshot inputSnapshot, byte[] trace) {
         java.util.Map<String, Object> playerStats = new java.util.HashMap<>();
 
         // Helper to populate stats from a RosterPerformance
-        populateStats(playerStats, match.getHomePickIntentions(), home, finalizedPicks);
-        populateStats(playerStats, match.getAwayPickIntentions(), away, finalizedPicks);
+        populateStats(playerStats, homeIntentions, home, finalizedPicks);
+        populateStats(playerStats, awayIntentions, away, finalizedPicks);
 
         MatchResult result = MatchResult.builder()
-                .matchId(match.getId())
+                .matchId(matchId)
                 .winnerRosterId(winnerId)
                 .homeTotalPerformance(home.totalStrength())
                 .awayTotalPerformance(away.totalStrength())
                 .playerStats(playerStats)
+                .seed(seed)
+                .heroCatalogFingerprint(heroCatalogFingerprint)
+                .inputSnapshot(inputSnapshot)
+                .trace(trace)
                 .build();
         return matchResultRepository.save(result);
     }
 
     private void populateStats(java.util.Map<String, Object> allStats, 
-                               java.util.List<Match.MatchPick> intentions, 
+                               List<DraftIntent> intentions,
                                MatchEngineService.RosterPerformance performance,
                                Map<UUID, Hero> finalizedPicks) {
-        for (Match.MatchPick pick : intentions) {
-            UUID playerId = pick.getPlayerId();
+        for (DraftIntent pick : intentions) {
+            UUID playerId = pick.playerId();
             Hero hero = finalizedPicks.get(playerId);
             java.util.Map<String, Object> stats = new java.util.HashMap<>();
             stats.put("performancePoints", performance.playerScores().get(playerId));
             stats.put("heroId", hero != null ? hero.getId() : null);
-            stats.put("role", pick.getRole());
+            stats.put("role", pick.role());
             allStats.put(playerId.toString(), stats);
         }
     }
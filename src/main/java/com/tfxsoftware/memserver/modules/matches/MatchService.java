@@ -1,9 +1,12 @@
 package com.tfxsoftware.memserver.modules.matches;
 
+import com.tfxsoftware.memserver.infra.scheduling.DeadlineScheduler;
+import com.tfxsoftware.memserver.infra.scheduling.DeadlineType;
 import com.tfxsoftware.memserver.modules.events.Event;
 import com.tfxsoftware.memserver.modules.events.EventRepository;
 import com.tfxsoftware.memserver.modules.matches.dto.*;
-import com.tfxsoftware.memserver.modules.heroes.HeroService;
+import com.tfxsoftware.memserver.modules.heroes.HeroCatalog;
+import com.tfxsoftware.memserver.modules.heroes.HeroCatalogService;
 import com.tfxsoftware.memserver.modules.players.Player;
 import com.tfxsoftware.memserver.modules.players.PlayerService;
 import com.tfxsoftware.memserver.modules.rosters.Roster;
@@ -30,8 +33,9 @@ public class MatchService {
     private final EventRepository eventRepository; // Added to resolve Event references
     private final PlayerService playerService;
     private final RosterService rosterService;
-    private final HeroService heroService;
+    private final HeroCatalogService heroCatalogService;
     private final MatchResultRepository matchResultRepository;
+    private final DeadlineScheduler deadlineScheduler;
 
     @Transactional
     public MatchResponse create(CreateMatchDto dto) {
@@ -47,6 +51,7 @@ public class MatchService {
                 .build();
 
         Match savedMatch = matchRepository.save(match);
+        deadlineScheduler.schedule(DeadlineType.MATCH, savedMatch.getId(), savedMatch.getScheduledTime());
         return mapToResponse(savedMatch);
     }
 
@@ -137,8 +142,9 @@ public class MatchService {
 
     private void validateHeroIds(List<UUID> heroIds) {
         if (heroIds == null) return;
+        HeroCatalog catalog = heroCatalogService.current();
         for (UUID id : heroIds) {
-            if (id != null && !heroService.existsById(id)) {
+            if (id != null && !catalog.contains(id)) {
                 throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Hero not found: " + id);
             }
         }
@@ -0,0 +1,161 @@
+package com.tfxsoftware.memserver.modules.matches;
+
+import com.tfxsoftware.memserver.modules.matches.engine.DraftIntent;
+import com.tfxsoftware.memserver.modules.matches.engine.MatchSnapshot;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs a batch of match simulations, optionally in parallel on virtual threads.
+ *
+ * Matches that share a roster (or a picked player) end up in the same partition and run one after
+ * another, so PostMatchProcessor never updates the same Roster/masteries from two transactions at once.
+ * A roster's later match in a partition re-reads the vitals and masteries its earlier match left behind before simulating,
+ * as if each match had been loaded on its own.
+ * Partitions run concurrently; a semaphore bulkhead caps how many simulations hold a DB connection.
+ * A failed simulation hands its claim back, so the match is retried by the next batch.
+ */
+@Component
+@Slf4j
+public class MatchSimulationExecutor {
+
+    private final MatchEngineService matchEngineService;
+    private final MatchBatchLoader matchBatchLoader;
+    private final MatchClaimService matchClaimService;
+    private final boolean parallel;
+    private final Semaphore dbBulkhead;
+
+    public MatchSimulationExecutor(
+            MatchEngineService matchEngineService,
+            MatchBatchLoader matchBatchLoader,
+            MatchClaimService matchClaimService,
+            @Value("${matches.simulation.parallel:true}") boolean parallel,
+            @Value("${matches.simulation.db-concurrency:8}") int dbConcurrency
+    ) {
+        this.matchEngineService = matchEngineService;
+        this.matchBatchLoader = matchBatchLoader;
+        this.matchClaimService = matchClaimService;
+        this.parallel = parallel;
+        this.dbBulkhead = new Semaphore(Math.max(1, dbConcurrency));
+    }
+
+    /**
+     * Simulates every match and blocks until all are done. Returns how many were simulated successfully.
+     */
+    public int run(List<MatchSnapshot> matches) {
+        AtomicInteger completed = new AtomicInteger();
+        if (!parallel || matches.size() < 2) {
+            runInOrder(matches, completed);
+            return completed.get();
+        }
+
+        List<List<MatchSnapshot>> partitions = partitionByRoster(matches);
+        log.info("Simulating {} matches in {} roster partitions on virtual threads.", matches.size(), partitions.size());
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (List<MatchSnapshot> partition : partitions) {
+                executor.submit(() -> runInOrder(partition, completed));
+            }
+        } // close() waits for every partition
+        return completed.get();
+    }
+
+    private void runInOrder(List<MatchSnapshot> matches, AtomicInteger completed) {
+        Set<UUID> played = new HashSet<>();
+        for (MatchSnapshot match : matches) {
+            boolean stale = played.contains(match.home().id()) || played.contains(match.away().id());
+            if (simulate(match, stale)) completed.incrementAndGet();
+            played.add(match.home().id());
+            played.add(match.away().id());
+        }
+    }
+
+    private boolean simulate(MatchSnapshot match, boolean refreshRosters) {
+        try {
+            dbBulkhead.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("Interrupted before simulating match {}", match.matchId());
+            return false;
+        }
+        try {
+            if (refreshRosters) {
+                match = matchBatchLoader.withFreshRosters(match);
+            }
+            // Each match is its own transaction, so one broken match doesn't stop the whole batch
+            matchEngineService.simulate(match);
+            return true;
+        } catch (Exception e) {
+            log.error("Critical failure simulating match {}", match.matchId(), e);
+            release(match);
+            return false;
+        } finally {
+            dbBulkhead.release();
+        }
+    }
+
+    /**
+     * A match left CLAIMED would keep both rosters' other due matches unclaimable until its lease expires.
+     */
+    private void release(MatchSnapshot match) {
+        if (match.claimToken() == null) {
+            return;
+        }
+        try {
+            matchClaimService.release(match.matchId(), match.claimToken());
+        } catch (Exception e) {
+            log.error("Failed to release the claim on match {}; it is retried once the lease expires.", match.matchId(), e);
+        }
+    }
+
+    /**
+     * Groups matches into connected components over shared roster and pick player ids (union-find).
+     * Partitions and the matches inside them keep the input order.
+     */
+    static List<List<MatchSnapshot>> partitionByRoster(List<MatchSnapshot> matches) {
+        Map<UUID, UUID> parents = new HashMap<>();
+        for (MatchSnapshot match : matches) {
+            UUID root = match.home().id();
+            union(parents, root, match.away().id());
+            for (DraftIntent intent : match.homeIntentions()) union(parents, root, intent.playerId());
+            for (DraftIntent intent : match.awayIntentions()) union(parents, root, intent.playerId());
+        }
+
+        Map<UUID, List<MatchSnapshot>> partitions = new LinkedHashMap<>();
+        for (MatchSnapshot match : matches) {
+            partitions.computeIfAbsent(find(parents, match.home().id()), k -> new ArrayList<>()).add(match);
+        }
+        return new ArrayList<>(partitions.values());
+    }
+
+    private static UUID find(Map<UUID, UUID> parents, UUID id) {
+        UUID root = id;
+        UUID parent;
+        while ((parent = parents.get(root)) != null && !parent.equals(root)) {
+            root = parent;
+        }
+        // Path compression
+        UUID current = id;
+        while (!current.equals(root)) {
+            UUID next = parents.get(current);
+            parents.put(current, root);
+            current = next;
+        }
+        return root;
+    }
+
+    private static void union(Map<UUID, UUID> parents, UUID a, UUID b) {
+        UUID rootA = find(parents, a);
+        UUID rootB = find(parents, b);
+        if (!rootA.equals(rootB)) {
+            parents.put(rootB, rootA);
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.tfxsoftware.memserver.modules.matches;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Spreads new match start times so the orchestrator's load stays flat instead of spiking when many events share
+ * block times. Each match may start up to jitter after its nominal time; it takes the first minute in that window
+ * that is below capacity-per-minute (counting matches already scheduled by every event), or the least loaded
+ * minute when the whole window is full.
+ * Order within one allocation is kept: a match never starts before the one planned ahead of it, nor before the
+ * optional lower bound (the latest slot an earlier allocation of the same event handed out).
+ * Capacity is a target, not a hard limit: two events generated at the same moment don't see each other's rows.
+ */
+@Service
+@Slf4j
+public class MatchSlotAllocator {
+
+    private final MatchRepository matchRepository;
+    private final int capacityPerMinute;
+    private final Duration jitter;
+
+    public MatchSlotAllocator(
+            MatchRepository matchRepository,
+            @Value("${matches.slots.capacity-per-minute:200}") int capacityPerMinute,
+            @Value("${matches.slots.jitter:PT30M}") Duration jitter) {
+        this.matchRepository = matchRepository;
+        this.capacityPerMinute = capacityPerMinute;
+        this.jitter = jitter;
+    }
+
+    /**
+     * How far a match may be pushed back; callers add it to predicted end times.
+     */
+    public Duration jitter() {
+        return capacityPerMinute > 0 ? jitter : Duration.ZERO;
+    }
+
+    /**
+     * Assigns start times to matches with the given nominal times (non-decreasing), in the same order.
+     */
+    public List<LocalDateTime> allocate(List<LocalDateTime> nominal) {
+        return allocate(nominal, null);
+    }
+
+    /**
+     * Like {@link #allocate(List)}, but no match starts before notBefore (null for no bound), so rounds allocated
+     * later stay behind the ones already scheduled even when those were pushed back.
+     */
+    public List<LocalDateTime> allocate(List<LocalDateTime> nominal, LocalDateTime notBefore) {
+        if (nominal.isEmpty() || capacityPerMinute <= 0) {
+            return nominal;
+        }
+        int jitterMinutes = (int) jitter.toMinutes();
+        LocalDateTime from = nominal.getFirst().truncatedTo(ChronoUnit.MINUTES);
+        LocalDateTime to = nominal.getLast().truncatedTo(ChronoUnit.MINUTES).plusMinutes(jitterMinutes + 1L);
+        if (notBefore != null && !notBefore.isBefore(to)) {
+            to = notBefore.truncatedTo(ChronoUnit.MINUTES).plusMinutes(1);
+        }
+        Map<LocalDateTime, Long> load = matchRepository.countScheduledPerMinute(from, to).stream()
+                .collect(Collectors.toMap(MatchRepository.MinuteLoadView::getMinute, MatchRepository.MinuteLoadView::getMatches));
+
+        List<LocalDateTime> slots = stagger(nominal, load, capacityPerMinute, jitterMinutes, notBefore);
+        log.debug("Allocated {} match slots between {} and {}.", slots.size(), from, to);
+        return slots;
+    }
+
+    static List<LocalDateTime> stagger(List<LocalDateTime> nominal, Map<LocalDateTime, Long> existing,
+                                       int capacityPerMinute, int jitterMinutes) {
+        return stagger(nominal, existing, capacityPerMinute, jitterMinutes, null);
+    }
+
+    /**
+     * The allocation itself, over an existing load per minute (keyed by the minute start).
+     * A match whose window lies entirely before notBefore starts at notBefore's minute.
+     */
+    static List<LocalDateTime> stagger(List<LocalDateTime> nominal, Map<LocalDateTime, Long> existing,
+                                       int capacityPerMinute, int jitterMinutes, LocalDateTime notBefore) {
+        LocalDateTime base = nominal.getFirst().truncatedTo(ChronoUnit.MINUTES);
+        int floor = notBefore == null ? 0
+                : (int) Math.max(0, ChronoUnit.MINUTES.between(base, notBefore.truncatedTo(ChronoUnit.MINUTES)));
+        int last = (int) ChronoUnit.MINUTES.between(base, nominal.getLast().truncatedTo(ChronoUnit.MINUTES));
+        int span = Math.max(last + jitterMinutes, floor) + 1;
+        long[] load = new long[span];
+        existing.forEach((minute, matches) -> {
+            long index = ChronoUnit.MINUTES.between(base, minute);
+            if (index >= 0 && index < span) {
+                load[(int) index] += matches;
+            }
+        });
+
+        List<LocalDateTime> slots = new ArrayList<>(nominal.size());
+        int previous = floor;
+        for (LocalDateTime time : nominal) {
+            int earliest = (int) ChronoUnit.MINUTES.between(base, time.truncatedTo(ChronoUnit.MINUTES));
+            int lo = Math.max(earliest, previous);
+            int hi = earliest + jitterMinutes;
+            int chosen = lo;
+            for (int m = lo; m <= hi; m++) {
+                if (load[m] < capacityPerMinute) {
+                    chosen = m;
+                    break;
+                }
+                if (load[m] < load[chosen]) {
+                    chosen = m;
+                }
+            }
+            load[chosen]++;
+            previous = chosen;
+            slots.add(time.plusMinutes(chosen - earliest));
+        }
+        return slots;
+    }
+}
@@ -1,21 +1,25 @@
 package com.tfxsoftware.memserver.modules.matches;
 
 import com.tfxsoftware.memserver.modules.heroes.Hero;
+import com.tfxsoftware.memserver.modules.matches.engine.DraftIntent;
+import com.tfxsoftware.memserver.modules.matches.engine.MatchSnapshot;
+import com.tfxsoftware.memserver.modules.matches.engine.PlayerSnapshot;
 import com.tfxsoftware.memserver.modules.players.MasteryService;
 import com.tfxsoftware.memserver.modules.players.Player;
-import com.tfxsoftware.memserver.modules.players.PlayerService;
 import com.tfxsoftware.memserver.modules.rosters.Roster;
+import com.tfxsoftware.memserver.modules.rosters.RosterEnergy;
 import com.tfxsoftware.memserver.modules.rosters.RosterRepository;
-import com.tfxsoftware.memserver.modules.rosters.RosterService;
-import com.tfxsoftware.memserver.modules.events.Event;
-import com.tfxsoftware.memserver.modules.events.league.LeagueStanding;
 import com.tfxsoftware.memserver.modules.events.league.LeagueStandingRepository;
+import com.tfxsoftware.memserver.modules.events.league.StandingsSnapshotService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
@@ -25,146 +29,156 @@ import java.util.UUID;
 @Slf4j
 public class PostMatchProcessor {
 
-    private final PlayerService playerService;
     private final MasteryService masteryService;
-    private final RosterService rosterService;
     private final RosterRepository rosterRepository;
     private final LeagueStandingRepository leagueStandingRepository;
-
+    private final StandingsSnapshotService standingsSnapshotService;
+
+    /**
+     * Applies the match outcome. Player traits come from the snapshot, so only the two rosters
+     * (which are written) are loaded here, under a row lock: morale, cohesion and energy are read-modify-write,
+     * and a concurrent result for the same roster (e.g. an expired lease re-claimed by another node) must apply
+     * after this one instead of overwriting it.
+     */
     @Transactional
-    public void process(Match match, UUID winnerId, Map<UUID, Hero> finalizedPicks) {
-        log.info("Starting PostMatchProcessor for match {}. Winner: {}", match.getId(), winnerId);
+    public void process(MatchSnapshot match, List<DraftIntent> homePicks, List<DraftIntent> awayPicks,
+                        UUID winnerId, Map<UUID, Hero> finalizedPicks) {
+        boolean homeWon = match.home().id().equals(winnerId);
+        Map<UUID, Roster> rosters = new HashMap<>();
+        rosterRepository.findAllForUpdate(List.of(match.home().id(), match.away().id()))
+                .forEach(roster -> rosters.put(roster.getId(), roster));
+        Roster homeRoster = rosters.get(match.home().id());
+        Roster awayRoster = rosters.get(match.away().id());
+        if (homeRoster == null) {
+            throw new IllegalStateException("Home roster not found");
+        }
+        if (awayRoster == null) {
+            throw new IllegalStateException("Away roster not found");
+        }
 
-        boolean homeWon = match.getHomeRosterId().equals(winnerId);
-        Roster homeRoster = rosterService.findById(match.getHomeRosterId())
-                .orElseThrow(() -> new IllegalStateException("Home roster not found"));
-        Roster awayRoster = rosterService.findById(match.getAwayRosterId())
-                .orElseThrow(() -> new IllegalStateException("Away roster not found"));
+        // Per-roster and per-player breakdowns go to DEBUG; one INFO line per match is enough at batch volume
+        updateRosterStats(homeRoster, players(match, homePicks), homeWon);
+        updateRosterStats(awayRoster, players(match, awayPicks), !homeWon);
 
-        log.info("Processing home roster: {} (Won: {})", homeRoster.getName(), homeWon);
-        updateRosterStats(homeRoster, match.getHomePickIntentions(), homeWon);
-        
-        log.info("Processing away roster: {} (Won: {})", awayRoster.getName(), !homeWon);
-        updateRosterStats(awayRoster, match.getAwayPickIntentions(), !homeWon);
-
-        log.info("Processing players for home roster");
-        processPlayers(match.getHomePickIntentions(), finalizedPicks, homeWon);
-        
-        log.info("Processing players for away roster");
-        processPlayers(match.getAwayPickIntentions(), finalizedPicks, !homeWon);
+        // XP for all ten players goes out in a single upsert
+        List<MasteryService.XpGrant> grants = new ArrayList<>();
+        processPlayers(match, homePicks, finalizedPicks, homeWon, grants);
+        processPlayers(match, awayPicks, finalizedPicks, !homeWon, grants);
+        masteryService.applyExperience(grants);
 
         rosterRepository.save(homeRoster);
         rosterRepository.save(awayRoster);
 
         // Update League Standings if applicable
-        if (match.getEvent() != null && match.getEvent().getType() == Event.EventType.LEAGUE) {
-            updateLeagueStandings(match.getEvent().getId(), homeRoster.getId(), awayRoster.getId(), winnerId);
+        if (match.leagueMatch()) {
+            updateLeagueStandings(match.eventId(), homeRoster.getId(), awayRoster.getId(), winnerId);
         }
 
-        log.info("PostMatchProcessor finished for match {}", match.getId());
+        log.info("Match {} results applied: {} {}, {} {}.", match.matchId(),
+                homeRoster.getName(), homeWon ? "won" : "lost", awayRoster.getName(), homeWon ? "lost" : "won");
     }
 
+    /**
+     * Wins/losses are applied as atomic increments on the two standing rows, so matches of the same league
+     * can be processed concurrently. Positions are derived and are recomputed by {@link #recalculatePositions}
+     * once the batch is done.
+     */
     private void updateLeagueStandings(UUID eventId, UUID homeRosterId, UUID awayRosterId, UUID winnerId) {
-        log.info("Updating league standings for event {}", eventId);
-        
-        LeagueStanding homeStanding = leagueStandingRepository.findByLeagueEventIdAndRosterId(eventId, homeRosterId)
-                .orElseThrow(() -> new IllegalStateException("Standing not found for home roster in league " + eventId));
-        LeagueStanding awayStanding = leagueStandingRepository.findByLeagueEventIdAndRosterId(eventId, awayRosterId)
-                .orElseThrow(() -> new IllegalStateException("Standing not found for away roster in league " + eventId));
-
-        if (winnerId.equals(homeRosterId)) {
-            homeStanding.setWins(homeStanding.getWins() + 1);
-            awayStanding.setLosses(awayStanding.getLosses() + 1);
-        } else {
-            awayStanding.setWins(awayStanding.getWins() + 1);
-            homeStanding.setLosses(homeStanding.getLosses() + 1);
+        boolean homeWon = winnerId.equals(homeRosterId);
+        int homeUpdated = leagueStandingRepository.incrementRecord(eventId, homeRosterId, homeWon ? 1 : 0, homeWon ? 0 : 1);
+        int awayUpdated = leagueStandingRepository.incrementRecord(eventId, awayRosterId, homeWon ? 0 : 1, homeWon ? 1 : 0);
+        if (homeUpdated == 0) {
+            throw new IllegalStateException("Standing not found for home roster in league " + eventId);
+        }
+        if (awayUpdated == 0) {
+            throw new IllegalStateException("Standing not found for away roster in league " + eventId);
         }
 
-        leagueStandingRepository.save(homeStanding);
-        leagueStandingRepository.save(awayStanding);
-        
-        recalculatePositions(eventId);
-        
-        log.info("League standings updated: {} (W: {}, L: {}), {} (W: {}, L: {})",
-                homeRosterId, homeStanding.getWins(), homeStanding.getLosses(),
-                awayRosterId, awayStanding.getWins(), awayStanding.getLosses());
+        // Spectators see the result as soon as it commits, not only after the batch's re-rank
+        standingsSnapshotService.invalidate(eventId);
+        if (log.isDebugEnabled()) {
+            log.debug("League {} standings updated: winner {}, loser {}", eventId, winnerId, homeWon ? awayRosterId : homeRosterId);
+        }
     }
 
-    private void recalculatePositions(UUID eventId) {
-        List<LeagueStanding> standings = leagueStandingRepository.findAllByLeagueEventIdOrderByWinsDesc(eventId);
-        for (int i = 0; i < standings.size(); i++) {
-            standings.get(i).setPosition(i + 1);
-        }
-        leagueStandingRepository.saveAll(standings);
+    /**
+     * Re-ranks the league in the database (see LeagueStandingRepository.updatePositions); only standings whose
+     * position moved are written, so unaffected rows are not locked by concurrent batches.
+     */
+    @Transactional
+    public void recalculatePositions(UUID eventId) {
+        int moved = leagueStandingRepository.updatePositions(eventId);
+        standingsSnapshotService.invalidate(eventId);
+        log.debug("League {} re-ranked, {} positions changed.", eventId, moved);
     }
 
-    private void processPlayers(List<Match.MatchPick> picks, Map<UUID, Hero> finalizedPicks, boolean won) {
+    private void processPlayers(MatchSnapshot match, List<DraftIntent> picks, Map<UUID, Hero> finalizedPicks, boolean won,
+                                List<MasteryService.XpGrant> grants) {
         long baseExp = won ? 100L : 150L;
-        log.info("Base XP gain: {} (Won: {})", baseExp, won);
-
-        for (Match.MatchPick pick : picks) {
-            playerService.findById(pick.getPlayerId()).ifPresent(player -> {
-                Hero hero = finalizedPicks.get(pick.getPlayerId());
-                
-                long heroExp = baseExp;
-                if (!won && player.getTraits().contains(Player.PlayerTrait.ADAPTIVE)) {
-                    heroExp = (long) (heroExp * 1.5);
-                    log.info("Player {} has ADAPTIVE trait. Hero XP multiplier applied: {} -> {}", 
-                            player.getNickname(), baseExp, heroExp);
-                }
-
-                log.info("Applying XP to Player {}: Role {} (+{} XP), Hero {} (+{} XP)", 
-                        player.getNickname(), pick.getRole(), baseExp, hero.getName(), heroExp);
-                
-                masteryService.addRoleExperience(player, pick.getRole(), baseExp);
-                masteryService.addHeroExperience(player, hero.getId(), heroExp);
-            });
+        boolean debug = log.isDebugEnabled();
+
+        for (DraftIntent pick : picks) {
+            PlayerSnapshot player = match.player(pick.playerId());
+            Hero hero = finalizedPicks.get(pick.playerId());
+
+            long heroExp = baseExp;
+            if (!won && player.hasTrait(Player.PlayerTrait.ADAPTIVE)) {
+                heroExp = (long) (heroExp * 1.5);
+            }
+            if (debug) {
+                log.debug("XP for player {}: role {} +{}, hero {} +{}{}", player.nickname(), pick.role(), baseExp,
+                        hero.getName(), heroExp, heroExp != baseExp ? " (ADAPTIVE)" : "");
+            }
+
+            grants.add(MasteryService.XpGrant.role(player.id(), pick.role(), baseExp));
+            grants.add(MasteryService.XpGrant.hero(player.id(), hero.getId(), heroExp));
         }
     }
 
-    private void updateRosterStats(Roster roster, List<Match.MatchPick> picks, boolean won) {
-        List<Player> players = picks.stream()
-                .map(p -> playerService.findById(p.getPlayerId()).orElseThrow())
-                .toList();
+    private List<PlayerSnapshot> players(MatchSnapshot match, List<DraftIntent> picks) {
+        return picks.stream().map(p -> match.player(p.playerId())).toList();
+    }
+
+    private void updateRosterStats(Roster roster, List<PlayerSnapshot> players, boolean won) {
 
         // Morale
         BigDecimal oldMorale = roster.getMorale();
         BigDecimal moraleDelta = won ? new BigDecimal("0.5") : new BigDecimal("-0.5");
-        boolean hasLeader = players.stream().anyMatch(p -> p.getTraits().contains(Player.PlayerTrait.LEADER));
+        boolean hasLeader = players.stream().anyMatch(p -> p.hasTrait(Player.PlayerTrait.LEADER));
         if (hasLeader) {
             moraleDelta = won ? new BigDecimal("0.75") : new BigDecimal("-0.25");
-            log.info("LEADER trait detected in roster {}. Morale delta adjusted to {}", roster.getName(), moraleDelta);
         }
         roster.setMorale(clamp(roster.getMorale().add(moraleDelta), BigDecimal.ZERO, new BigDecimal("10.00")));
-        log.info("Roster {} Morale updated: {} -> {} (delta: {})", 
-                roster.getName(), oldMorale, roster.getMorale(), moraleDelta);
 
         // Cohesion
         BigDecimal oldCohesion = roster.getCohesion();
         BigDecimal cohesionDelta = won ? new BigDecimal("0.2") : new BigDecimal("0.1");
-        long teamPlayers = players.stream().filter(p -> p.getTraits().contains(Player.PlayerTrait.TEAM_PLAYER)).count();
-        long loneWolves = players.stream().filter(p -> p.getTraits().contains(Player.PlayerTrait.LONE_WOLF)).count();
+        long teamPlayers = players.stream().filter(p -> p.hasTrait(Player.PlayerTrait.TEAM_PLAYER)).count();
+        long loneWolves = players.stream().filter(p -> p.hasTrait(Player.PlayerTrait.LONE_WOLF)).count();
         
         BigDecimal traitBonus = new BigDecimal("0.05").multiply(new BigDecimal(teamPlayers));
         BigDecimal traitPenalty = new BigDecimal("0.05").multiply(new BigDecimal(loneWolves));
         
         cohesionDelta = cohesionDelta.add(traitBonus).subtract(traitPenalty);
         
-        log.info("Roster {} Cohesion factors: Base={}, TeamPlayers={}, LoneWolves={}, FinalDelta={}", 
-                roster.getName(), won ? "0.2" : "0.1", teamPlayers, loneWolves, cohesionDelta);
-        
         roster.setCohesion(clamp(roster.getCohesion().add(cohesionDelta), BigDecimal.ZERO, new BigDecimal("10.00")));
-        log.info("Roster {} Cohesion updated: {} -> {}", roster.getName(), oldCohesion, roster.getCohesion());
 
         // Energy
+        RosterEnergy.settle(roster, LocalDateTime.now());
         int oldEnergy = roster.getEnergy();
         int energyLoss = -15;
-        long inspirings = players.stream().filter(p -> p.getTraits().contains(Player.PlayerTrait.INSPIRING)).count();
+        long inspirings = players.stream().filter(p -> p.hasTrait(Player.PlayerTrait.INSPIRING)).count();
         energyLoss += (int) (inspirings);
         
         roster.setEnergy(Math.max(0, roster.getEnergy() + energyLoss));
-        log.info("Roster {} Energy updated: {} -> {} (Loss: {}, inspirings: {})",
-                roster.getName(), oldEnergy, roster.getEnergy(), energyLoss, inspirings);
+
+        if (log.isDebugEnabled()) {
+            log.debug("Roster {} ({}): morale {} -> {} (delta {}{}), cohesion {} -> {} (team players {}, lone wolves {}), "
+                            + "energy {} -> {} (inspirings {})",
+                    roster.getName(), won ? "won" : "lost", oldMorale, roster.getMorale(), moraleDelta,
+                    hasLeader ? ", LEADER" : "", oldCohesion, roster.getCohesion(), teamPlayers, loneWolves,
+                    oldEnergy, roster.getEnergy(), inspirings);
+        }
     }
 
     private BigDecimal clamp(BigDecimal value, BigDecimal min, BigDecimal max) {
@@ -0,0 +1,28 @@
+package com.tfxsoftware.memserver.modules.matches;
+
+import com.tfxsoftware.memserver.modules.heroes.HeroCatalog;
+import com.tfxsoftware.memserver.modules.matches.engine.MatchSnapshot;
+import com.tfxsoftware.memserver.modules.matches.engine.SimulationOutcome;
+import com.tfxsoftware.memserver.modules.matches.engine.SimulationTrace;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Decides whether a {@link SimulationTrace} is recorded and persisted with the MatchResult.
+ */
+@Component
+public class SimulationTraceRecorder {
+
+    private final boolean enabled;
+
+    public SimulationTraceRecorder(@Value("${matches.simulation.trace:true}") boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * The encoded trace, or null when tracing is disabled.
+     */
+    public byte[] record(MatchSnapshot match, SimulationOutcome outcome, HeroCatalog catalog, long seed) {
+        return enabled ? SimulationTrace.record(match, outcome, catalog, seed) : null;
+    }
+}
@@ -0,0 +1,21 @@
+package com.tfxsoftware.memserver.modules.matches.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * How far behind match simulation is: matches past their start time that no node is working on,
+ * and whether this node is currently draining a backlog in catch-up mode.
+ */
+@Data
+@Builder
+public class MatchBacklogResponse {
+    private long overdueMatches;
+    private LocalDateTime oldestOverdueScheduledTime;
+    private long lagSeconds;
+    private boolean catchingUp;
+    private LocalDateTime catchUpStartedAt;
+    private long catchUpProcessed;
+}
@@ -0,0 +1,33 @@
+package com.tfxsoftware.memserver.modules.matches.dto;
+
+import com.tfxsoftware.memserver.modules.heroes.Hero.HeroRole;
+import lombok.Builder;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Monte Carlo forecast of a proposed draft, from the point of view of the requesting manager's roster.
+ */
+@Data
+@Builder
+public class MatchForecastResponse {
+    private UUID matchId;
+    private UUID rosterId;
+    private int trials;
+    private double winProbability;
+    private BigDecimal expectedStrength;
+    private BigDecimal expectedOpponentStrength;
+    private List<PickDistribution> pickDistribution;
+
+    @Data
+    @Builder
+    public static class PickDistribution {
+        private UUID playerId;
+        private HeroRole role;
+        private Map<UUID, Double> heroRates; // heroId -> share of trials the hero was resolved
+    }
+}
@@ -0,0 +1,28 @@
+package com.tfxsoftware.memserver.modules.matches.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Result of re-running a finished match from its stored input snapshot and seed,
+ * next to what was originally persisted.
+ */
+@Data
+@Builder
+public class MatchReplayResponse {
+    private UUID matchId;
+    private long seed;
+    private UUID storedWinnerRosterId;
+    private UUID replayedWinnerRosterId;
+    private BigDecimal storedHomeTotalPerformance;
+    private BigDecimal replayedHomeTotalPerformance;
+    private BigDecimal storedAwayTotalPerformance;
+    private BigDecimal replayedAwayTotalPerformance;
+    private double homeWinProbability;
+    private Map<UUID, UUID> heroPicks; // playerId -> heroId
+    private boolean identical;
+}
@@ -0,0 +1,17 @@
+package com.tfxsoftware.memserver.modules.matches.engine;
+
+import com.tfxsoftware.memserver.modules.heroes.Hero.HeroRole;
+
+import java.util.UUID;
+
+/**
+ * Immutable copy of a manager's pick preference (Match.MatchPick) used by the simulation stage.
+ */
+public record DraftIntent(
+        UUID playerId,
+        HeroRole role,
+        UUID preferredHeroId1,
+        UUID preferredHeroId2,
+        UUID preferredHeroId3,
+        int pickOrder
+) {}
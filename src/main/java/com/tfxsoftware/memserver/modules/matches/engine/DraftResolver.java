@@ -0,0 +1,99 @@
+package com.tfxsoftware.memserver.modules.matches.engine;
+
+import com.tfxsoftware.memserver.modules.heroes.Hero;
+import com.tfxsoftware.memserver.modules.heroes.HeroCatalog;
+
+import java.util.*;
+
+/**
+ * Pure draft resolution shared by the engine, replays and forecasts.
+ *
+ * Picks are resolved in pickOrder (home before away on equal orders). Each player gets their first
+ * available preferred hero, otherwise the best meta hero for the role; bans and earlier picks are unavailable.
+ */
+public final class DraftResolver {
+
+    private DraftResolver() {
+    }
+
+    /**
+     * Resolved heroes, index-aligned with the home and away intention lists.
+     */
+    public record DraftPicks(Hero[] home, Hero[] away) {
+
+        public Map<UUID, Hero> toMap(List<DraftIntent> homeIntentions, List<DraftIntent> awayIntentions) {
+            Map<UUID, Hero> picks = new HashMap<>();
+            for (int i = 0; i < home.length; i++) picks.put(homeIntentions.get(i).playerId(), home[i]);
+            for (int i = 0; i < away.length; i++) picks.put(awayIntentions.get(i).playerId(), away[i]);
+            return picks;
+        }
+    }
+
+    public static DraftPicks resolve(List<DraftIntent> homeIntentions, List<DraftIntent> awayIntentions,
+                                     Collection<UUID> homeBans, Collection<UUID> awayBans, HeroCatalog catalog) {
+        int homeSize = homeIntentions.size();
+        int total = homeSize + awayIntentions.size();
+
+        // Stable insertion sort of (home ++ away) by pickOrder; drafts are 10 entries at most
+        int[] sequence = new int[total];
+        for (int i = 0; i < total; i++) {
+            int pickOrder = intent(homeIntentions, awayIntentions, i).pickOrder();
+            int j = i - 1;
+            while (j >= 0 && intent(homeIntentions, awayIntentions, sequence[j]).pickOrder() > pickOrder) {
+                sequence[j + 1] = sequence[j];
+                j--;
+            }
+            sequence[j + 1] = i;
+        }
+
+        Set<UUID> unavailable = new HashSet<>(homeBans);
+        unavailable.addAll(awayBans);
+
+        Hero[] home = new Hero[homeSize];
+        Hero[] away = new Hero[total - homeSize];
+        for (int index : sequence) {
+            Hero hero = pick(intent(homeIntentions, awayIntentions, index), unavailable, catalog);
+            unavailable.add(hero.getId());
+            if (index < homeSize) {
+                home[index] = hero;
+            } else {
+                away[index - homeSize] = hero;
+            }
+        }
+        return new DraftPicks(home, away);
+    }
+
+    /**
+     * Intentions used when a manager did not prepare a draft: every roster member on their best role,
+     * no preferred heroes, in roster order.
+     */
+    public static List<DraftIntent> defaultIntentions(MatchSnapshot match, RosterSnapshot roster) {
+        List<UUID> memberIds = roster.memberIds();
+        List<DraftIntent> intentions = new ArrayList<>(memberIds.size());
+        for (int i = 0; i < memberIds.size(); i++) {
+            PlayerSnapshot player = match.player(memberIds.get(i));
+            intentions.add(new DraftIntent(player.id(), player.primaryRole(), null, null, null, i + 1));
+        }
+        return intentions;
+    }
+
+    private static Hero pick(DraftIntent intent, Set<UUID> unavailable, HeroCatalog catalog) {
+        Hero hero = tryAssign(intent.preferredHeroId1(), unavailable, catalog);
+        if (hero == null) hero = tryAssign(intent.preferredHeroId2(), unavailable, catalog);
+        if (hero == null) hero = tryAssign(intent.preferredHeroId3(), unavailable, catalog);
+        if (hero == null) hero = catalog.findBestAvailable(intent.role(), unavailable);
+        if (hero == null) {
+            throw new IllegalStateException("No heroes available in the game database to assign.");
+        }
+        return hero;
+    }
+
+    private static Hero tryAssign(UUID id, Set<UUID> unavailable, HeroCatalog catalog) {
+        if (id == null || unavailable.contains(id)) return null;
+        return catalog.get(id);
+    }
+
+    private static DraftIntent intent(List<DraftIntent> home, List<DraftIntent> away, int index) {
+        return index < home.size() ? home.get(index) : away.get(index - home.size());
+    }
+}
@@ -0,0 +1,45 @@
+package com.tfxsoftware.memserver.modules.matches.engine;
+
+import com.tfxsoftware.memserver.modules.matches.Match.MatchStatus;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Everything the simulation stage needs about one match, loaded up front by the batch loader.
+ * players contains every roster member and every player referenced by a pick intention.
+ * claimToken identifies the lease this node holds on a CLAIMED match (null for SCHEDULED ones).
+ */
+public record MatchSnapshot(
+        UUID matchId,
+        MatchStatus status,
+        UUID claimToken,
+        LocalDateTime scheduledTime,
+        UUID eventId,
+        boolean leagueMatch,
+        RosterSnapshot home,
+        RosterSnapshot away,
+        List<UUID> homeBans,
+        List<UUID> awayBans,
+        List<DraftIntent> homeIntentions,
+        List<DraftIntent> awayIntentions,
+        Map<UUID, PlayerSnapshot> players
+) {
+    public MatchSnapshot {
+        homeBans = List.copyOf(homeBans);
+        awayBans = List.copyOf(awayBans);
+        homeIntentions = List.copyOf(homeIntentions);
+        awayIntentions = List.copyOf(awayIntentions);
+        players = Map.copyOf(players);
+    }
+
+    public PlayerSnapshot player(UUID playerId) {
+        PlayerSnapshot player = players.get(playerId);
+        if (player == null) {
+            throw new IllegalStateException("Player " + playerId + " not loaded for match " + matchId);
+        }
+        return player;
+    }
+}
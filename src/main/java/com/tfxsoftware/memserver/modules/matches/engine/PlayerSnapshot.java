@@ -0,0 +1,56 @@
+package com.tfxsoftware.memserver.modules.matches.engine;
+
+import com.tfxsoftware.memserver.modules.heroes.Hero.HeroRole;
+import com.tfxsoftware.memserver.modules.players.Player.PlayerTrait;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Immutable view of a player as the engine sees it: traits plus role and hero mastery levels.
+ * Missing masteries default to level 1, like the entity-based formulas did.
+ */
+public record PlayerSnapshot(
+        UUID id,
+        String nickname,
+        Set<PlayerTrait> traits,
+        Map<HeroRole, Integer> roleLevels,
+        Map<UUID, Integer> heroLevels
+) {
+    public PlayerSnapshot {
+        traits = Set.copyOf(traits);
+        roleLevels = Map.copyOf(roleLevels);
+        heroLevels = Map.copyOf(heroLevels);
+    }
+
+    public boolean hasTrait(PlayerTrait trait) {
+        return traits.contains(trait);
+    }
+
+    public int roleLevel(HeroRole role) {
+        Integer level = roleLevels.get(role);
+        return level != null ? level : 1;
+    }
+
+    public int heroLevel(UUID heroId) {
+        Integer level = heroLevels.get(heroId);
+        return level != null ? level : 1;
+    }
+
+    /**
+     * Role with the highest mastery level (first in role order on ties), MID when the player has none.
+     */
+    public HeroRole primaryRole() {
+        HeroRole best = null;
+        int bestLevel = Integer.MIN_VALUE;
+        for (HeroRole role : HeroRole.values()) {
+            Integer level = roleLevels.get(role);
+            if (level != null && level > bestLevel) {
+                best = role;
+                bestLevel = level;
+            }
+        }
+        return best != null ? best : HeroRole.MID;
+    }
+}
@@ -0,0 +1,22 @@
+package com.tfxsoftware.memserver.modules.matches.engine;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Immutable roster vitals captured when the match was loaded for simulation.
+ * memberIds keeps the roster's player order (used to build default pick intentions).
+ */
+public record RosterSnapshot(
+        UUID id,
+        String name,
+        BigDecimal cohesion,
+        BigDecimal morale,
+        int energy,
+        List<UUID> memberIds
+) {
+    public RosterSnapshot {
+        memberIds = List.copyOf(memberIds);
+    }
+}
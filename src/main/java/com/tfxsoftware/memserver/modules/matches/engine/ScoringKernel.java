@@ -0,0 +1,223 @@
+package com.tfxsoftware.memserver.modules.matches.engine;
+
+import com.tfxsoftware.memserver.modules.heroes.Hero;
+import com.tfxsoftware.memserver.modules.heroes.Hero.HeroArchetype;
+import com.tfxsoftware.memserver.modules.heroes.Hero.HeroRole;
+import com.tfxsoftware.memserver.modules.heroes.Hero.MetaTier;
+import com.tfxsoftware.memserver.modules.heroes.HeroCatalog;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.List;
+
+/**
+ * Primitive scoring math for the Match Engine.
+ * All formulas work on doubles with precomputed constants and never allocate, so they can run
+ * thousands of times per second on match days. BigDecimal only shows up at the edge ({@link #toCents}).
+ *
+ * Rounding tolerance versus the former BigDecimal formulas:
+ * - Player performance is rounded to cents HALF_UP and is identical to the BigDecimal result.
+ *   Every exact input is a multiple of 0.0001, so the tiny nudge in {@link #roundCents} only resolves
+ *   binary representation error on exact half-cent ties and can never flip a genuine value.
+ * - Roster strength and win probability differ by at most ~1e-12 relative (double rounding).
+ *   The 2-decimal value persisted on MatchResult can therefore only differ by 0.01 when the exact
+ *   strength lands on a half-cent tie.
+ */
+public final class ScoringKernel {
+
+    public static final double ROLE_WEIGHT = 0.60;
+    public static final double HERO_WEIGHT = 0.40;
+    public static final double LONE_WOLF_MULTIPLIER = 1.10;
+    public static final double COUNTER_POINT_VALUE = 5.00;
+    public static final double SYNERGY_POINT_VALUE = 3.00;
+    public static final double CLUTCH_THRESHOLD_PERCENT = 0.05;
+    public static final double CLUTCH_PROBABILITY_BONUS = 0.20;
+    public static final double MIN_WIN_PROBABILITY = 0.05;
+    public static final double MAX_WIN_PROBABILITY = 0.95;
+
+    private static final double PRIMARY_EFFICIENCY = 1.00;
+    private static final double SECONDARY_EFFICIENCY = 0.80;
+    private static final double EMERGENCY_EFFICIENCY = 0.10;
+    private static final double NEUTRAL_META_MULTIPLIER = 1.00;
+
+    private static final double BASE_MORALE = 5.0;
+    private static final double FULL_ENERGY_MULTIPLIER = 1.00;
+    private static final double TIRED_ENERGY_MULTIPLIER = 0.90;
+    private static final double EXHAUSTED_ENERGY_MULTIPLIER = 0.50;
+
+    // Half a cent expressed in the scaled (x100) domain, plus a nudge far below the 0.0001 input grid
+    private static final double ROUNDING_NUDGE = 0.5 + 1e-6;
+
+    private static final double[] TIER_MULTIPLIERS = new double[MetaTier.values().length];
+
+    static {
+        for (MetaTier tier : MetaTier.values()) {
+            TIER_MULTIPLIERS[tier.ordinal()] = tier.getMultiplier().doubleValue();
+        }
+    }
+
+    private ScoringKernel() {
+    }
+
+    /**
+     * Same rules as {@link Hero#getEfficiencyForRole}: primary 1.00, secondary 0.80, emergency 0.10.
+     */
+    public static double roleEfficiency(Hero hero, HeroRole role) {
+        if (role == hero.getPrimaryRole()) return PRIMARY_EFFICIENCY;
+        if (role == hero.getSecondaryRole()) return SECONDARY_EFFICIENCY;
+        return EMERGENCY_EFFICIENCY;
+    }
+
+    /**
+     * Same rules as {@link Hero#getMultiplierForRole}: tier multiplier of the matching role, neutral otherwise.
+     */
+    public static double metaMultiplier(Hero hero, HeroRole role) {
+        if (role == hero.getPrimaryRole()) return TIER_MULTIPLIERS[hero.getPrimaryTier().ordinal()];
+        if (role == hero.getSecondaryRole() && hero.getSecondaryTier() != null) {
+            return TIER_MULTIPLIERS[hero.getSecondaryTier().ordinal()];
+        }
+        return NEUTRAL_META_MULTIPLIER;
+    }
+
+    /**
+     * Player power = (RoleStrength * Efficiency) * 0.60 + (HeroLevel * MetaMult) * 0.40,
+     * boosted by 10% for LONE_WOLF, rounded to cents.
+     */
+    public static double playerPerformance(int roleStrength, double roleEfficiency, int heroLevel, double metaMultiplier, boolean loneWolf) {
+        double power = roleStrength * roleEfficiency * ROLE_WEIGHT + heroLevel * metaMultiplier * HERO_WEIGHT;
+        if (loneWolf) {
+            power *= LONE_WOLF_MULTIPLIER;
+        }
+        return roundCents(power);
+    }
+
+    /**
+     * One point for every (team hero, opponent hero) pair where the team archetype counters the opponent.
+     * Relations come from the catalog's precomputed archetype matrix.
+     */
+    public static int counterPoints(List<Hero> team, List<Hero> opponents, HeroCatalog catalog) {
+        int points = 0;
+        for (int i = 0; i < team.size(); i++) {
+            HeroArchetype attacker = team.get(i).getArchetype();
+            for (int j = 0; j < opponents.size(); j++) {
+                if (catalog.counters(attacker, opponents.get(j).getArchetype())) points++;
+            }
+        }
+        return points;
+    }
+
+    /**
+     * One point for every unordered pair of teammates whose archetypes synergize.
+     */
+    public static int synergyPoints(List<Hero> team, HeroCatalog catalog) {
+        int points = 0;
+        for (int i = 0; i < team.size(); i++) {
+            HeroArchetype archetype = team.get(i).getArchetype();
+            for (int j = i + 1; j < team.size(); j++) {
+                if (catalog.synergizes(archetype, team.get(j).getArchetype())) points++;
+            }
+        }
+        return points;
+    }
+
+    public static int counterPoints(Hero[] team, Hero[] opponents, HeroCatalog catalog) {
+        int points = 0;
+        for (Hero hero : team) {
+            HeroArchetype attacker = hero.getArchetype();
+            for (Hero opponent : opponents) {
+                if (catalog.counters(attacker, opponent.getArchetype())) points++;
+            }
+        }
+        return points;
+    }
+
+    public static int synergyPoints(Hero[] team, HeroCatalog catalog) {
+        int points = 0;
+        for (int i = 0; i < team.length; i++) {
+            HeroArchetype archetype = team[i].getArchetype();
+            for (int j = i + 1; j < team.length; j++) {
+                if (catalog.synergizes(archetype, team[j].getArchetype())) points++;
+            }
+        }
+        return points;
+    }
+
+    public static double counterStrength(int counterPoints) {
+        return counterPoints * COUNTER_POINT_VALUE;
+    }
+
+    public static double synergyStrength(int synergyPoints) {
+        return synergyPoints * SYNERGY_POINT_VALUE;
+    }
+
+    public static double cohesionMultiplier(double cohesion) {
+        return 1.0 + cohesion / 100.0;
+    }
+
+    public static double moraleMultiplier(double morale) {
+        return 1.0 + (morale - BASE_MORALE) / 50.0;
+    }
+
+    public static double energyMultiplier(int energy) {
+        if (energy >= 75) return FULL_ENERGY_MULTIPLIER;
+        if (energy >= 30) return TIRED_ENERGY_MULTIPLIER;
+        return EXHAUSTED_ENERGY_MULTIPLIER;
+    }
+
+    /**
+     * Total = (SumPlayerPerf + Counter + Synergy) * CohesionMult * MoraleMult * EnergyMult.
+     */
+    public static double rosterStrength(double sumPlayerPerformance, int counterPoints, int synergyPoints,
+                                        double cohesion, double morale, int energy) {
+        return (sumPlayerPerformance + counterStrength(counterPoints) + synergyStrength(synergyPoints))
+                * cohesionMultiplier(cohesion)
+                * moraleMultiplier(morale)
+                * energyMultiplier(energy);
+    }
+
+    /**
+     * True when the strength difference is below 5% of the total strength.
+     */
+    public static boolean isClutchWindow(double homeStrength, double awayStrength) {
+        return Math.abs(homeStrength - awayStrength) < (homeStrength + awayStrength) * CLUTCH_THRESHOLD_PERCENT;
+    }
+
+    /**
+     * Probabilistic Winner Logic:
+     * 1. Base prob = HomePower / TotalPower (home wins outright when both are zero).
+     * 2. If close (< 5%), shift prob by 20% in favor of the Clutch team.
+     * 3. Clamp between 5% and 95%.
+     */
+    public static double homeWinProbability(double homeStrength, double awayStrength, boolean homeClutch, boolean awayClutch) {
+        double total = homeStrength + awayStrength;
+        if (total == 0.0) return 1.0;
+
+        double winProbHome = homeStrength / total;
+        if (isClutchWindow(homeStrength, awayStrength)) {
+            if (homeClutch && !awayClutch) {
+                winProbHome += CLUTCH_PROBABILITY_BONUS;
+            } else if (awayClutch && !homeClutch) {
+                winProbHome -= CLUTCH_PROBABILITY_BONUS;
+            }
+        }
+        return clampProbability(winProbHome);
+    }
+
+    public static double clampProbability(double probability) {
+        return Math.max(MIN_WIN_PROBABILITY, Math.min(MAX_WIN_PROBABILITY, probability));
+    }
+
+    /**
+     * HALF_UP rounding to two decimals for non-negative scores.
+     */
+    public static double roundCents(double value) {
+        return Math.floor(value * 100.0 + ROUNDING_NUDGE) / 100.0;
+    }
+
+    /**
+     * Converts a kernel value to the 2-decimal BigDecimal stored on RosterPerformance / MatchResult.
+     */
+    public static BigDecimal toCents(double value) {
+        return BigDecimal.valueOf(roundCents(value)).setScale(2, RoundingMode.HALF_UP);
+    }
+}
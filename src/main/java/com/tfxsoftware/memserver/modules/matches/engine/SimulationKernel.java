@@ -0,0 +1,48 @@
+package com.tfxsoftware.memserver.modules.matches.engine;
+
+import com.tfxsoftware.memserver.modules.heroes.HeroCatalog;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.UUID;
+
+/**
+ * Stateless match simulation: intentions, draft, team scores and the seeded winner draw.
+ *
+ * Reads only the immutable {@link MatchSnapshot}, the {@link HeroCatalog} and the seed, so the same inputs
+ * always give the same {@link SimulationOutcome}. No Spring, no persistence, no logging; callers decide what
+ * to do with the outcome (persist it, replay it, aggregate it, benchmark it).
+ */
+public final class SimulationKernel {
+
+    private SimulationKernel() {
+    }
+
+    public static SimulationOutcome simulate(MatchSnapshot match, HeroCatalog catalog, long seed) {
+        List<DraftIntent> homeIntentions = match.homeIntentions().isEmpty()
+                ? DraftResolver.defaultIntentions(match, match.home())
+                : match.homeIntentions();
+        List<DraftIntent> awayIntentions = match.awayIntentions().isEmpty()
+                ? DraftResolver.defaultIntentions(match, match.away())
+                : match.awayIntentions();
+
+        DraftResolver.DraftPicks draft = DraftResolver.resolve(homeIntentions, awayIntentions, match.homeBans(), match.awayBans(), catalog);
+
+        TeamScorer.TeamScore home = TeamScorer.score(match, match.home(), homeIntentions, draft.home(), draft.away(), catalog);
+        TeamScorer.TeamScore away = TeamScorer.score(match, match.away(), awayIntentions, draft.away(), draft.home(), catalog);
+
+        double homeWinProbability = ScoringKernel.homeWinProbability(home.strength(), away.strength(), home.hasClutchPlayer(), away.hasClutchPlayer());
+        SplittableRandom rng = new SplittableRandom(rngSeed(match.matchId(), seed));
+        UUID winnerId = rng.nextDouble() < homeWinProbability ? match.home().id() : match.away().id();
+
+        return new SimulationOutcome(homeIntentions, awayIntentions, draft, home, away, homeWinProbability, winnerId);
+    }
+
+    /**
+     * Per-match generator seed: the stored seed mixed with the match id, so equal seeds on different
+     * matches still give independent streams.
+     */
+    public static long rngSeed(UUID matchId, long seed) {
+        return seed ^ matchId.getMostSignificantBits() ^ Long.rotateLeft(matchId.getLeastSignificantBits(), 32);
+    }
+}
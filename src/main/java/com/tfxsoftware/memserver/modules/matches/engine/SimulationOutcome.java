@@ -0,0 +1,29 @@
+package com.tfxsoftware.memserver.modules.matches.engine;
+
+import com.tfxsoftware.memserver.modules.heroes.Hero;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Immutable result of one {@link SimulationKernel} run: the effective intentions (defaults included),
+ * the resolved draft, both team scores and the seeded winner.
+ */
+public record SimulationOutcome(
+        List<DraftIntent> homeIntentions,
+        List<DraftIntent> awayIntentions,
+        DraftResolver.DraftPicks draft,
+        TeamScorer.TeamScore home,
+        TeamScorer.TeamScore away,
+        double homeWinProbability,
+        UUID winnerId
+) {
+
+    /**
+     * Resolved hero per player id, for both teams.
+     */
+    public Map<UUID, Hero> finalizedPicks() {
+        return draft.toMap(homeIntentions, awayIntentions);
+    }
+}
@@ -0,0 +1,236 @@
+package com.tfxsoftware.memserver.modules.matches.engine;
+
+import com.tfxsoftware.memserver.modules.heroes.Hero;
+import com.tfxsoftware.memserver.modules.heroes.Hero.HeroRole;
+import com.tfxsoftware.memserver.modules.heroes.HeroCatalog;
+import com.tfxsoftware.memserver.modules.players.Player.PlayerTrait;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+
+/**
+ * Compact binary trace of one simulation: per-player factors, counter/synergy hits, the clutch-window
+ * decision and the clamped probability. Recording writes primitives into a buffer sized up front;
+ * text is only produced by {@link #render} when someone asks for it.
+ *
+ * Layout (big-endian, version 1):
+ * header  = version:byte, seed:long, flags:byte, baseProb:double, shiftedProb:double, clampedProb:double
+ * team    = players:byte, cohesion:double, morale:double, energy:short, counterPoints:int, synergyPoints:int,
+ *           counterMask:long, synergyMask:long, sumPerformance:double, strength:double, players...
+ * player  = playerId:2*long, heroId:2*long, role:byte, roleLevel:short, roleEfficiency:double,
+ *           heroLevel:short, metaMultiplier:double, flags:byte, performance:double
+ * Masks set bit (i * 8 + j) for each hit between pick i and pick j, so only the first 8 picks are covered.
+ */
+public final class SimulationTrace {
+
+    public static final byte VERSION = 1;
+
+    private static final int HEADER_BYTES = 1 + 8 + 1 + 8 * 3;
+    private static final int TEAM_BYTES = 1 + 8 + 8 + 2 + 4 + 4 + 8 + 8 + 8 + 8;
+    private static final int PLAYER_BYTES = 16 + 16 + 1 + 2 + 8 + 2 + 8 + 1 + 8;
+    private static final int MASK_SLOTS = 8;
+
+    private static final int CLUTCH_WINDOW = 1;
+    private static final int HOME_CLUTCH = 1 << 1;
+    private static final int AWAY_CLUTCH = 1 << 2;
+    private static final int HOME_WON = 1 << 3;
+
+    private static final int LONE_WOLF = 1;
+    private static final int CLUTCH_PLAYER = 1 << 1;
+
+    private SimulationTrace() {
+    }
+
+    public static byte[] record(MatchSnapshot match, SimulationOutcome outcome, HeroCatalog catalog, long seed) {
+        int players = outcome.homeIntentions().size() + outcome.awayIntentions().size();
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_BYTES + 2 * TEAM_BYTES + players * PLAYER_BYTES);
+
+        double home = outcome.home().strength();
+        double away = outcome.away().strength();
+        double total = home + away;
+        double base = total == 0.0 ? 1.0 : home / total;
+        boolean window = total != 0.0 && ScoringKernel.isClutchWindow(home, away);
+        double shifted = base;
+        if (window && outcome.home().hasClutchPlayer() != outcome.away().hasClutchPlayer()) {
+            shifted += outcome.home().hasClutchPlayer() ? ScoringKernel.CLUTCH_PROBABILITY_BONUS : -ScoringKernel.CLUTCH_PROBABILITY_BONUS;
+        }
+
+        int flags = (window ? CLUTCH_WINDOW : 0)
+                | (outcome.home().hasClutchPlayer() ? HOME_CLUTCH : 0)
+                | (outcome.away().hasClutchPlayer() ? AWAY_CLUTCH : 0)
+                | (outcome.winnerId().equals(match.home().id()) ? HOME_WON : 0);
+        buffer.put(VERSION).putLong(seed).put((byte) flags)
+                .putDouble(base).putDouble(shifted).putDouble(outcome.homeWinProbability());
+
+        writeTeam(buffer, match, match.home(), outcome.homeIntentions(), outcome.draft().home(), outcome.draft().away(), outcome.home(), catalog);
+        writeTeam(buffer, match, match.away(), outcome.awayIntentions(), outcome.draft().away(), outcome.draft().home(), outcome.away(), catalog);
+        return buffer.array();
+    }
+
+    private static void writeTeam(ByteBuffer buffer, MatchSnapshot match, RosterSnapshot roster, List<DraftIntent> intentions,
+                                  Hero[] picks, Hero[] opponents, TeamScorer.TeamScore score, HeroCatalog catalog) {
+        long counterMask = 0L;
+        long synergyMask = 0L;
+        for (int i = 0; i < Math.min(picks.length, MASK_SLOTS); i++) {
+            for (int j = 0; j < Math.min(opponents.length, MASK_SLOTS); j++) {
+                if (catalog.counters(picks[i].getArchetype(), opponents[j].getArchetype())) counterMask |= 1L << (i * MASK_SLOTS + j);
+            }
+            for (int j = i + 1; j < Math.min(picks.length, MASK_SLOTS); j++) {
+                if (catalog.synergizes(picks[i].getArchetype(), picks[j].getArchetype())) synergyMask |= 1L << (i * MASK_SLOTS + j);
+            }
+        }
+
+        buffer.put((byte) intentions.size())
+                .putDouble(roster.cohesion().doubleValue())
+                .putDouble(roster.morale().doubleValue())
+                .putShort((short) roster.energy())
+                .putInt(score.counterPoints())
+                .putInt(score.synergyPoints())
+                .putLong(counterMask)
+                .putLong(synergyMask)
+                .putDouble(score.sumPlayerPerformance())
+                .putDouble(score.strength());
+
+        for (int i = 0; i < intentions.size(); i++) {
+            DraftIntent intent = intentions.get(i);
+            PlayerSnapshot player = match.player(intent.playerId());
+            Hero hero = picks[i];
+            int flags = (player.hasTrait(PlayerTrait.LONE_WOLF) ? LONE_WOLF : 0)
+                    | (player.hasTrait(PlayerTrait.CLUTCH_FACTOR) ? CLUTCH_PLAYER : 0);
+            putUuid(buffer, player.id());
+            putUuid(buffer, hero.getId());
+            buffer.put((byte) intent.role().ordinal())
+                    .putShort((short) player.roleLevel(intent.role()))
+                    .putDouble(ScoringKernel.roleEfficiency(hero, intent.role()))
+                    .putShort((short) player.heroLevel(hero.getId()))
+                    .putDouble(ScoringKernel.metaMultiplier(hero, intent.role()))
+                    .put((byte) flags)
+                    .putDouble(score.playerPerformance()[i]);
+        }
+    }
+
+    /**
+     * Human-readable rendering. Hero names come from the given catalog, falling back to the id.
+     */
+    public static String render(byte[] trace, HeroCatalog catalog) {
+        ByteBuffer buffer = ByteBuffer.wrap(trace);
+        byte version = buffer.get();
+        if (version != VERSION) {
+            throw new IllegalStateException("Unsupported simulation trace version: " + version);
+        }
+        long seed = buffer.getLong();
+        int flags = buffer.get();
+        double base = buffer.getDouble();
+        double shifted = buffer.getDouble();
+        double clamped = buffer.getDouble();
+
+        StringBuilder out = new StringBuilder();
+        out.append("Simulation trace v").append(version).append(" (seed ").append(seed).append(")\n");
+        TeamHits home = renderTeam(buffer, "HOME", catalog, out);
+        TeamHits away = renderTeam(buffer, "AWAY", catalog, out);
+        // Counter hits name opponent heroes, so they are rendered once both teams are read
+        appendHits(out, "HOME", home, away, catalog);
+        appendHits(out, "AWAY", away, home, catalog);
+
+        boolean window = (flags & CLUTCH_WINDOW) != 0;
+        out.append(String.format(Locale.ROOT, "Win probability (home): base %.4f", base));
+        if (window) {
+            out.append(", clutch window (home clutch ").append((flags & HOME_CLUTCH) != 0)
+                    .append(", away clutch ").append((flags & AWAY_CLUTCH) != 0).append(")");
+            out.append(String.format(Locale.ROOT, ", shifted %.4f", shifted));
+        } else {
+            out.append(", outside clutch window");
+        }
+        out.append(String.format(Locale.ROOT, ", clamped %.4f -> %s won%n", clamped, (flags & HOME_WON) != 0 ? "HOME" : "AWAY"));
+        return out.toString();
+    }
+
+    private record TeamHits(UUID[] heroes, long counterMask, long synergyMask) {}
+
+    private static TeamHits renderTeam(ByteBuffer buffer, String side, HeroCatalog catalog, StringBuilder out) {
+        int players = buffer.get();
+        double cohesion = buffer.getDouble();
+        double morale = buffer.getDouble();
+        int energy = buffer.getShort();
+        int counterPoints = buffer.getInt();
+        int synergyPoints = buffer.getInt();
+        long counterMask = buffer.getLong();
+        long synergyMask = buffer.getLong();
+        double sum = buffer.getDouble();
+        double strength = buffer.getDouble();
+
+        out.append(String.format(Locale.ROOT,
+                "%s: (players %.2f + counters %d x %.1f + synergies %d x %.1f) x cohesion %.4f x morale %.4f x energy %.2f (%d) = %.2f%n",
+                side, sum, counterPoints, ScoringKernel.COUNTER_POINT_VALUE, synergyPoints, ScoringKernel.SYNERGY_POINT_VALUE,
+                ScoringKernel.cohesionMultiplier(cohesion), ScoringKernel.moraleMultiplier(morale),
+                ScoringKernel.energyMultiplier(energy), energy, strength));
+
+        UUID[] heroes = new UUID[players];
+        for (int i = 0; i < players; i++) {
+            UUID playerId = getUuid(buffer);
+            UUID heroId = getUuid(buffer);
+            HeroRole role = HeroRole.values()[buffer.get()];
+            int roleLevel = buffer.getShort();
+            double roleEfficiency = buffer.getDouble();
+            int heroLevel = buffer.getShort();
+            double meta = buffer.getDouble();
+            int playerFlags = buffer.get();
+            double performance = buffer.getDouble();
+            heroes[i] = heroId;
+
+            out.append(String.format(Locale.ROOT,
+                    "  %-7s %s on %s: role L%d x eff %.2f x %.2f + hero L%d x meta %.2f x %.2f%s%s = %.2f%n",
+                    role, playerId, heroName(heroId, catalog), roleLevel, roleEfficiency, ScoringKernel.ROLE_WEIGHT,
+                    heroLevel, meta, ScoringKernel.HERO_WEIGHT,
+                    (playerFlags & LONE_WOLF) != 0 ? String.format(Locale.ROOT, " x lone wolf %.2f", ScoringKernel.LONE_WOLF_MULTIPLIER) : "",
+                    (playerFlags & CLUTCH_PLAYER) != 0 ? " [clutch]" : "",
+                    performance));
+        }
+        return new TeamHits(heroes, counterMask, synergyMask);
+    }
+
+    private static void appendHits(StringBuilder out, String side, TeamHits hits, TeamHits opponentHits, HeroCatalog catalog) {
+        UUID[] team = hits.heroes();
+        UUID[] opponents = opponentHits.heroes();
+        int players = team.length;
+        int opponentPlayers = opponents.length;
+        long counterMask = hits.counterMask();
+        long synergyMask = hits.synergyMask();
+
+        StringBuilder counters = new StringBuilder();
+        StringBuilder synergies = new StringBuilder();
+        for (int i = 0; i < Math.min(players, MASK_SLOTS); i++) {
+            for (int j = 0; j < Math.min(opponentPlayers, MASK_SLOTS); j++) {
+                if ((counterMask & (1L << (i * MASK_SLOTS + j))) != 0) {
+                    separate(counters).append(heroName(team[i], catalog)).append(" > ").append(heroName(opponents[j], catalog));
+                }
+            }
+            for (int j = i + 1; j < Math.min(players, MASK_SLOTS); j++) {
+                if ((synergyMask & (1L << (i * MASK_SLOTS + j))) != 0) {
+                    separate(synergies).append(heroName(team[i], catalog)).append(" + ").append(heroName(team[j], catalog));
+                }
+            }
+        }
+        out.append(side).append(" counters: ").append(counters.isEmpty() ? "none" : counters).append('\n');
+        out.append(side).append(" synergies: ").append(synergies.isEmpty() ? "none" : synergies).append('\n');
+    }
+
+    private static StringBuilder separate(StringBuilder builder) {
+        return builder.isEmpty() ? builder : builder.append(", ");
+    }
+
+    private static String heroName(UUID heroId, HeroCatalog catalog) {
+        Hero hero = catalog.get(heroId);
+        return hero != null ? hero.getName() : heroId.toString();
+    }
+
+    private static void putUuid(ByteBuffer buffer, UUID id) {
+        buffer.putLong(id.getMostSignificantBits()).putLong(id.getLeastSignificantBits());
+    }
+
+    private static UUID getUuid(ByteBuffer buffer) {
+        return new UUID(buffer.getLong(), buffer.getLong());
+    }
+}
@@ -0,0 +1,62 @@
+package com.tfxsoftware.memserver.modules.matches.engine;
+
+import com.tfxsoftware.memserver.modules.heroes.Hero;
+import com.tfxsoftware.memserver.modules.heroes.Hero.HeroRole;
+import com.tfxsoftware.memserver.modules.heroes.HeroCatalog;
+import com.tfxsoftware.memserver.modules.players.Player.PlayerTrait;
+
+import java.util.List;
+
+/**
+ * Pure roster performance for a resolved draft, built on {@link ScoringKernel}.
+ */
+public final class TeamScorer {
+
+    private TeamScorer() {
+    }
+
+    /**
+     * Raw (unrounded) team score. playerPerformance is index-aligned with the intentions.
+     */
+    public record TeamScore(
+            double[] playerPerformance,
+            double sumPlayerPerformance,
+            int counterPoints,
+            int synergyPoints,
+            boolean hasClutchPlayer,
+            double strength
+    ) {}
+
+    public static TeamScore score(MatchSnapshot match, RosterSnapshot roster, List<DraftIntent> intentions,
+                                  Hero[] picks, Hero[] opponents, HeroCatalog catalog) {
+        double[] performance = new double[intentions.size()];
+        double sum = 0.0;
+        boolean clutch = false;
+
+        for (int i = 0; i < performance.length; i++) {
+            DraftIntent intent = intentions.get(i);
+            PlayerSnapshot player = match.player(intent.playerId());
+            if (player.hasTrait(PlayerTrait.CLUTCH_FACTOR)) {
+                clutch = true;
+            }
+            performance[i] = playerPerformance(player, picks[i], intent.role());
+            sum += performance[i];
+        }
+
+        int counterPoints = ScoringKernel.counterPoints(picks, opponents, catalog);
+        int synergyPoints = ScoringKernel.synergyPoints(picks, catalog);
+        double strength = ScoringKernel.rosterStrength(sum, counterPoints, synergyPoints,
+                roster.cohesion().doubleValue(), roster.morale().doubleValue(), roster.energy());
+
+        return new TeamScore(performance, sum, counterPoints, synergyPoints, clutch, strength);
+    }
+
+    public static double playerPerformance(PlayerSnapshot player, Hero hero, HeroRole role) {
+        return ScoringKernel.playerPerformance(
+                player.roleLevel(role),
+                ScoringKernel.roleEfficiency(hero, role),
+                player.heroLevel(hero.getId()),
+                ScoringKernel.metaMultiplier(hero, role),
+                player.hasTrait(PlayerTrait.LONE_WOLF));
+    }
+}
@@ -6,14 +6,13 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.UUID;
+import java.util.*;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class MasteryService {
 
-    private final PlayerRoleMasteryRepository roleMasteryRepository;
     private final PlayerHeroMasteryRepository heroMasteryRepository;
 
     private static final long[] EXPERIENCE_TABLE = {
@@ -25,7 +24,16 @@ public class MasteryService {
         1000000L, 1350000L, 1800000L, 2400000L, 3500000L // L26-L30 (Extremely Hard)
     };
 
+    private static final Long[] THRESHOLDS = Arrays.stream(EXPERIENCE_TABLE).boxed().toArray(Long[]::new);
+
     public int calculateLevel(long totalExperience) {
+        return levelFor(totalExperience);
+    }
+
+    /**
+     * The level reached with totalExperience; static so pure calculations (e.g. bootcamp catch-up) can use it.
+     */
+    public static int levelFor(long totalExperience) {
         int level = 1;
         for (int i = 1; i < EXPERIENCE_TABLE.length; i++) {
             if (totalExperience >= EXPERIENCE_TABLE[i]) {
@@ -39,36 +47,101 @@ public class MasteryService {
 
     @Transactional
     public void addRoleExperience(Player player, HeroRole role, long amount) {
-        PlayerRoleMastery roleMastery = roleMasteryRepository.findByPlayerIdAndRole(player.getId(), role)
-                .orElseThrow(() -> new IllegalStateException("Role mastery not found for " + role));
+        addRoleExperience(player.getId(), role, amount);
+    }
 
-        roleMastery.setExperience(roleMastery.getExperience() + amount);
-        roleMastery.setLevel(calculateLevel(roleMastery.getExperience()));
-        roleMasteryRepository.save(roleMastery);
-        log.info("Added {} experience to role {} for player {}. New level: {}", amount, role, player.getNickname(), roleMastery.getLevel());
+    /**
+     * Id-based variant for callers working from snapshots; never loads the Player entity.
+     */
+    @Transactional
+    public void addRoleExperience(UUID playerId, HeroRole role, long amount) {
+        applyExperience(List.of(XpGrant.role(playerId, role, amount)));
     }
 
     @Transactional
     public void addHeroExperience(Player player, UUID heroId, long amount) {
-        PlayerHeroMastery heroMastery = getOrCreateHeroMastery(player, heroId);
+        addHeroExperience(player.getId(), heroId, amount);
+    }
 
-        heroMastery.setExperience(heroMastery.getExperience() + amount);
-        heroMastery.setLevel(calculateLevel(heroMastery.getExperience()));
-        heroMasteryRepository.save(heroMastery);
-        log.info("Added {} experience to hero {} for player {}. New level: {}", amount, heroId, player.getNickname(), heroMastery.getLevel());
+    /**
+     * Id-based variant for callers working from snapshots; a missing mastery is created by the upsert.
+     */
+    @Transactional
+    public void addHeroExperience(UUID playerId, UUID heroId, long amount) {
+        applyExperience(List.of(XpGrant.hero(playerId, heroId, amount)));
     }
 
+    /**
+     * Applies many XP grants in a single upsert statement and returns the masteries that gained a level.
+     * Grants for the same player and role/hero are summed first. Unlike find-then-save, concurrent grants for the
+     * same mastery cannot lose updates or create duplicates.
+     */
     @Transactional
-    public PlayerHeroMastery getOrCreateHeroMastery(Player player, UUID heroId) {
-        return heroMasteryRepository.findByPlayerIdAndHeroId(player.getId(), heroId)
-                .orElseGet(() -> {
-                    PlayerHeroMastery mastery = PlayerHeroMastery.builder()
-                            .player(player)
-                            .heroId(heroId)
-                            .level(1)
-                            .experience(0L)
-                            .build();
-                    return heroMasteryRepository.save(mastery);
-                });
+    public List<LevelUp> applyExperience(Collection<XpGrant> grants) {
+        Map<XpKey, Long> totals = new LinkedHashMap<>();
+        for (XpGrant grant : grants) {
+            if (grant.amount() != 0) {
+                totals.merge(new XpKey(grant.playerId(), grant.role(), grant.heroId()), grant.amount(), Long::sum);
+            }
+        }
+        if (totals.isEmpty()) {
+            return List.of();
+        }
+
+        List<UUID> rolePlayerIds = new ArrayList<>();
+        List<String> roles = new ArrayList<>();
+        List<Long> roleAmounts = new ArrayList<>();
+        List<UUID> heroPlayerIds = new ArrayList<>();
+        List<UUID> heroIds = new ArrayList<>();
+        List<Long> heroAmounts = new ArrayList<>();
+        totals.forEach((key, amount) -> {
+            if (key.heroId() == null) {
+                rolePlayerIds.add(key.playerId());
+                roles.add(key.role().name());
+                roleAmounts.add(amount);
+            } else {
+                heroPlayerIds.add(key.playerId());
+                heroIds.add(key.heroId());
+                heroAmounts.add(amount);
+            }
+        });
+
+        List<PlayerHeroMasteryRepository.MasteryGainView> rows = heroMasteryRepository.upsertExperience(
+                rolePlayerIds.toArray(UUID[]::new), roles.toArray(String[]::new), roleAmounts.toArray(Long[]::new),
+                heroPlayerIds.toArray(UUID[]::new), heroIds.toArray(UUID[]::new), heroAmounts.toArray(Long[]::new),
+                THRESHOLDS);
+
+        List<LevelUp> levelUps = new ArrayList<>();
+        for (PlayerHeroMasteryRepository.MasteryGainView row : rows) {
+            HeroRole role = row.getRole() == null ? null : HeroRole.valueOf(row.getRole());
+            long amount = totals.get(new XpKey(row.getPlayerId(), role, row.getHeroId()));
+            int previousLevel = calculateLevel(row.getExperience() - amount);
+            if (row.getLevel() > previousLevel) {
+                levelUps.add(new LevelUp(row.getPlayerId(), role, row.getHeroId(), previousLevel, row.getLevel()));
+            }
+        }
+        log.info("Applied {} XP grants in one upsert ({} level-ups).", totals.size(), levelUps.size());
+        return levelUps;
+    }
+
+    /**
+     * XP for one player on either a role (heroId null) or a hero (role null).
+     */
+    public record XpGrant(UUID playerId, HeroRole role, UUID heroId, long amount) {
+
+        public static XpGrant role(UUID playerId, HeroRole role, long amount) {
+            return new XpGrant(playerId, role, null, amount);
+        }
+
+        public static XpGrant hero(UUID playerId, UUID heroId, long amount) {
+            return new XpGrant(playerId, null, heroId, amount);
+        }
     }
+
+    /**
+     * A role (heroId null) or hero (role null) mastery that went from previousLevel to level.
+     */
+    public record LevelUp(UUID playerId, HeroRole role, UUID heroId, int previousLevel, int level) {}
+
+    private record XpKey(UUID playerId, HeroRole role, UUID heroId) {}
 }
@@ -12,7 +12,10 @@ import java.util.List;
 import java.util.UUID;
 
 @Entity
-@Table(name = "players")
+@Table(name = "players", indexes = {
+        // Salary runs walk owners with due players in owner id order (see SalaryService)
+        @Index(name = "idx_players_owner_salary", columnList = "owner_id, nextSalaryPaymentDate")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
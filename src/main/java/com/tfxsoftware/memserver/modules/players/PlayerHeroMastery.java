@@ -9,7 +9,10 @@ import java.util.UUID;
  * Mastery for a specific Hero (Luxana, etc.)
  */
 @Entity
-@Table(name = "player_hero_masteries")
+@Table(name = "player_hero_masteries", uniqueConstraints = {
+        // Conflict target of the XP upsert (PlayerHeroMasteryRepository.upsertExperience)
+        @UniqueConstraint(name = "uk_player_hero_mastery", columnNames = {"player_id", "heroId"})
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -1,12 +1,70 @@
 package com.tfxsoftware.memserver.modules.players;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 @Repository
 public interface PlayerHeroMasteryRepository extends JpaRepository<PlayerHeroMastery, UUID> {
     Optional<PlayerHeroMastery> findByPlayerIdAndHeroId(UUID playerId, UUID heroId);
+
+    @Query("SELECT hm.player.id AS playerId, hm.heroId AS heroId, hm.level AS level FROM PlayerHeroMastery hm WHERE hm.player.id IN :playerIds")
+    List<HeroLevelView> findLevelsByPlayerIdIn(@Param("playerIds") Collection<UUID> playerIds);
+
+    /**
+     * Applies a batch of XP grants to role and hero masteries in one statement (one round trip).
+     * Each grant is an upsert on (player_id, role) or (player_id, hero_id): missing masteries are created, existing
+     * ones get the amount added, and the level is recomputed in SQL from the thresholds array (width_bucket counts
+     * thresholds &lt;= experience, matching MasteryService.calculateLevel). Grants must be unique per key.
+     */
+    @Query(value = "WITH role_grants AS (" +
+                   "  SELECT * FROM unnest(CAST(:rolePlayerIds AS uuid[]), CAST(:roles AS varchar[]), CAST(:roleAmounts AS bigint[])) " +
+                   "  AS g(player_id, role, amount)), " +
+                   "hero_grants AS (" +
+                   "  SELECT * FROM unnest(CAST(:heroPlayerIds AS uuid[]), CAST(:heroIds AS uuid[]), CAST(:heroAmounts AS bigint[])) " +
+                   "  AS g(player_id, hero_id, amount)), " +
+                   "role_up AS (" +
+                   "  INSERT INTO player_role_masteries AS m (id, player_id, role, experience, level) " +
+                   "  SELECT gen_random_uuid(), g.player_id, g.role, g.amount, width_bucket(g.amount, CAST(:thresholds AS bigint[])) " +
+                   "  FROM role_grants g " +
+                   "  ON CONFLICT (player_id, role) DO UPDATE SET experience = m.experience + EXCLUDED.experience, " +
+                   "  level = width_bucket(m.experience + EXCLUDED.experience, CAST(:thresholds AS bigint[])) " +
+                   "  RETURNING m.player_id, m.role, CAST(NULL AS uuid) AS hero_id, m.experience, m.level), " +
+                   "hero_up AS (" +
+                   "  INSERT INTO player_hero_masteries AS m (id, player_id, hero_id, experience, level) " +
+                   "  SELECT gen_random_uuid(), g.player_id, g.hero_id, g.amount, width_bucket(g.amount, CAST(:thresholds AS bigint[])) " +
+                   "  FROM hero_grants g " +
+                   "  ON CONFLICT (player_id, hero_id) DO UPDATE SET experience = m.experience + EXCLUDED.experience, " +
+                   "  level = width_bucket(m.experience + EXCLUDED.experience, CAST(:thresholds AS bigint[])) " +
+                   "  RETURNING m.player_id, CAST(NULL AS varchar) AS role, m.hero_id, m.experience, m.level) " +
+                   "SELECT player_id AS \"playerId\", role AS \"role\", hero_id AS \"heroId\", experience AS \"experience\", level AS \"level\" FROM role_up " +
+                   "UNION ALL " +
+                   "SELECT player_id, role, hero_id, experience, level FROM hero_up", nativeQuery = true)
+    List<MasteryGainView> upsertExperience(@Param("rolePlayerIds") UUID[] rolePlayerIds,
+                                           @Param("roles") String[] roles,
+                                           @Param("roleAmounts") Long[] roleAmounts,
+                                           @Param("heroPlayerIds") UUID[] heroPlayerIds,
+                                           @Param("heroIds") UUID[] heroIds,
+                                           @Param("heroAmounts") Long[] heroAmounts,
+                                           @Param("thresholds") Long[] thresholds);
+
+    interface MasteryGainView {
+        UUID getPlayerId();
+        String getRole();
+        UUID getHeroId();
+        long getExperience();
+        int getLevel();
+    }
+
+    interface HeroLevelView {
+        UUID getPlayerId();
+        UUID getHeroId();
+        int getLevel();
+    }
 }
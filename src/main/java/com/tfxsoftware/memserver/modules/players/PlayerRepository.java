@@ -1,8 +1,13 @@
 package com.tfxsoftware.memserver.modules.players;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -10,5 +15,57 @@ import java.util.UUID;
 public interface PlayerRepository extends JpaRepository<Player, UUID> {
     List<Player> findByOwnerIsNull(); // For the Free Agent market
     List<Player> findByOwnerId(UUID ownerId); // For the User's roster
-    List<Player> findAllByNextSalaryPaymentDateBefore(java.time.LocalDateTime dateTime);
-}
\ No newline at end of file
+
+    // --- Projections for the match batch loader (no EAGER masteries/traits are loaded) ---
+
+    @Query("SELECT p.id AS id, p.nickname AS nickname, r.id AS rosterId FROM Player p JOIN p.roster r WHERE r.id IN :rosterIds")
+    List<PlayerIdentityView> findIdentitiesByRosterIdIn(@Param("rosterIds") Collection<UUID> rosterIds);
+
+    @Query("SELECT p.id AS id, p.nickname AS nickname, r.id AS rosterId FROM Player p LEFT JOIN p.roster r WHERE p.id IN :ids")
+    List<PlayerIdentityView> findIdentitiesByIdIn(@Param("ids") Collection<UUID> ids);
+
+    @Query("SELECT p.id AS playerId, t AS trait FROM Player p JOIN p.traits t WHERE p.id IN :ids")
+    List<PlayerTraitView> findTraitsByPlayerIdIn(@Param("ids") Collection<UUID> ids);
+
+    // --- Deadline index (see SalaryDeadlineHandler); free agents draw no salary ---
+
+    @Query("SELECT p.id AS id, p.nextSalaryPaymentDate AS nextSalaryPaymentDate FROM Player p " +
+           "WHERE p.owner IS NOT NULL AND p.nextSalaryPaymentDate < :until")
+    List<SalaryDeadlineView> findOwnedSalaryDeadlinesBefore(@Param("until") LocalDateTime until);
+
+    @Query("SELECT p.id AS id, p.nextSalaryPaymentDate AS nextSalaryPaymentDate FROM Player p " +
+           "WHERE p.id IN :ids AND p.owner IS NOT NULL AND p.nextSalaryPaymentDate IS NOT NULL")
+    List<SalaryDeadlineView> findOwnedSalaryDeadlinesByIdIn(@Param("ids") Collection<UUID> ids);
+
+    // --- Set-based salary run (see SalaryService) ---
+
+    /**
+     * Next page of owners with at least one salary due, in owner id order after :after (keyset).
+     */
+    @Query(value = "SELECT DISTINCT p.owner_id FROM players p " +
+                   "WHERE p.owner_id > :after AND p.next_salary_payment_date < :now " +
+                   "ORDER BY p.owner_id LIMIT :limit", nativeQuery = true)
+    List<UUID> findOwnersWithSalaryDue(@Param("now") LocalDateTime now, @Param("after") UUID after,
+                                       @Param("limit") int limit);
+
+    @Modifying
+    @Query(value = "UPDATE players SET next_salary_payment_date = next_salary_payment_date + INTERVAL '7 days' " +
+                   "WHERE owner_id IN (:ownerIds) AND next_salary_payment_date < :now", nativeQuery = true)
+    int advanceSalaryDates(@Param("ownerIds") Collection<UUID> ownerIds, @Param("now") LocalDateTime now);
+
+    interface PlayerIdentityView {
+        UUID getId();
+        String getNickname();
+        UUID getRosterId();
+    }
+
+    interface PlayerTraitView {
+        UUID getPlayerId();
+        Player.PlayerTrait getTrait();
+    }
+
+    interface SalaryDeadlineView {
+        UUID getId();
+        LocalDateTime getNextSalaryPaymentDate();
+    }
+}
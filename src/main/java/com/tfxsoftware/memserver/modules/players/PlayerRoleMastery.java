@@ -10,7 +10,10 @@ import java.util.UUID;
  * Mastery for a specific Role (TOP, MID, etc.)
  */
 @Entity
-@Table(name = "player_role_masteries")
+@Table(name = "player_role_masteries", uniqueConstraints = {
+        // Conflict target of the XP upsert (PlayerHeroMasteryRepository.upsertExperience)
+        @UniqueConstraint(name = "uk_player_role_mastery", columnNames = {"player_id", "role"})
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
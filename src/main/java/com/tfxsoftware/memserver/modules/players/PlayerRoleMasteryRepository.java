@@ -1,8 +1,12 @@
 package com.tfxsoftware.memserver.modules.players;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 import com.tfxsoftware.memserver.modules.heroes.Hero.HeroRole;
@@ -10,4 +14,13 @@ import com.tfxsoftware.memserver.modules.heroes.Hero.HeroRole;
 @Repository
 public interface PlayerRoleMasteryRepository extends JpaRepository<PlayerRoleMastery, UUID> {
     Optional<PlayerRoleMastery> findByPlayerIdAndRole(UUID playerId, HeroRole role);
+
+    @Query("SELECT rm.player.id AS playerId, rm.role AS role, rm.level AS level FROM PlayerRoleMastery rm WHERE rm.player.id IN :playerIds")
+    List<RoleLevelView> findLevelsByPlayerIdIn(@Param("playerIds") Collection<UUID> playerIds);
+
+    interface RoleLevelView {
+        UUID getPlayerId();
+        HeroRole getRole();
+        int getLevel();
+    }
 }
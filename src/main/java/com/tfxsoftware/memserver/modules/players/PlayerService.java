@@ -1,9 +1,12 @@
 package com.tfxsoftware.memserver.modules.players;
 
+import com.tfxsoftware.memserver.infra.scheduling.DeadlineScheduler;
+import com.tfxsoftware.memserver.infra.scheduling.DeadlineType;
 import com.tfxsoftware.memserver.modules.heroes.Hero.HeroRole;
 import com.tfxsoftware.memserver.modules.players.dto.MasteryLevelExpDto;
 import com.tfxsoftware.memserver.modules.players.dto.PlayerResponse;
 import com.tfxsoftware.memserver.modules.users.User;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
@@ -23,6 +26,8 @@ public class PlayerService {
     private final PlayerRepository playerRepository;
     private final PlayerRoleMasteryRepository roleMasteryRepository;
     private final MasteryService masteryService;
+    private final EntityManager entityManager;
+    private final DeadlineScheduler deadlineScheduler;
     private final Random random = new Random();
 
     // Fixed Economic Values for MVP Generation
@@ -102,6 +107,7 @@ public class PlayerService {
                 .build();
 
         player = playerRepository.save(player);
+        deadlineScheduler.schedule(DeadlineType.SALARY, player.getId(), player.getNextSalaryPaymentDate());
 
         // Create Role Masteries for all 5 roles
         List<PlayerRoleMastery> roleMasteries = new ArrayList<>();
@@ -145,8 +151,9 @@ public class PlayerService {
 
     @Transactional
     public void addExperience(Player player, HeroRole role, UUID heroId, long amount) {
-        masteryService.addRoleExperience(player, role, amount);
-        masteryService.addHeroExperience(player, heroId, amount);
+        masteryService.applyExperience(List.of(
+                MasteryService.XpGrant.role(player.getId(), role, amount),
+                MasteryService.XpGrant.hero(player.getId(), heroId, amount)));
     }
 
     /**
@@ -163,8 +170,9 @@ public class PlayerService {
         }
 
         addExperience(player, role, heroId, amount);
-        Player updated = playerRepository.findById(playerId).orElse(player);
-        return mapToResponse(updated);
+        // The masteries were written by a native upsert, so reload them into the managed player
+        entityManager.refresh(player);
+        return mapToResponse(player);
     }
 
     /**
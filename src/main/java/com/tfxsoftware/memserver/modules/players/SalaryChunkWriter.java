@@ -0,0 +1,50 @@
+package com.tfxsoftware.memserver.modules.players;
+
+import com.tfxsoftware.memserver.modules.bootcamps.BootcampService;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Settles the salaries of one chunk of owners in a single transaction, with a fixed number of statements
+ * regardless of how many players they own.
+ */
+@Component
+@RequiredArgsConstructor
+public class SalaryChunkWriter {
+
+    private final PlayerRepository playerRepository;
+    private final SalarySettlementWriter settlementWriter;
+    private final BootcampService bootcampService;
+    private final EntityManager entityManager;
+
+    /**
+     * Owners with a non-negative balance are charged and their due players move to the next payment date;
+     * owners already in debt lose their due players, and bootcamps of the rosters those players left are stopped.
+     */
+    @Transactional
+    public ChunkResult pay(List<UUID> ownerIds, LocalDateTime now) {
+        List<UUID> charged = settlementWriter.chargeDueSalaries(ownerIds, now);
+        int advanced = charged.isEmpty() ? 0 : playerRepository.advanceSalaryDates(charged, now);
+
+        Set<UUID> insolvent = new HashSet<>(ownerIds);
+        charged.forEach(insolvent::remove);
+        List<UUID> leftRosters = insolvent.isEmpty() ? List.of() : settlementWriter.releaseDuePlayers(insolvent, now);
+        if (!leftRosters.isEmpty()) {
+            // The release went through JDBC, so drop anything loaded before it and read the rosters as they are now
+            entityManager.flush();
+            entityManager.clear();
+            bootcampService.stopBootcamps(leftRosters);
+        }
+        return new ChunkResult(charged.size(), advanced, insolvent.size(), leftRosters.size());
+    }
+
+    public record ChunkResult(int chargedOwners, int paidPlayers, int insolventOwners, int affectedRosters) {}
+}
@@ -0,0 +1,48 @@
+package com.tfxsoftware.memserver.modules.players;
+
+import com.tfxsoftware.memserver.infra.scheduling.DeadlineHandler;
+import com.tfxsoftware.memserver.infra.scheduling.DeadlineType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Salary deadlines: an owned player is due at its next salary payment date.
+ */
+@Component
+@RequiredArgsConstructor
+public class SalaryDeadlineHandler implements DeadlineHandler {
+
+    private final PlayerRepository playerRepository;
+    private final SalaryService salaryService;
+
+    @Override
+    public DeadlineType type() {
+        return DeadlineType.SALARY;
+    }
+
+    @Override
+    public Map<UUID, LocalDateTime> pendingDeadlines(LocalDateTime until) {
+        return toDeadlines(playerRepository.findOwnedSalaryDeadlinesBefore(until));
+    }
+
+    @Override
+    public Map<UUID, LocalDateTime> deadlinesFor(Collection<UUID> ids) {
+        return toDeadlines(playerRepository.findOwnedSalaryDeadlinesByIdIn(ids));
+    }
+
+    @Override
+    public void fire(Collection<UUID> dueIds) {
+        salaryService.processSalaries();
+    }
+
+    private static Map<UUID, LocalDateTime> toDeadlines(List<PlayerRepository.SalaryDeadlineView> views) {
+        Map<UUID, LocalDateTime> deadlines = new HashMap<>();
+        for (PlayerRepository.SalaryDeadlineView view : views) {
+            deadlines.put(view.getId(), view.getNextSalaryPaymentDate());
+        }
+        return deadlines;
+    }
+}
@@ -1,97 +1,77 @@
 package com.tfxsoftware.memserver.modules.players;
 
-import com.tfxsoftware.memserver.modules.bootcamps.BootcampService;
-import com.tfxsoftware.memserver.modules.rosters.Roster;
-import com.tfxsoftware.memserver.modules.users.User;
-import com.tfxsoftware.memserver.modules.users.UserRepository;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
-import java.util.HashSet;
 import java.util.List;
-import java.util.Map;
-import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.UUID;
 
+/**
+ * Weekly salaries, processed set-based: owners with due players are walked in owner id chunks (keyset), and each
+ * chunk is settled in its own transaction by the SalaryChunkWriter.
+ */
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class SalaryService {
 
+    private static final UUID FIRST_OWNER = new UUID(0L, 0L);
+
     private final PlayerRepository playerRepository;
-    private final UserRepository userRepository;
-    private final BootcampService bootcampService;
+    private final SalaryChunkWriter chunkWriter;
+    private final int chunkSize;
+
+    public SalaryService(
+            PlayerRepository playerRepository,
+            SalaryChunkWriter chunkWriter,
+            @Value("${salaries.chunk-size:1000}") int chunkSize) {
+        this.playerRepository = playerRepository;
+        this.chunkWriter = chunkWriter;
+        this.chunkSize = Math.max(1, chunkSize);
+    }
 
     /**
-     * Runs every hour to check if salaries need to be paid.
-     * In a production environment, this could run once a day, 
-     * but for the game's pace, we check more frequently.
+     * Pays every salary that has come due.
+     * Triggered by the DeadlineScheduler at each owned player's next payment date (see SalaryDeadlineHandler).
+     * A failing chunk is logged and skipped; its players stay due and are retried on the next run.
      */
-    @Scheduled(cron = "0 0 * * * *")
-    @Transactional
     public void processSalaries() {
         LocalDateTime now = LocalDateTime.now();
-        List<Player> playersToPay = playerRepository.findAllByNextSalaryPaymentDateBefore(now);
-
-        if (playersToPay.isEmpty()) {
-            return;
-        }
-
-        log.info("Processing salaries for {} players.", playersToPay.size());
-
-        // Group players by owner for efficient balance deduction
-        Map<User, List<Player>> playersByOwner = playersToPay.stream()
-                .filter(p -> p.getOwner() != null)
-                .collect(Collectors.groupingBy(Player::getOwner));
-
-        for (Map.Entry<User, List<Player>> entry : playersByOwner.entrySet()) {
-            User owner = entry.getKey();
-            List<Player> ownerPlayers = entry.getValue();
-
-            BigDecimal totalSalaryDue = ownerPlayers.stream()
-                    .map(Player::getSalary)
-                    .reduce(BigDecimal.ZERO, BigDecimal::add);
+        long startedAt = System.currentTimeMillis();
+        int chunks = 0;
+        int charged = 0;
+        int paidPlayers = 0;
+        int insolvent = 0;
 
-            if (owner.getBalance().compareTo(BigDecimal.ZERO) >= 0) {
-                // If balance is positive or zero, we allow it to go negative
-                owner.setBalance(owner.getBalance().subtract(totalSalaryDue));
-                userRepository.save(owner);
-
-                // Update players' next payment date
-                for (Player player : ownerPlayers) {
-                    player.setNextSalaryPaymentDate(player.getNextSalaryPaymentDate().plusDays(7));
-                    playerRepository.save(player);
-                }
-
-                log.info("Paid {} in salaries for owner {}. New balance: {}", 
-                        totalSalaryDue, owner.getUsername(), owner.getBalance());
-            } else {
-                // If balance is already negative, we release the players
-                log.warn("Owner {} has negative balance ({}). Releasing {} players.",
-                        owner.getUsername(), owner.getBalance(), ownerPlayers.size());
-                
-                Set<Roster> rostersToStop = new HashSet<>();
-                for (Player player : ownerPlayers) {
-                    if (player.getRoster() != null) {
-                        rostersToStop.add(player.getRoster());
-                    }
-                    player.setOwner(null);
-                    player.setRoster(null);
-                    playerRepository.save(player);
-                }
-
-                for (Roster roster : rostersToStop) {
-                    if (roster.getActivity() == Roster.RosterActivity.BOOTCAMP) {
-                        log.info("Stopping bootcamp for roster {} due to released players.", roster.getId());
-                        bootcampService.stopBootcampInternal(roster);
-                    }
+        UUID after = FIRST_OWNER;
+        while (true) {
+            List<UUID> ownerIds = playerRepository.findOwnersWithSalaryDue(now, after, chunkSize);
+            if (ownerIds.isEmpty()) {
+                break;
+            }
+            after = ownerIds.getLast();
+            chunks++;
+            try {
+                SalaryChunkWriter.ChunkResult result = chunkWriter.pay(ownerIds, now);
+                charged += result.chargedOwners();
+                paidPlayers += result.paidPlayers();
+                insolvent += result.insolventOwners();
+                if (result.insolventOwners() > 0) {
+                    log.warn("{} owners had a negative balance; their due players were released ({} rosters affected).",
+                            result.insolventOwners(), result.affectedRosters());
                 }
+            } catch (Exception e) {
+                log.error("Failed to process salaries for {} owners after {}", ownerIds.size(), ownerIds.getFirst(), e);
+            }
+            if (ownerIds.size() < chunkSize) {
+                break;
             }
         }
+
+        if (chunks > 0) {
+            log.info("Salaries: charged {} owners for {} players, released the due players of {} owners, {} chunks in {} ms.",
+                    charged, paidPlayers, insolvent, chunks, System.currentTimeMillis() - startedAt);
+        }
     }
 }
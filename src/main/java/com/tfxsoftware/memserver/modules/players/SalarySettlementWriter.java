@@ -0,0 +1,72 @@
+package com.tfxsoftware.memserver.modules.players;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * The two data-modifying salary statements (UPDATE ... RETURNING in a CTE), run straight through JDBC so they are
+ * executed as writes, outside the persistence context. Callers clear the persistence context before reading any
+ * entity these statements touched. Runs on the caller's transaction connection.
+ */
+@Repository
+@RequiredArgsConstructor
+public class SalarySettlementWriter {
+
+    /*
+     * The due players are locked first and held until commit, so a concurrent run waits and then no longer sees
+     * them as due, and the payment dates advanced afterwards are exactly the ones that were charged.
+     */
+    private static final String CHARGE_DUE_SALARIES = """
+            WITH locked AS (
+              SELECT p.owner_id, p.salary FROM players p
+              WHERE p.owner_id IN (:ownerIds) AND p.next_salary_payment_date < :now FOR UPDATE
+            ), due AS (
+              SELECT owner_id, COALESCE(SUM(salary), 0) AS total FROM locked GROUP BY owner_id
+            ), charged AS (
+              UPDATE users u SET balance = u.balance - due.total FROM due
+              WHERE u.id = due.owner_id AND u.balance >= 0 RETURNING u.id, due.total
+            )
+            INSERT INTO balance_ledger (user_id, delta, reason, created_at)
+            SELECT id, -total, 'SALARY', :now FROM charged RETURNING user_id
+            """;
+
+    private static final String RELEASE_DUE_PLAYERS = """
+            WITH released AS (
+              SELECT p.id, p.roster_id FROM players p
+              WHERE p.owner_id IN (:ownerIds) AND p.next_salary_payment_date < :now FOR UPDATE
+            ), cleared AS (
+              UPDATE players p SET owner_id = NULL, roster_id = NULL FROM released r WHERE p.id = r.id
+            )
+            SELECT DISTINCT r.roster_id FROM released r WHERE r.roster_id IS NOT NULL
+            """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * Charges each given owner with a non-negative balance the sum of their due salaries and records one SALARY
+     * ledger entry per owner, in one statement (balances may go negative). Returns the owners that were charged.
+     */
+    public List<UUID> chargeDueSalaries(Collection<UUID> ownerIds, LocalDateTime now) {
+        return jdbcTemplate.queryForList(CHARGE_DUE_SALARIES, params(ownerIds, now), UUID.class);
+    }
+
+    /**
+     * Releases the due players of the given owners to the free agent market and returns the rosters they left.
+     */
+    public List<UUID> releaseDuePlayers(Collection<UUID> ownerIds, LocalDateTime now) {
+        return jdbcTemplate.queryForList(RELEASE_DUE_PLAYERS, params(ownerIds, now), UUID.class);
+    }
+
+    private MapSqlParameterSource params(Collection<UUID> ownerIds, LocalDateTime now) {
+        return new MapSqlParameterSource()
+                .addValue("ownerIds", ownerIds)
+                .addValue("now", now);
+    }
+}
@@ -5,8 +5,10 @@ import com.tfxsoftware.memserver.modules.users.User;
 import com.tfxsoftware.memserver.modules.users.User.Region;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 
@@ -59,8 +61,15 @@ public class Roster {
         IDLE, BOOTCAMP, IN_EVENT
     }
 
+    /**
+     * Energy as of energyUpdatedAt; read the current value through RosterEnergy.
+     */
     @Builder.Default
     @Column(nullable = false)
     private Integer energy = 100;
 
+    @Builder.Default
+    @ColumnDefault("CURRENT_TIMESTAMP")
+    private LocalDateTime energyUpdatedAt = LocalDateTime.now();
+
 }
\ No newline at end of file
@@ -0,0 +1,52 @@
+package com.tfxsoftware.memserver.modules.rosters;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Roster energy recovers lazily instead of through an hourly sweep.
+ * A roster stores (energy, energyUpdatedAt); the current value adds one recovery step per full hour boundary
+ * crossed since then, at the rate of the roster's activity (IDLE 2, IN_EVENT 1, BOOTCAMP none).
+ * Whatever changes energy or activity settles the roster first, so the elapsed time is always counted at the
+ * activity it was spent in.
+ */
+public final class RosterEnergy {
+
+    public static final int MAX_ENERGY = 100;
+    private static final int IDLE_RECOVERY = 2;
+    private static final int EVENT_RECOVERY = 1;
+
+    private RosterEnergy() {
+    }
+
+    public static int current(Roster roster, LocalDateTime now) {
+        return current(roster.getEnergy(), roster.getEnergyUpdatedAt(), roster.getActivity(), now);
+    }
+
+    public static int current(Integer energy, LocalDateTime updatedAt, Roster.RosterActivity activity, LocalDateTime now) {
+        int stored = energy != null ? energy : 0;
+        if (updatedAt == null || stored >= MAX_ENERGY) {
+            return stored;
+        }
+        // Same hour boundaries the old top-of-the-hour cron ticked on
+        long ticks = ChronoUnit.HOURS.between(updatedAt.truncatedTo(ChronoUnit.HOURS), now.truncatedTo(ChronoUnit.HOURS));
+        if (ticks <= 0) {
+            return stored;
+        }
+        return (int) Math.min(MAX_ENERGY, stored + ticks * recoveryPerHour(activity));
+    }
+
+    /**
+     * Writes the current value back; call before changing the roster's energy or activity.
+     */
+    public static void settle(Roster roster, LocalDateTime now) {
+        roster.setEnergy(current(roster, now));
+        roster.setEnergyUpdatedAt(now);
+    }
+
+    private static int recoveryPerHour(Roster.RosterActivity activity) {
+        if (activity == Roster.RosterActivity.IDLE) return IDLE_RECOVERY;
+        if (activity == Roster.RosterActivity.IN_EVENT) return EVENT_RECOVERY;
+        return 0;
+    }
+}
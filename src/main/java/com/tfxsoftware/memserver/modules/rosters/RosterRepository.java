@@ -1,11 +1,16 @@
 package com.tfxsoftware.memserver.modules.rosters;
 
 import com.tfxsoftware.memserver.modules.users.User.Region;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -18,5 +23,24 @@ public interface RosterRepository extends JpaRepository<Roster, UUID> {
     @Query("SELECT r FROM Roster r LEFT JOIN FETCH r.players WHERE r.owner.id = :ownerId")
     List<Roster> findAllByOwnerId(@Param("ownerId") UUID ownerId);
 
-    List<Roster> findAllByEnergyLessThan(Integer energy);
+    /**
+     * Locks the given rosters in id order (so two transactions locking overlapping pairs can't deadlock).
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM Roster r WHERE r.id IN :ids ORDER BY r.id")
+    List<Roster> findAllForUpdate(@Param("ids") Collection<UUID> ids);
+
+    @Query("SELECT r.id AS id, r.name AS name, r.cohesion AS cohesion, r.morale AS morale, r.energy AS energy, " +
+           "r.energyUpdatedAt AS energyUpdatedAt, r.activity AS activity FROM Roster r WHERE r.id IN :ids")
+    List<RosterVitalsView> findVitalsByIdIn(@Param("ids") Collection<UUID> ids);
+
+    interface RosterVitalsView {
+        UUID getId();
+        String getName();
+        BigDecimal getCohesion();
+        BigDecimal getMorale();
+        Integer getEnergy();
+        LocalDateTime getEnergyUpdatedAt();
+        Roster.RosterActivity getActivity();
+    }
 }
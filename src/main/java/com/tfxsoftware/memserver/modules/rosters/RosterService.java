@@ -16,6 +16,7 @@ import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
@@ -202,7 +203,7 @@ public class RosterService {
                 .activity(roster.getActivity())
                 .cohesion(roster.getCohesion())
                 .morale(roster.getMorale())
-                .energy(roster.getEnergy())
+                .energy(RosterEnergy.current(roster, LocalDateTime.now()))
                 .strength(calculateRosterStrength(roster))
                 .players(roster.getPlayers() != null ? 
                         roster.getPlayers().stream().map(playerService::mapToResponse).toList() : 
@@ -235,9 +236,16 @@ public class RosterService {
                             .max()
                             .orElse(1) : 1;
 
-            totalStrength += (maxRoleMastery + maxHeroMastery) / 2.0;
+            totalStrength += playerStrength(maxRoleMastery, maxHeroMastery);
         }
 
         return totalStrength / players.size();
     }
+
+    /**
+     * A player's share of roster strength: the mean of their best role and best hero mastery levels.
+     */
+    public static double playerStrength(int maxRoleLevel, int maxHeroLevel) {
+        return (maxRoleLevel + maxHeroLevel) / 2.0;
+    }
 }
@@ -1,5 +1,7 @@
 package com.tfxsoftware.memserver.modules.scenarios;
 
+import com.tfxsoftware.memserver.infra.scheduling.DeadlineScheduler;
+import com.tfxsoftware.memserver.infra.scheduling.DeadlineType;
 import com.tfxsoftware.memserver.modules.heroes.Hero;
 import com.tfxsoftware.memserver.modules.heroes.Hero.HeroRole;
 import com.tfxsoftware.memserver.modules.heroes.HeroService;
@@ -30,6 +32,7 @@ public class ScenarioService {
     private final RosterRepository rosterRepository;
     private final MatchRepository matchRepository;
     private final HeroService heroService;
+    private final DeadlineScheduler deadlineScheduler;
 
     @Transactional
     public void createScenario(UUID user1Id, UUID user2Id) {
@@ -57,7 +60,8 @@ public class ScenarioService {
         // Setup Draft for User 2
         setupDraft(match.getAwayBans(), match.getAwayPickIntentions(), roster2.getPlayers(), allHeroes);
 
-        matchRepository.save(match);
+        match = matchRepository.save(match);
+        deadlineScheduler.schedule(DeadlineType.MATCH, match.getId(), match.getScheduledTime());
     }
 
     private Roster createRosterWithRookies(User owner) {
@@ -0,0 +1,54 @@
+package com.tfxsoftware.memserver.modules.users;
+
+import com.tfxsoftware.memserver.infra.scheduling.JobRunner;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Keeps the balance ledger from growing without bound: entries older than the retention are periodically folded
+ * into one COMPACTED entry per user, chunk-size users per transaction. Newer entries stay itemized.
+ */
+@Component
+@Slf4j
+public class BalanceLedgerCompactor {
+
+    private final BalanceLedgerRepository ledgerRepository;
+    private final JobRunner jobRunner;
+    private final Duration retention;
+    private final int chunkSize;
+
+    public BalanceLedgerCompactor(
+            BalanceLedgerRepository ledgerRepository,
+            JobRunner jobRunner,
+            @Value("${balances.ledger.retention:P30D}") Duration retention,
+            @Value("${balances.ledger.compaction-chunk-size:1000}") int chunkSize) {
+        this.ledgerRepository = ledgerRepository;
+        this.jobRunner = jobRunner;
+        this.retention = retention;
+        this.chunkSize = Math.max(1, chunkSize);
+    }
+
+    @Scheduled(fixedDelayString = "${balances.ledger.compaction-interval:PT6H}",
+               initialDelayString = "${balances.ledger.compaction-interval:PT6H}")
+    public void compact() {
+        jobRunner.run("ledger-compaction", null, this::compactNow);
+    }
+
+    void compactNow() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(retention);
+        int users = 0;
+        int folded;
+        do {
+            folded = ledgerRepository.compactBefore(cutoff, chunkSize);
+            users += folded;
+        } while (folded == chunkSize);
+        if (users > 0) {
+            log.info("Compacted balance ledger entries before {} for {} users.", cutoff, users);
+        }
+    }
+}
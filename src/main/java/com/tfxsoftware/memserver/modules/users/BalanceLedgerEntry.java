@@ -0,0 +1,48 @@
+package com.tfxsoftware.memserver.modules.users;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * One balance movement. The ledger is append-only: rows are written in the same statement that moves
+ * users.balance (see BalanceService) and only ever removed by compaction, which folds old rows of a user into a
+ * single COMPACTED row with their sum.
+ */
+@Entity
+@Table(name = "balance_ledger", indexes = @Index(name = "idx_balance_ledger_user_created", columnList = "user_id, createdAt"))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BalanceLedgerEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private UUID userId;
+
+    /** Signed: negative for fees and salaries, positive for prizes. */
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal delta;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Reason reason;
+
+    /** The event or other entity the movement belongs to, if any. */
+    private UUID referenceId;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    public enum Reason {
+        ENTRY_FEE, PRIZE, SALARY, COMPACTED
+    }
+}
@@ -0,0 +1,60 @@
+package com.tfxsoftware.memserver.modules.users;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Repository
+public interface BalanceLedgerRepository extends JpaRepository<BalanceLedgerEntry, Long> {
+
+    /**
+     * Adds delta to the user's balance and records it, in one statement and without reading the balance first.
+     * When the balance would go below zero nothing changes; returns the number of entries written (0 or 1).
+     */
+    @Modifying
+    @Query(value = "WITH moved AS (" +
+                   "  UPDATE users SET balance = balance + :delta " +
+                   "  WHERE id = :userId AND balance + :delta >= 0 RETURNING id" +
+                   ") " +
+                   "INSERT INTO balance_ledger (user_id, delta, reason, reference_id, created_at) " +
+                   "SELECT id, :delta, :reason, CAST(:referenceId AS uuid), :now FROM moved", nativeQuery = true)
+    int applyGuarded(@Param("userId") UUID userId, @Param("delta") BigDecimal delta, @Param("reason") String reason,
+                     @Param("referenceId") UUID referenceId, @Param("now") LocalDateTime now);
+
+    /**
+     * Same as applyGuarded, without the non-negative check (credits, and charges that may leave a debt).
+     */
+    @Modifying
+    @Query(value = "WITH moved AS (" +
+                   "  UPDATE users SET balance = balance + :delta WHERE id = :userId RETURNING id" +
+                   ") " +
+                   "INSERT INTO balance_ledger (user_id, delta, reason, reference_id, created_at) " +
+                   "SELECT id, :delta, :reason, CAST(:referenceId AS uuid), :now FROM moved", nativeQuery = true)
+    int apply(@Param("userId") UUID userId, @Param("delta") BigDecimal delta, @Param("reason") String reason,
+              @Param("referenceId") UUID referenceId, @Param("now") LocalDateTime now);
+
+    /**
+     * Folds the entries before cutoff of up to limit users (those with more than one such entry) into a single
+     * COMPACTED entry per user, dated at cutoff. Per-user sums, and so the ledger total, are unchanged.
+     * Returns the number of users folded.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "WITH candidates AS (" +
+                   "  SELECT user_id FROM balance_ledger WHERE created_at < :cutoff " +
+                   "  GROUP BY user_id HAVING COUNT(*) > 1 LIMIT :limit" +
+                   "), folded AS (" +
+                   "  DELETE FROM balance_ledger l USING candidates c " +
+                   "  WHERE l.user_id = c.user_id AND l.created_at < :cutoff RETURNING l.user_id, l.delta" +
+                   ") " +
+                   "INSERT INTO balance_ledger (user_id, delta, reason, created_at) " +
+                   "SELECT user_id, SUM(delta), 'COMPACTED', :cutoff FROM folded GROUP BY user_id", nativeQuery = true)
+    int compactBefore(@Param("cutoff") LocalDateTime cutoff, @Param("limit") int limit);
+}
@@ -0,0 +1,47 @@
+package com.tfxsoftware.memserver.modules.users;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * The only way balances change after sign-up. Every movement is a single atomic UPDATE of users.balance plus its
+ * ledger entry, so concurrent fees and prizes on the same user never lose each other's writes and nothing holds a
+ * lock on the user row between a read and a write. users.balance stays the O(1) read model; the ledger is the history.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BalanceService {
+
+    private final BalanceLedgerRepository ledgerRepository;
+
+    /**
+     * Takes amount from the user if their balance covers it; the check and the write are one statement.
+     * @return false (and nothing changes) when the balance is insufficient.
+     */
+    @Transactional
+    public boolean debit(UUID userId, BigDecimal amount, BalanceLedgerEntry.Reason reason, UUID referenceId) {
+        requirePositive(amount);
+        return ledgerRepository.applyGuarded(userId, amount.negate(), reason.name(), referenceId, LocalDateTime.now()) > 0;
+    }
+
+    @Transactional
+    public void credit(UUID userId, BigDecimal amount, BalanceLedgerEntry.Reason reason, UUID referenceId) {
+        requirePositive(amount);
+        if (ledgerRepository.apply(userId, amount, reason.name(), referenceId, LocalDateTime.now()) == 0) {
+            log.warn("Could not credit {} ({}) to missing user {}.", amount, reason, userId);
+        }
+    }
+
+    private static void requirePositive(BigDecimal amount) {
+        if (amount == null || amount.signum() <= 0) {
+            throw new IllegalArgumentException("Balance movements need a positive amount, got " + amount);
+        }
+    }
+}
@@ -33,6 +33,8 @@ public class User implements UserDetails {
 
     private String hashedPassword;
 
+    // Set on sign-up only; afterwards changed atomically in SQL by BalanceService, never by entity writes
+    @Column(updatable = false)
     private BigDecimal balance;
 
     @Enumerated(EnumType.STRING)
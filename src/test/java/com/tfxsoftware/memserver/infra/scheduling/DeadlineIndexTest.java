@@ -0,0 +1,50 @@
+package com.tfxsoftware.memserver.infra.scheduling;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DeadlineIndexTest {
+
+    @Test
+    void pollDue_returnsOnlyDueEntriesAndKeepsTheRest() {
+        DeadlineIndex index = new DeadlineIndex();
+        LocalDateTime now = LocalDateTime.of(2026, 1, 1, 12, 0);
+        UUID past = UUID.randomUUID();
+        UUID exact = UUID.randomUUID();
+        UUID future = UUID.randomUUID();
+
+        index.put(future, now.plusMinutes(5));
+        index.put(past, now.minusMinutes(1));
+        index.put(exact, now);
+
+        assertEquals(now.minusMinutes(1), index.next());
+        List<UUID> due = index.pollDue(now);
+
+        assertEquals(2, due.size());
+        assertTrue(due.containsAll(List.of(past, exact)));
+        assertEquals(1, index.size());
+        assertEquals(now.plusMinutes(5), index.next());
+    }
+
+    @Test
+    void put_movesAnExistingDeadline() {
+        DeadlineIndex index = new DeadlineIndex();
+        LocalDateTime now = LocalDateTime.of(2026, 1, 1, 12, 0);
+        UUID id = UUID.randomUUID();
+
+        index.put(id, now.minusMinutes(1));
+        index.put(id, now.plusHours(1));
+
+        assertTrue(index.pollDue(now).isEmpty());
+        assertEquals(1, index.size());
+        assertEquals(now.plusHours(1), index.next());
+
+        index.remove(id);
+        assertNull(index.next());
+    }
+}
@@ -0,0 +1,55 @@
+package com.tfxsoftware.memserver.infra.scheduling;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class JobRunnerTest {
+
+    @Test
+    void submit_skipsOverlappingRunAndRecordsStats() throws InterruptedException {
+        JobRunner jobRunner = new JobRunner(new MockEnvironment(), 1);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(1);
+
+        assertTrue(jobRunner.submit("slow", LocalDateTime.now().minusSeconds(2), () -> await(release), done::countDown));
+        assertTrue(jobRunner.isSaturated("slow"));
+        assertFalse(jobRunner.submit("slow", null, () -> fail("overlapping run"), () -> {}));
+
+        release.countDown();
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+
+        JobStats stats = jobRunner.stats().getFirst();
+        assertEquals(1, stats.runs());
+        assertEquals(1, stats.skipped());
+        assertEquals(0, stats.active());
+        assertTrue(stats.lastLagMillis() >= 2000);
+    }
+
+    @Test
+    void run_countsFailuresAndHonoursConfiguredLimit() {
+        MockEnvironment environment = new MockEnvironment().withProperty("scheduling.jobs.wide.max-concurrency", "3");
+        JobRunner jobRunner = new JobRunner(environment, 1);
+
+        assertTrue(jobRunner.run("wide", null, () -> {
+            throw new IllegalStateException("boom");
+        }));
+
+        JobStats stats = jobRunner.stats().getFirst();
+        assertEquals(3, stats.maxConcurrency());
+        assertEquals(1, stats.failures());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.tfxsoftware.memserver.modules.bootcamps;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.*;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class BootcampCatchUpProcessorTest {
+
+    @Mock
+    private BootcampService bootcampService;
+
+    @Test
+    void partition_putsEveryRosterInExactlyOneWorker() {
+        List<UUID> rosterIds = IntStream.range(0, 50).mapToObj(i -> UUID.randomUUID()).toList();
+
+        List<List<UUID>> partitions = BootcampCatchUpProcessor.partition(rosterIds, 4);
+
+        assertTrue(partitions.size() <= 4);
+        Set<UUID> seen = new HashSet<>();
+        partitions.forEach(partition -> partition.forEach(id -> assertTrue(seen.add(id))));
+        assertEquals(new HashSet<>(rosterIds), seen);
+    }
+
+    @Test
+    void run_failedChunkDoesNotStopTheOthers() {
+        BootcampCatchUpProcessor processor = new BootcampCatchUpProcessor(bootcampService, 2, 1);
+        List<UUID> rosterIds = IntStream.range(0, 5).mapToObj(i -> UUID.randomUUID()).toList();
+        doThrow(new IllegalStateException("broken roster")).doNothing().when(bootcampService).catchUp(anyCollection());
+
+        BootcampCatchUpProcessor.Result result = processor.run(rosterIds);
+
+        assertEquals(3, result.chunks());
+        assertEquals(1, result.failedChunks());
+        assertEquals(2, result.failedRosters());
+        verify(bootcampService, times(3)).catchUp(anyCollection());
+    }
+
+    @Test
+    void beforeMatches_catchesUpRosterByRosterAndSurvivesAFailure() {
+        BootcampCatchUpProcessor processor = new BootcampCatchUpProcessor(bootcampService, 100, 4);
+        UUID broken = UUID.randomUUID();
+        UUID healthy = UUID.randomUUID();
+        when(bootcampService.rostersWithAccruedTicks(anyCollection())).thenReturn(List.of(broken, healthy));
+        doThrow(new IllegalStateException("broken roster")).when(bootcampService).catchUpBeforeMatch(List.of(broken));
+
+        processor.beforeMatches(Set.of(broken, healthy, UUID.randomUUID()));
+
+        verify(bootcampService).catchUpBeforeMatch(List.of(healthy));
+        verify(bootcampService, never()).catchUp(anyCollection());
+    }
+}
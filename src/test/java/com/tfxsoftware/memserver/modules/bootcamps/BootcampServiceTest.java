@@ -1,12 +1,16 @@
 package com.tfxsoftware.memserver.modules.bootcamps;
 
+import com.tfxsoftware.memserver.infra.scheduling.DeadlineScheduler;
 import com.tfxsoftware.memserver.modules.bootcamps.dto.CreateBootcampSessionDto;
 import com.tfxsoftware.memserver.modules.heroes.Hero;
 import com.tfxsoftware.memserver.modules.players.MasteryService;
+import com.tfxsoftware.memserver.modules.players.Player;
+import com.tfxsoftware.memserver.modules.players.PlayerRoleMastery;
 import com.tfxsoftware.memserver.modules.players.PlayerService;
 import com.tfxsoftware.memserver.modules.rosters.Roster;
 import com.tfxsoftware.memserver.modules.rosters.RosterService;
 import com.tfxsoftware.memserver.modules.users.User;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -15,12 +19,18 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -34,6 +44,10 @@ public class BootcampServiceTest {
     private PlayerService playerService;
     @Mock
     private MasteryService masteryService;
+    @Mock
+    private DeadlineScheduler deadlineScheduler;
+    @Mock
+    private EntityManager entityManager;
 
     @InjectMocks
     private BootcampService bootcampService;
@@ -90,4 +104,63 @@ public class BootcampServiceTest {
 
         bootcampService.startBootcamp(user, rosterId, request);
     }
+
+    @Test
+    void catchUp_appliesAccruedTicksAndStopsWhenEnergyRunsOut() {
+        roster.setActivity(Roster.RosterActivity.BOOTCAMP);
+        roster.setEnergy(35);
+        roster.setCohesion(BigDecimal.ZERO);
+        LocalDateTime lastTickAt = LocalDateTime.now().minusHours(5).minusMinutes(30);
+        BootcampSession session = BootcampSession.builder()
+                .rosterId(rosterId).roster(roster).startedAt(lastTickAt).lastTickAt(lastTickAt).build();
+        when(sessionRepository.findAllWithAccruedTicks(any(), any())).thenReturn(List.of(session));
+        when(sessionRepository.advanceLastTick(rosterId, lastTickAt, lastTickAt.plusHours(4))).thenReturn(1);
+
+        bootcampService.catchUp(List.of(rosterId));
+
+        // 35 energy pays for 3 ticks of 10; the 4th tick is where the bootcamp stops
+        assertEquals(5, roster.getEnergy());
+        assertEquals(0, new BigDecimal("0.3").compareTo(roster.getCohesion()));
+        assertEquals(Roster.RosterActivity.IDLE, roster.getActivity());
+        assertEquals(lastTickAt.plusHours(4), roster.getEnergyUpdatedAt());
+        verify(sessionRepository).delete(session);
+    }
+
+    @Test
+    void catchUp_ticksClaimedByAConcurrentCatchUpAreNotGrantedTwice() {
+        roster.setActivity(Roster.RosterActivity.BOOTCAMP);
+        roster.setEnergy(100);
+        roster.setCohesion(BigDecimal.ZERO);
+        LocalDateTime lastTickAt = LocalDateTime.now().minusHours(2).minusMinutes(30);
+        BootcampSession session = BootcampSession.builder()
+                .rosterId(rosterId).roster(roster).startedAt(lastTickAt).lastTickAt(lastTickAt).build();
+        when(sessionRepository.findAllWithAccruedTicks(any(), any())).thenReturn(List.of(session));
+        when(sessionRepository.advanceLastTick(rosterId, lastTickAt, lastTickAt.plusHours(2))).thenReturn(0);
+
+        bootcampService.catchUp(List.of(rosterId));
+
+        assertEquals(100, roster.getEnergy());
+        assertEquals(lastTickAt, session.getLastTickAt());
+        verify(masteryService).applyExperience(List.of());
+        verify(sessionRepository, never()).save(any());
+    }
+
+    @Test
+    void trainingXp_strengthRisesWhenTheGapCrossesALevelUp() {
+        Player player = Player.builder().id(UUID.randomUUID()).heroMasteries(new ArrayList<>()).build();
+        // 10 XP short of role level 2 (150)
+        player.setRoleMasteries(List.of(PlayerRoleMastery.builder()
+                .player(player).role(Hero.HeroRole.MID).level(1).experience(140L).build()));
+        UUID heroId = UUID.randomUUID();
+        List<BootcampService.TrainingTarget> targets = List.of(
+                new BootcampService.TrainingTarget(player.getId(), Hero.HeroRole.MID, null, 50L),
+                new BootcampService.TrainingTarget(player.getId(), null, heroId, 100L));
+
+        List<MasteryService.XpGrant> grants = BootcampService.trainingXp(List.of(player), targets, 3);
+
+        // Strength 1.0 (role L1, hero L1), then 1.5 (role L2), then 2.0 (hero L2 after 250 XP)
+        assertEquals(List.of(
+                MasteryService.XpGrant.role(player.getId(), Hero.HeroRole.MID, 50L + 75L + 100L),
+                MasteryService.XpGrant.hero(player.getId(), heroId, 100L + 150L + 200L)), grants);
+    }
 }
@@ -0,0 +1,35 @@
+package com.tfxsoftware.memserver.modules.events.league;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class LeagueExtensionDeadlineHandlerTest {
+
+    @Mock
+    private LeagueRepository leagueRepository;
+    @Mock
+    private LeagueGenerator leagueGenerator;
+
+    @InjectMocks
+    private LeagueExtensionDeadlineHandler handler;
+
+    @Test
+    void fire_failedExtensionDoesNotStopTheOtherLeagues() {
+        UUID stalled = UUID.randomUUID();
+        UUID healthy = UUID.randomUUID();
+        doThrow(new IllegalStateException("lock timeout")).when(leagueGenerator).extendSchedule(stalled);
+
+        handler.fire(List.of(stalled, healthy));
+
+        verify(leagueGenerator).extendSchedule(healthy);
+    }
+}
@@ -0,0 +1,53 @@
+package com.tfxsoftware.memserver.modules.events.league;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LeagueGeneratorTest {
+
+    @Test
+    void planSeason_pairsEveryoneAndPacesBlocks() {
+        List<UUID> rosters = IntStream.range(0, 6).mapToObj(i -> UUID.randomUUID()).toList();
+        LocalDateTime startsAt = LocalDateTime.of(2026, 1, 1, 12, 0);
+
+        LeagueGenerator.SeasonPlan plan = LeagueGenerator.planSeason(rosters, 2, startsAt, 3, 10, 60);
+
+        List<LeagueGenerator.PlannedMatch> matches = plan.matches();
+        assertEquals(6 * 5, matches.size());
+        assertEquals(matches.size(), new HashSet<>(matches.stream().map(LeagueGenerator.PlannedMatch::id).toList()).size());
+        // Block of 3 games 10 minutes apart, then a 60 minute rest
+        assertEquals(startsAt.plusMinutes(60), matches.get(0).scheduledTime());
+        assertEquals(startsAt.plusMinutes(80), matches.get(2).scheduledTime());
+        assertEquals(startsAt.plusMinutes(140), matches.get(3).scheduledTime());
+        assertEquals(matches.getLast().scheduledTime().plusMinutes(60), plan.finishesAt());
+    }
+
+    @Test
+    void planRounds_resumedFromCursorMatchesFullSeason() {
+        List<UUID> rosters = IntStream.range(0, 7).mapToObj(i -> UUID.randomUUID()).toList();
+        LocalDateTime startsAt = LocalDateTime.of(2026, 1, 1, 12, 0);
+        List<LeagueGenerator.PlannedMatch> full = LeagueGenerator.planSeason(rosters, 2, startsAt, 4, 15, 60).matches();
+
+        List<UUID> seating = new ArrayList<>(rosters);
+        seating.add(null);
+        List<LeagueGenerator.PlannedMatch> lazy = new ArrayList<>();
+        for (int round = 0; round < 14; round += 3) {
+            lazy.addAll(LeagueGenerator.planRounds(seating, round, Math.min(3, 14 - round), startsAt, 4, 15, 60));
+        }
+
+        assertEquals(full.size(), lazy.size());
+        for (int i = 0; i < full.size(); i++) {
+            assertEquals(full.get(i).homeRosterId(), lazy.get(i).homeRosterId());
+            assertEquals(full.get(i).awayRosterId(), lazy.get(i).awayRosterId());
+            assertEquals(full.get(i).scheduledTime(), lazy.get(i).scheduledTime());
+        }
+    }
+}
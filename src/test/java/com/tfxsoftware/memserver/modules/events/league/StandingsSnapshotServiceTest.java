@@ -0,0 +1,148 @@
+package com.tfxsoftware.memserver.modules.events.league;
+
+import com.tfxsoftware.memserver.modules.events.Event;
+import com.tfxsoftware.memserver.modules.events.EventRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class StandingsSnapshotServiceTest {
+
+    @Mock
+    private LeagueStandingRepository standingRepository;
+    @Mock
+    private EventRepository eventRepository;
+
+    @Test
+    void get_servesFromMemoryUntilInvalidated() {
+        StandingsSnapshotService service = new StandingsSnapshotService(standingRepository, eventRepository, Duration.ofHours(1));
+        UUID eventId = UUID.randomUUID();
+        UUID rosterId = UUID.randomUUID();
+        Event league = new Event();
+        league.setType(Event.EventType.LEAGUE);
+        when(eventRepository.findById(eventId)).thenReturn(Optional.of(league));
+        when(standingRepository.findRowsByLeagueEventId(eventId))
+                .thenReturn(List.of(row(1, rosterId, 0)))
+                .thenReturn(List.of(row(1, rosterId, 1)));
+
+        StandingsSnapshotService.StandingsSnapshot first = service.get(eventId);
+        assertSame(first, service.get(eventId));
+        verify(standingRepository, times(1)).findRowsByLeagueEventId(eventId);
+
+        service.invalidate(eventId);
+        StandingsSnapshotService.StandingsSnapshot second = service.get(eventId);
+        assertNotEquals(first.etag(), second.etag());
+        assertEquals(1, second.body().getStandings().getFirst().getWins());
+    }
+
+    @Test
+    void get_rebuildStartedBeforeAnInvalidationIsNotServedAfterIt() {
+        StandingsSnapshotService service = new StandingsSnapshotService(standingRepository, eventRepository, Duration.ofHours(1));
+        UUID eventId = UUID.randomUUID();
+        UUID rosterId = UUID.randomUUID();
+        Event league = new Event();
+        league.setType(Event.EventType.LEAGUE);
+        when(eventRepository.findById(eventId)).thenReturn(Optional.of(league));
+        when(standingRepository.findRowsByLeagueEventId(eventId))
+                .thenAnswer(invocation -> {
+                    // A result commits while the first rebuild is still reading
+                    service.invalidate(eventId);
+                    return List.of(row(1, rosterId, 0));
+                })
+                .thenReturn(List.of(row(1, rosterId, 1)));
+
+        service.get(eventId);
+        StandingsSnapshotService.StandingsSnapshot next = service.get(eventId);
+
+        assertEquals(1, next.body().getStandings().getFirst().getWins());
+        verify(standingRepository, times(2)).findRowsByLeagueEventId(eventId);
+    }
+
+    @Test
+    void get_concurrentMissesShareOneRebuild() throws Exception {
+        StandingsSnapshotService service = new StandingsSnapshotService(standingRepository, eventRepository, Duration.ofHours(1));
+        UUID eventId = UUID.randomUUID();
+        UUID rosterId = UUID.randomUUID();
+        Event league = new Event();
+        league.setType(Event.EventType.LEAGUE);
+        CountDownLatch reading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(eventRepository.findById(eventId)).thenReturn(Optional.of(league));
+        when(standingRepository.findRowsByLeagueEventId(eventId)).thenAnswer(invocation -> {
+            reading.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return List.of(row(1, rosterId, 0));
+        });
+
+        try (ExecutorService readers = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<StandingsSnapshotService.StandingsSnapshot> first = readers.submit(() -> service.get(eventId));
+            assertTrue(reading.await(5, TimeUnit.SECONDS));
+            List<Future<StandingsSnapshotService.StandingsSnapshot>> others = new ArrayList<>();
+            for (int i = 0; i < 20; i++) {
+                others.add(readers.submit(() -> service.get(eventId)));
+            }
+            release.countDown();
+            for (Future<StandingsSnapshotService.StandingsSnapshot> other : others) {
+                assertSame(first.get(5, TimeUnit.SECONDS), other.get(5, TimeUnit.SECONDS));
+            }
+        }
+        verify(standingRepository, times(1)).findRowsByLeagueEventId(eventId);
+    }
+
+    @Test
+    void get_finishedLeagueIsServedWithoutBeingCached() {
+        StandingsSnapshotService service = new StandingsSnapshotService(standingRepository, eventRepository, Duration.ofHours(1));
+        UUID eventId = UUID.randomUUID();
+        Event league = new Event();
+        league.setType(Event.EventType.LEAGUE);
+        league.setStatus(Event.EventStatus.FINISHED);
+        when(eventRepository.findById(eventId)).thenReturn(Optional.of(league));
+        when(standingRepository.findRowsByLeagueEventId(eventId)).thenReturn(List.of(row(1, UUID.randomUUID(), 3)));
+
+        service.get(eventId);
+        service.get(eventId);
+
+        verify(standingRepository, times(2)).findRowsByLeagueEventId(eventId);
+    }
+
+    @Test
+    void get_unknownEventIsNotFound() {
+        StandingsSnapshotService service = new StandingsSnapshotService(standingRepository, eventRepository, Duration.ofHours(1));
+        UUID eventId = UUID.randomUUID();
+        when(eventRepository.findById(eventId)).thenReturn(Optional.empty());
+
+        ResponseStatusException error = assertThrows(ResponseStatusException.class, () -> service.get(eventId));
+
+        assertEquals(HttpStatus.NOT_FOUND, error.getStatusCode());
+        verifyNoInteractions(standingRepository);
+    }
+
+    private static LeagueStandingRepository.StandingRowView row(int position, UUID rosterId, int wins) {
+        return new LeagueStandingRepository.StandingRowView() {
+            public Integer getPosition() { return position; }
+            public UUID getRosterId() { return rosterId; }
+            public String getRosterName() { return "Roster"; }
+            public String getOwnerName() { return "owner"; }
+            public Integer getWins() { return wins; }
+            public Integer getLosses() { return 0; }
+        };
+    }
+}
@@ -0,0 +1,74 @@
+package com.tfxsoftware.memserver.modules.heroes;
+
+import com.tfxsoftware.memserver.modules.heroes.Hero.HeroArchetype;
+import com.tfxsoftware.memserver.modules.heroes.Hero.HeroRole;
+import com.tfxsoftware.memserver.modules.heroes.Hero.MetaTier;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class HeroCatalogTest {
+
+    private final Hero midA = hero("MidA", HeroRole.MID, MetaTier.A, null, null);
+    private final Hero midS = hero("MidS", HeroRole.MID, MetaTier.S, null, null);
+    private final Hero supportFlexMid = hero("Flex", HeroRole.SUPPORT, MetaTier.B, HeroRole.MID, MetaTier.S);
+    private final Hero topS = hero("TopS", HeroRole.TOP, MetaTier.S, null, null);
+
+    @Test
+    void findBestAvailable_prefersBestPrimaryTierAmongRoleHeroes() {
+        HeroCatalog catalog = HeroCatalog.of(1L, List.of(midA, supportFlexMid, midS, topS));
+
+        assertEquals(midS.getId(), catalog.findBestAvailable(HeroRole.MID, Set.of()).getId());
+        assertEquals(midA.getId(), catalog.findBestAvailable(HeroRole.MID, Set.of(midS.getId())).getId());
+        assertEquals(supportFlexMid.getId(), catalog.findBestAvailable(HeroRole.MID, Set.of(midS.getId(), midA.getId())).getId());
+    }
+
+    @Test
+    void findBestAvailable_fallsBackToWholePoolThenNull() {
+        HeroCatalog catalog = HeroCatalog.of(1L, List.of(midA, topS));
+
+        assertEquals(topS.getId(), catalog.findBestAvailable(HeroRole.MID, Set.of(midA.getId())).getId());
+        assertNull(catalog.findBestAvailable(HeroRole.MID, Set.of(midA.getId(), topS.getId())));
+    }
+
+    @Test
+    void catalog_isDetachedFromManagedEntities() {
+        HeroCatalog catalog = HeroCatalog.of(3L, List.of(midA));
+        midA.setPrimaryTier(MetaTier.D);
+
+        assertEquals(3L, catalog.getVersion());
+        assertTrue(catalog.contains(midA.getId()));
+        assertFalse(catalog.contains(UUID.randomUUID()));
+        assertEquals(MetaTier.A, catalog.get(midA.getId()).getPrimaryTier());
+    }
+
+    @Test
+    void archetypeMatrix_matchesEnumRules() {
+        HeroCatalog catalog = HeroCatalog.empty();
+        for (HeroArchetype a : HeroArchetype.values()) {
+            for (HeroArchetype b : HeroArchetype.values()) {
+                assertEquals(a.counters(b), catalog.counters(a, b));
+                assertEquals(a.synergizesWith(b), catalog.synergizes(a, b));
+            }
+        }
+    }
+
+    private static Hero hero(String name, HeroRole primaryRole, MetaTier primaryTier, HeroRole secondaryRole, MetaTier secondaryTier) {
+        return Hero.builder()
+                .id(UUID.randomUUID())
+                .name(name)
+                .primaryRole(primaryRole)
+                .primaryTier(primaryTier)
+                .secondaryRole(secondaryRole)
+                .secondaryTier(secondaryTier)
+                .archetype(HeroArchetype.MAGE)
+                .build();
+    }
+}
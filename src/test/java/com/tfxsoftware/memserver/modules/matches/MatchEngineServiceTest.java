@@ -0,0 +1,88 @@
+package com.tfxsoftware.memserver.modules.matches;
+
+import com.tfxsoftware.memserver.modules.bootcamps.BootcampCatchUpProcessor;
+import com.tfxsoftware.memserver.modules.events.league.LeagueGenerator;
+import com.tfxsoftware.memserver.modules.heroes.Hero.MetaTier;
+import com.tfxsoftware.memserver.modules.heroes.HeroCatalog;
+import com.tfxsoftware.memserver.modules.heroes.HeroCatalogService;
+import com.tfxsoftware.memserver.modules.matches.dto.MatchReplayResponse;
+import com.tfxsoftware.memserver.modules.matches.engine.MatchSnapshot;
+import com.tfxsoftware.memserver.modules.players.Player.PlayerTrait;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.*;
+
+import static com.tfxsoftware.memserver.modules.matches.engine.EngineTestFixtures.catalog;
+import static com.tfxsoftware.memserver.modules.matches.engine.EngineTestFixtures.match;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class MatchEngineServiceTest {
+
+    @Mock
+    private MatchRepository matchRepository;
+    @Mock
+    private MatchBatchLoader matchBatchLoader;
+    @Mock
+    private HeroCatalogService heroCatalogService;
+    @Mock
+    private MatchResultService matchResultService;
+    @Mock
+    private PostMatchProcessor postMatchProcessor;
+    @Mock
+    private LeagueGenerator leagueGenerator;
+    @Mock
+    private BootcampCatchUpProcessor bootcampCatchUpProcessor;
+    @Mock
+    private SimulationTraceRecorder traceRecorder;
+
+    @InjectMocks
+    private MatchEngineService matchEngineService;
+
+    @Test
+    void replay_reproducesStoredOutcomeFromSeedAndInputSnapshot() {
+        HeroCatalog catalog = catalog(MetaTier.S, MetaTier.B);
+        MatchSnapshot match = match(3, Set.of(PlayerTrait.CLUTCH_FACTOR), 7, Set.of(PlayerTrait.CLUTCH_FACTOR));
+        when(heroCatalogService.current()).thenReturn(catalog);
+        when(matchRepository.updateStatusIfCurrent(eq(match.matchId()), any(), any(), any())).thenReturn(1);
+
+        matchEngineService.simulate(match);
+
+        ArgumentCaptor<MatchEngineService.RosterPerformance> home = ArgumentCaptor.forClass(MatchEngineService.RosterPerformance.class);
+        ArgumentCaptor<MatchEngineService.RosterPerformance> away = ArgumentCaptor.forClass(MatchEngineService.RosterPerformance.class);
+        ArgumentCaptor<UUID> winner = ArgumentCaptor.forClass(UUID.class);
+        ArgumentCaptor<Long> seed = ArgumentCaptor.forClass(Long.class);
+        ArgumentCaptor<String> fingerprint = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<MatchSnapshot> input = ArgumentCaptor.forClass(MatchSnapshot.class);
+        verify(matchResultService).createResult(eq(match.matchId()), any(), any(), home.capture(), away.capture(),
+                winner.capture(), any(), seed.capture(), fingerprint.capture(), input.capture(), any());
+
+        MatchResult stored = MatchResult.builder()
+                .matchId(match.matchId())
+                .winnerRosterId(winner.getValue())
+                .homeTotalPerformance(home.getValue().totalStrength())
+                .awayTotalPerformance(away.getValue().totalStrength())
+                .seed(seed.getValue())
+                .heroCatalogFingerprint(fingerprint.getValue())
+                .inputSnapshot(input.getValue())
+                .build();
+        when(matchResultService.findByMatchId(match.matchId())).thenReturn(Optional.of(stored));
+
+        MatchReplayResponse replay = matchEngineService.replay(match.matchId());
+
+        assertTrue(replay.isIdentical());
+        assertEquals(winner.getValue(), replay.getReplayedWinnerRosterId());
+        assertEquals(10, replay.getHeroPicks().size());
+        assertEquals(10, input.getValue().players().size());
+    }
+}
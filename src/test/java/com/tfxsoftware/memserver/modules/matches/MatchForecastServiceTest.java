@@ -0,0 +1,36 @@
+package com.tfxsoftware.memserver.modules.matches;
+
+import com.tfxsoftware.memserver.modules.heroes.Hero.MetaTier;
+import com.tfxsoftware.memserver.modules.heroes.HeroCatalog;
+import com.tfxsoftware.memserver.modules.matches.engine.DraftIntent;
+import com.tfxsoftware.memserver.modules.matches.engine.DraftResolver;
+import com.tfxsoftware.memserver.modules.matches.engine.MatchSnapshot;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static com.tfxsoftware.memserver.modules.matches.engine.EngineTestFixtures.catalog;
+import static com.tfxsoftware.memserver.modules.matches.engine.EngineTestFixtures.match;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class MatchForecastServiceTest {
+
+    @Test
+    void run_isStableForSameSeedAndCountsEveryTrial() {
+        HeroCatalog catalog = catalog(MetaTier.S, MetaTier.A, MetaTier.B);
+        MatchSnapshot match = match(5, 5);
+        List<DraftIntent> own = DraftResolver.defaultIntentions(match, match.home());
+        List<DraftIntent> opponent = DraftResolver.defaultIntentions(match, match.away());
+
+        MatchForecastService.Forecast first = MatchForecastService.run(match, true, own, List.of(), opponent, catalog, 500, new SplittableRandom(7L));
+        MatchForecastService.Forecast second = MatchForecastService.run(match, true, own, List.of(), opponent, catalog, 500, new SplittableRandom(7L));
+
+        assertEquals(first.winProbability(), second.winProbability());
+        assertEquals(first.expectedStrength(), second.expectedStrength());
+        assertTrue(first.winProbability() >= 0.05 && first.winProbability() <= 0.95);
+        for (Map<UUID, int[]> counts : first.pickCounts()) {
+            assertEquals(500, counts.values().stream().mapToInt(c -> c[0]).sum());
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.tfxsoftware.memserver.modules.matches;
+
+import com.tfxsoftware.memserver.modules.bootcamps.BootcampCatchUpProcessor;
+import com.tfxsoftware.memserver.modules.events.league.LeagueGenerator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class MatchOrchestratorTest {
+
+    @Mock
+    private MatchClaimService matchClaimService;
+    @Mock
+    private MatchBatchLoader matchBatchLoader;
+    @Mock
+    private MatchSimulationExecutor matchSimulationExecutor;
+    @Mock
+    private PostMatchProcessor postMatchProcessor;
+    @Mock
+    private LeagueGenerator leagueGenerator;
+    @Mock
+    private BootcampCatchUpProcessor bootcampCatchUpProcessor;
+
+    @InjectMocks
+    private MatchOrchestrator matchOrchestrator;
+
+    @Test
+    void runScheduledMatches_drainsBacklogBatchByBatchWithKeysetCursor() {
+        MatchClaimService.Cursor first = new MatchClaimService.Cursor(LocalDateTime.now().minusHours(3), UUID.randomUUID());
+        MatchClaimService.Cursor second = new MatchClaimService.Cursor(LocalDateTime.now().minusHours(2), UUID.randomUUID());
+        when(matchClaimService.claimDue(any(), isNull()))
+                .thenReturn(new MatchClaimService.Claim(List.of(UUID.randomUUID(), UUID.randomUUID()), first, true));
+        when(matchClaimService.claimDue(any(), eq(first)))
+                .thenReturn(new MatchClaimService.Claim(List.of(UUID.randomUUID(), UUID.randomUUID()), second, true));
+        when(matchClaimService.claimDue(any(), eq(second)))
+                .thenReturn(new MatchClaimService.Claim(List.of(UUID.randomUUID()), second, false));
+        when(matchClaimService.backlog(any())).thenReturn(backlog(3));
+        when(matchBatchLoader.load(any())).thenReturn(List.of());
+
+        matchOrchestrator.runScheduledMatches();
+
+        verify(matchBatchLoader, times(3)).load(any());
+        verify(matchClaimService, times(3)).claimDue(any(), any());
+    }
+
+    @Test
+    void runScheduledMatches_singlePartialBatchSkipsCatchUp() {
+        when(matchClaimService.claimDue(any(), isNull()))
+                .thenReturn(new MatchClaimService.Claim(List.of(UUID.randomUUID()), null, false));
+        when(matchBatchLoader.load(any())).thenReturn(List.of());
+
+        matchOrchestrator.runScheduledMatches();
+
+        InOrder order = inOrder(bootcampCatchUpProcessor, matchBatchLoader);
+        order.verify(bootcampCatchUpProcessor).beforeMatches(any());
+        order.verify(matchBatchLoader).load(any());
+        verify(matchClaimService, never()).backlog(any());
+    }
+
+    private static MatchRepository.BacklogView backlog(long overdue) {
+        return new MatchRepository.BacklogView() {
+            @Override
+            public long getOverdue() {
+                return overdue;
+            }
+
+            @Override
+            public LocalDateTime getOldestScheduledTime() {
+                return LocalDateTime.now().minusHours(3);
+            }
+        };
+    }
+}
@@ -0,0 +1,117 @@
+package com.tfxsoftware.memserver.modules.matches;
+
+import com.tfxsoftware.memserver.modules.heroes.Hero.HeroRole;
+import com.tfxsoftware.memserver.modules.matches.engine.DraftIntent;
+import com.tfxsoftware.memserver.modules.matches.engine.MatchSnapshot;
+import com.tfxsoftware.memserver.modules.matches.engine.RosterSnapshot;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.*;
+
+public class MatchSimulationExecutorTest {
+
+    private final UUID a = UUID.randomUUID();
+    private final UUID b = UUID.randomUUID();
+    private final UUID c = UUID.randomUUID();
+    private final UUID d = UUID.randomUUID();
+    private final UUID e = UUID.randomUUID();
+    private final UUID f = UUID.randomUUID();
+
+    @Test
+    void partitionByRoster_disjointMatchesRunIndependently() {
+        MatchSnapshot ab = match(a, b, List.of());
+        MatchSnapshot cd = match(c, d, List.of());
+        MatchSnapshot ef = match(e, f, List.of());
+
+        List<List<MatchSnapshot>> partitions = MatchSimulationExecutor.partitionByRoster(List.of(ab, cd, ef));
+
+        assertEquals(List.of(List.of(ab), List.of(cd), List.of(ef)), partitions);
+    }
+
+    @Test
+    void partitionByRoster_sharedRostersAreChainedInOrder() {
+        MatchSnapshot ab = match(a, b, List.of());
+        MatchSnapshot cd = match(c, d, List.of());
+        MatchSnapshot bc = match(b, c, List.of());
+        MatchSnapshot ef = match(e, f, List.of());
+
+        List<List<MatchSnapshot>> partitions = MatchSimulationExecutor.partitionByRoster(List.of(ab, cd, bc, ef));
+
+        assertEquals(List.of(List.of(ab, cd, bc), List.of(ef)), partitions);
+    }
+
+    @Test
+    void partitionByRoster_sharedPickPlayerIsChained() {
+        UUID player = UUID.randomUUID();
+        MatchSnapshot ab = match(a, b, List.of(new DraftIntent(player, HeroRole.MID, null, null, null, 1)));
+        MatchSnapshot cd = match(c, d, List.of(new DraftIntent(player, HeroRole.MID, null, null, null, 1)));
+
+        List<List<MatchSnapshot>> partitions = MatchSimulationExecutor.partitionByRoster(List.of(ab, cd));
+
+        assertEquals(List.of(List.of(ab, cd)), partitions);
+    }
+
+    @Test
+    void run_laterMatchOfARosterIsSimulatedWithRefreshedRosters() {
+        MatchEngineService engine = mock(MatchEngineService.class);
+        MatchBatchLoader loader = mock(MatchBatchLoader.class);
+        MatchSimulationExecutor executor = new MatchSimulationExecutor(engine, loader, mock(MatchClaimService.class), true, 4);
+        MatchSnapshot ab = match(a, b, List.of());
+        MatchSnapshot cd = match(c, d, List.of());
+        MatchSnapshot ac = match(a, c, List.of());
+        MatchSnapshot refreshed = match(a, c, List.of());
+        when(loader.withFreshRosters(ac)).thenReturn(refreshed);
+
+        assertEquals(3, executor.run(List.of(ab, cd, ac)));
+
+        InOrder order = inOrder(engine);
+        order.verify(engine).simulate(ab);
+        order.verify(engine).simulate(cd);
+        order.verify(engine).simulate(refreshed);
+        verify(loader, never()).withFreshRosters(ab);
+        verify(loader, never()).withFreshRosters(cd);
+    }
+
+    @Test
+    void run_failedSimulationReleasesItsClaim() {
+        MatchEngineService engine = mock(MatchEngineService.class);
+        MatchClaimService claims = mock(MatchClaimService.class);
+        MatchSimulationExecutor executor = new MatchSimulationExecutor(engine, mock(MatchBatchLoader.class), claims, false, 1);
+        MatchSnapshot ab = match(a, b, List.of());
+        doThrow(new IllegalStateException("broken draft")).when(engine).simulate(ab);
+
+        assertEquals(0, executor.run(List.of(ab)));
+
+        verify(claims).release(ab.matchId(), ab.claimToken());
+    }
+
+    private static MatchSnapshot match(UUID home, UUID away, List<DraftIntent> homeIntentions) {
+        return new MatchSnapshot(
+                UUID.randomUUID(),
+                Match.MatchStatus.CLAIMED,
+                UUID.randomUUID(),
+                LocalDateTime.now(),
+                null,
+                false,
+                roster(home),
+                roster(away),
+                List.of(),
+                List.of(),
+                homeIntentions,
+                List.of(),
+                Map.of()
+        );
+    }
+
+    private static RosterSnapshot roster(UUID id) {
+        return new RosterSnapshot(id, "Roster", BigDecimal.ZERO, new BigDecimal("5.00"), 100, List.of());
+    }
+}
@@ -0,0 +1,46 @@
+package com.tfxsoftware.memserver.modules.matches;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MatchSlotAllocatorTest {
+
+    private static final LocalDateTime BLOCK = LocalDateTime.of(2026, 1, 1, 12, 0);
+
+    @Test
+    void stagger_spreadsSharedBlockOverFreeMinutes() {
+        // Another event already fills the nominal minute
+        List<LocalDateTime> nominal = Collections.nCopies(5, BLOCK);
+
+        List<LocalDateTime> slots = MatchSlotAllocator.stagger(nominal, Map.of(BLOCK, 2L), 2, 30);
+
+        assertEquals(List.of(BLOCK.plusMinutes(1), BLOCK.plusMinutes(1), BLOCK.plusMinutes(2),
+                BLOCK.plusMinutes(2), BLOCK.plusMinutes(3)), slots);
+    }
+
+    @Test
+    void stagger_staysInsideJitterWindowAndKeepsOrder() {
+        List<LocalDateTime> nominal = List.of(BLOCK, BLOCK, BLOCK, BLOCK.plusMinutes(10));
+
+        List<LocalDateTime> slots = MatchSlotAllocator.stagger(nominal, Map.of(), 1, 1);
+
+        // Window is full after two matches: the least loaded minute in it takes the rest
+        assertEquals(List.of(BLOCK, BLOCK.plusMinutes(1), BLOCK.plusMinutes(1), BLOCK.plusMinutes(10)), slots);
+    }
+
+    @Test
+    void stagger_laterRoundsStartBehindTheLatestAllocatedSlot() {
+        // An earlier allocation pushed the previous round to 12:25, past this round's nominal window
+        List<LocalDateTime> nominal = List.of(BLOCK.plusMinutes(5), BLOCK.plusMinutes(5), BLOCK.plusMinutes(40));
+
+        List<LocalDateTime> slots = MatchSlotAllocator.stagger(nominal, Map.of(), 10, 10, BLOCK.plusMinutes(25));
+
+        assertEquals(List.of(BLOCK.plusMinutes(25), BLOCK.plusMinutes(25), BLOCK.plusMinutes(40)), slots);
+    }
+}
@@ -0,0 +1,70 @@
+package com.tfxsoftware.memserver.modules.matches.engine;
+
+import com.tfxsoftware.memserver.modules.heroes.Hero;
+import com.tfxsoftware.memserver.modules.heroes.Hero.HeroArchetype;
+import com.tfxsoftware.memserver.modules.heroes.Hero.HeroRole;
+import com.tfxsoftware.memserver.modules.heroes.Hero.MetaTier;
+import com.tfxsoftware.memserver.modules.heroes.HeroCatalog;
+import com.tfxsoftware.memserver.modules.matches.Match;
+import com.tfxsoftware.memserver.modules.players.Player.PlayerTrait;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Small in-memory engine inputs shared by the unit tests (the benchmarks use their own seeded EngineFixtures).
+ */
+public final class EngineTestFixtures {
+
+    private EngineTestFixtures() {
+    }
+
+    /**
+     * One hero per role and tier, archetypes assigned round-robin.
+     */
+    public static HeroCatalog catalog(MetaTier... tiers) {
+        List<Hero> heroes = new ArrayList<>();
+        HeroArchetype[] archetypes = HeroArchetype.values();
+        int i = 0;
+        for (HeroRole role : HeroRole.values()) {
+            for (MetaTier tier : tiers) {
+                heroes.add(Hero.builder()
+                        .id(UUID.randomUUID())
+                        .name("Hero" + i)
+                        .primaryRole(role)
+                        .primaryTier(tier)
+                        .archetype(archetypes[i % archetypes.length])
+                        .build());
+                i++;
+            }
+        }
+        return HeroCatalog.of(1L, heroes);
+    }
+
+    public static MatchSnapshot match(int homeLevel, int awayLevel) {
+        return match(homeLevel, Set.of(), awayLevel, Set.of());
+    }
+
+    /**
+     * A scheduled match between two five-player rosters; each player has the given level in their own role
+     * and the given traits.
+     */
+    public static MatchSnapshot match(int homeLevel, Set<PlayerTrait> homeTraits, int awayLevel, Set<PlayerTrait> awayTraits) {
+        Map<UUID, PlayerSnapshot> players = new HashMap<>();
+        RosterSnapshot home = roster("Home", players, homeLevel, homeTraits);
+        RosterSnapshot away = roster("Away", players, awayLevel, awayTraits);
+        return new MatchSnapshot(UUID.randomUUID(), Match.MatchStatus.SCHEDULED, null, LocalDateTime.now(), null, false,
+                home, away, List.of(), List.of(), List.of(), List.of(), players);
+    }
+
+    private static RosterSnapshot roster(String name, Map<UUID, PlayerSnapshot> players, int level, Set<PlayerTrait> traits) {
+        List<UUID> members = new ArrayList<>();
+        for (HeroRole role : HeroRole.values()) {
+            UUID id = UUID.randomUUID();
+            members.add(id);
+            players.put(id, new PlayerSnapshot(id, name + "-" + role, traits, Map.of(role, level), Map.of()));
+        }
+        return new RosterSnapshot(UUID.randomUUID(), name, new BigDecimal("5.00"), new BigDecimal("5.00"), 100, members);
+    }
+}
@@ -0,0 +1,144 @@
+package com.tfxsoftware.memserver.modules.matches.engine;
+
+import com.tfxsoftware.memserver.modules.heroes.Hero;
+import com.tfxsoftware.memserver.modules.heroes.Hero.HeroArchetype;
+import com.tfxsoftware.memserver.modules.heroes.Hero.HeroRole;
+import com.tfxsoftware.memserver.modules.heroes.Hero.MetaTier;
+import com.tfxsoftware.memserver.modules.heroes.HeroCatalog;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Checks the primitive kernel against the original BigDecimal formulas of MatchEngineService.
+ */
+public class ScoringKernelTest {
+
+    @Test
+    void playerPerformance_matchesBigDecimalFormulaToTheCent() {
+        for (MetaTier primaryTier : MetaTier.values()) {
+            for (MetaTier secondaryTier : new MetaTier[]{null, MetaTier.S, MetaTier.D}) {
+                Hero hero = hero(HeroRole.MID, primaryTier, HeroRole.SUPPORT, secondaryTier, HeroArchetype.MAGE);
+                for (HeroRole role : HeroRole.values()) {
+                    for (int roleLevel = 1; roleLevel <= 30; roleLevel++) {
+                        for (int heroLevel = 1; heroLevel <= 30; heroLevel++) {
+                            for (boolean loneWolf : new boolean[]{false, true}) {
+                                BigDecimal expected = referencePlayerPerformance(roleLevel, heroLevel, hero, role, loneWolf);
+                                double actual = ScoringKernel.playerPerformance(roleLevel,
+                                        ScoringKernel.roleEfficiency(hero, role), heroLevel,
+                                        ScoringKernel.metaMultiplier(hero, role), loneWolf);
+                                assertEquals(expected, ScoringKernel.toCents(actual),
+                                        "role " + role + " RS " + roleLevel + " CS " + heroLevel + " loneWolf " + loneWolf);
+                            }
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void rosterStrength_matchesBigDecimalFormulaWithinTolerance() {
+        BigDecimal[] sums = {new BigDecimal("0.00"), new BigDecimal("7.37"), new BigDecimal("61.25"), new BigDecimal("143.99")};
+        BigDecimal[] cohesions = {new BigDecimal("0.00"), new BigDecimal("3.35"), new BigDecimal("10.00")};
+        BigDecimal[] morales = {new BigDecimal("0.00"), new BigDecimal("5.00"), new BigDecimal("7.25"), new BigDecimal("10.00")};
+        int[] energies = {0, 29, 30, 74, 75, 100};
+
+        for (BigDecimal sum : sums) {
+            for (int counters = 0; counters <= 6; counters += 3) {
+                for (int synergies = 0; synergies <= 4; synergies += 2) {
+                    for (BigDecimal cohesion : cohesions) {
+                        for (BigDecimal morale : morales) {
+                            for (int energy : energies) {
+                                BigDecimal expected = referenceRosterStrength(sum, counters, synergies, cohesion, morale, energy);
+                                double actual = ScoringKernel.rosterStrength(sum.doubleValue(), counters, synergies,
+                                        cohesion.doubleValue(), morale.doubleValue(), energy);
+                                assertEquals(expected.doubleValue(), actual, 1e-9);
+                            }
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void counterAndSynergyPoints_matchArchetypeRules() {
+        List<Hero> team = List.of(
+                hero(HeroRole.TOP, MetaTier.A, null, null, HeroArchetype.TANK),
+                hero(HeroRole.MID, MetaTier.A, null, null, HeroArchetype.MAGE),
+                hero(HeroRole.SUPPORT, MetaTier.A, null, null, HeroArchetype.ENCHANTER));
+        List<Hero> opponents = List.of(
+                hero(HeroRole.JUNGLE, MetaTier.A, null, null, HeroArchetype.ASSASSIN),
+                hero(HeroRole.CARRY, MetaTier.A, null, null, HeroArchetype.MARKSMAN),
+                hero(HeroRole.TOP, MetaTier.A, null, null, HeroArchetype.BRUISER));
+
+        int expectedCounters = 0;
+        for (Hero t : team) {
+            for (Hero o : opponents) {
+                if (t.getArchetype().counters(o.getArchetype())) expectedCounters++;
+            }
+        }
+        int expectedSynergies = 0;
+        for (int i = 0; i < team.size(); i++) {
+            for (int j = i + 1; j < team.size(); j++) {
+                if (team.get(i).getArchetype().synergizesWith(team.get(j).getArchetype())) expectedSynergies++;
+            }
+        }
+
+        HeroCatalog catalog = HeroCatalog.of(1L, List.of());
+        assertEquals(expectedCounters, ScoringKernel.counterPoints(team, opponents, catalog));
+        assertEquals(expectedSynergies, ScoringKernel.synergyPoints(team, catalog));
+    }
+
+    @Test
+    void homeWinProbability_appliesClutchWindowAndClamp() {
+        assertEquals(1.0, ScoringKernel.homeWinProbability(0, 0, false, false));
+        assertEquals(0.5, ScoringKernel.homeWinProbability(50, 50, false, false), 1e-12);
+        assertEquals(0.7, ScoringKernel.homeWinProbability(50, 50, true, false), 1e-12);
+        assertEquals(0.3, ScoringKernel.homeWinProbability(50, 50, false, true), 1e-12);
+        assertEquals(0.5, ScoringKernel.homeWinProbability(50, 50, true, true), 1e-12);
+        assertEquals(0.95, ScoringKernel.homeWinProbability(100, 1, true, false), 1e-12);
+        assertEquals(0.05, ScoringKernel.homeWinProbability(1, 100, false, false), 1e-12);
+    }
+
+    private static BigDecimal referencePlayerPerformance(int roleLevel, int heroLevel, Hero hero, HeroRole role, boolean loneWolf) {
+        BigDecimal effectiveRS = new BigDecimal(roleLevel).multiply(hero.getEfficiencyForRole(role));
+        BigDecimal rolePower = effectiveRS.multiply(new BigDecimal("0.60"));
+        BigDecimal heroPower = new BigDecimal(heroLevel).multiply(hero.getMultiplierForRole(role)).multiply(new BigDecimal("0.40"));
+        BigDecimal pPower = rolePower.add(heroPower);
+        if (loneWolf) {
+            pPower = pPower.multiply(new BigDecimal("1.10"));
+        }
+        return pPower.setScale(2, RoundingMode.HALF_UP);
+    }
+
+    private static BigDecimal referenceRosterStrength(BigDecimal sum, int counters, int synergies, BigDecimal cohesion, BigDecimal morale, int energy) {
+        BigDecimal counterStrength = new BigDecimal(counters).multiply(new BigDecimal("5.00"));
+        BigDecimal synergyStrength = new BigDecimal(synergies).multiply(new BigDecimal("3.00"));
+        BigDecimal cohesionMult = BigDecimal.ONE.add(cohesion.divide(new BigDecimal("100"), 4, RoundingMode.HALF_UP));
+        BigDecimal moraleMult = BigDecimal.ONE.add(morale.subtract(new BigDecimal("5.0")).divide(new BigDecimal("50"), 4, RoundingMode.HALF_UP));
+        BigDecimal energyMult = energy >= 75 ? BigDecimal.ONE : energy >= 30 ? new BigDecimal("0.90") : new BigDecimal("0.50");
+        return sum.add(counterStrength).add(synergyStrength)
+                .multiply(cohesionMult)
+                .multiply(moraleMult)
+                .multiply(energyMult);
+    }
+
+    private static Hero hero(HeroRole primaryRole, MetaTier primaryTier, HeroRole secondaryRole, MetaTier secondaryTier, HeroArchetype archetype) {
+        return Hero.builder()
+                .id(UUID.randomUUID())
+                .name("Hero-" + UUID.randomUUID())
+                .primaryRole(primaryRole)
+                .primaryTier(primaryTier)
+                .secondaryRole(secondaryRole)
+                .secondaryTier(secondaryTier)
+                .archetype(archetype)
+                .build();
+    }
+}
@@ -0,0 +1,40 @@
+package com.tfxsoftware.memserver.modules.matches.engine;
+
+import com.tfxsoftware.memserver.modules.heroes.Hero.MetaTier;
+import com.tfxsoftware.memserver.modules.heroes.HeroCatalog;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static com.tfxsoftware.memserver.modules.matches.engine.EngineTestFixtures.catalog;
+import static com.tfxsoftware.memserver.modules.matches.engine.EngineTestFixtures.match;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+public class SimulationKernelTest {
+
+    @Test
+    void simulate_sameInputsGiveSameOutcome() {
+        HeroCatalog catalog = catalog(MetaTier.S, MetaTier.B);
+        MatchSnapshot match = match(3, 7);
+
+        SimulationOutcome first = SimulationKernel.simulate(match, catalog, 42L);
+        SimulationOutcome second = SimulationKernel.simulate(match, catalog, 42L);
+
+        assertEquals(first.winnerId(), second.winnerId());
+        assertEquals(first.home().strength(), second.home().strength());
+        assertEquals(first.away().strength(), second.away().strength());
+        assertEquals(first.finalizedPicks(), second.finalizedPicks());
+        assertEquals(10, first.finalizedPicks().size());
+    }
+
+    @Test
+    void simulate_defaultIntentionsNeverPickTheSameHeroTwice() {
+        SimulationOutcome outcome = SimulationKernel.simulate(match(3, 7), catalog(MetaTier.S, MetaTier.B), 1L);
+
+        Set<UUID> heroIds = new HashSet<>();
+        outcome.finalizedPicks().values().forEach(hero -> heroIds.add(hero.getId()));
+        assertEquals(10, heroIds.size());
+        assertNotEquals(0.0, outcome.home().strength());
+    }
+}
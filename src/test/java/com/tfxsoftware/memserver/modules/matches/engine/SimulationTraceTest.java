@@ -0,0 +1,34 @@
+package com.tfxsoftware.memserver.modules.matches.engine;
+
+import com.tfxsoftware.memserver.modules.heroes.Hero;
+import com.tfxsoftware.memserver.modules.heroes.Hero.MetaTier;
+import com.tfxsoftware.memserver.modules.heroes.HeroCatalog;
+import com.tfxsoftware.memserver.modules.players.Player.PlayerTrait;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static com.tfxsoftware.memserver.modules.matches.engine.EngineTestFixtures.catalog;
+import static com.tfxsoftware.memserver.modules.matches.engine.EngineTestFixtures.match;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SimulationTraceTest {
+
+    @Test
+    void render_explainsRecordedSimulation() {
+        HeroCatalog catalog = catalog(MetaTier.S, MetaTier.B);
+        MatchSnapshot match = match(10, Set.of(PlayerTrait.LONE_WOLF), 10, Set.of(PlayerTrait.CLUTCH_FACTOR));
+        SimulationOutcome outcome = SimulationKernel.simulate(match, catalog, 99L);
+
+        String text = SimulationTrace.render(SimulationTrace.record(match, outcome, catalog, 99L), catalog);
+
+        assertTrue(text.startsWith("Simulation trace v1 (seed 99)"));
+        assertTrue(text.contains("HOME: (players"));
+        assertTrue(text.contains("AWAY counters:"));
+        assertTrue(text.contains("lone wolf"));
+        assertTrue(text.contains(String.format(Locale.ROOT, "clamped %.4f", outcome.homeWinProbability())));
+        for (Hero hero : outcome.finalizedPicks().values()) {
+            assertTrue(text.contains(hero.getName()));
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.tfxsoftware.memserver.modules.matches.lab;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class BalanceLabTest {
+
+    @Test
+    void run_simulatesEveryScheduledMatch() {
+        // 6 teams, double round robin: 5 rounds * 3 matches * 2
+        BalanceReport report = new BalanceLab(new BalanceLab.Config(40, 6, 2, 2, 0.25, 7L, 4), BalanceLab.seedCatalog()).run();
+
+        assertEquals(40 * 30, report.matches());
+        assertEquals(40 * 30 * 10, report.heroes().stream().mapToLong(BalanceReport.HeroStats::picks).sum());
+    }
+
+    @Test
+    void run_resultsDoNotDependOnParallelism() {
+        BalanceReport single = new BalanceLab(new BalanceLab.Config(50, 6, 1, 1, 0.5, 3L, 1), BalanceLab.seedCatalog()).run();
+        BalanceReport parallel = new BalanceLab(new BalanceLab.Config(50, 6, 1, 1, 0.5, 3L, 4), BalanceLab.seedCatalog()).run();
+
+        assertEquals(single.heroes(), parallel.heroes());
+        assertEquals(single.matchups(), parallel.matchups());
+    }
+}
@@ -0,0 +1,61 @@
+package com.tfxsoftware.memserver.modules.players;
+
+import com.tfxsoftware.memserver.modules.heroes.Hero.HeroRole;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class MasteryServiceTest {
+
+    @Mock
+    private PlayerHeroMasteryRepository heroMasteryRepository;
+
+    @InjectMocks
+    private MasteryService masteryService;
+
+    @Test
+    void applyExperience_sumsGrantsPerKeyAndReportsLevelUps() {
+        UUID playerId = UUID.randomUUID();
+        UUID heroId = UUID.randomUUID();
+        when(heroMasteryRepository.upsertExperience(any(), any(), any(), any(), any(), any(), any())).thenReturn(List.of(
+                row(playerId, "MID", null, 200L, 2),   // 0 -> 200 XP: level 1 -> 2
+                row(playerId, null, heroId, 100L, 1)));
+
+        List<MasteryService.LevelUp> levelUps = masteryService.applyExperience(List.of(
+                MasteryService.XpGrant.role(playerId, HeroRole.MID, 120L),
+                MasteryService.XpGrant.role(playerId, HeroRole.MID, 80L),
+                MasteryService.XpGrant.hero(playerId, heroId, 100L)));
+
+        ArgumentCaptor<Long[]> roleAmounts = ArgumentCaptor.forClass(Long[].class);
+        verify(heroMasteryRepository).upsertExperience(any(), any(), roleAmounts.capture(), any(), any(), any(), any());
+        assertArrayEquals(new Long[]{200L}, roleAmounts.getValue());
+        assertEquals(List.of(new MasteryService.LevelUp(playerId, HeroRole.MID, null, 1, 2)), levelUps);
+    }
+
+    @Test
+    void applyExperience_withoutGrantsSkipsTheDatabase() {
+        assertTrue(masteryService.applyExperience(List.of()).isEmpty());
+        verifyNoInteractions(heroMasteryRepository);
+    }
+
+    private static PlayerHeroMasteryRepository.MasteryGainView row(UUID playerId, String role, UUID heroId, long experience, int level) {
+        return new PlayerHeroMasteryRepository.MasteryGainView() {
+            public UUID getPlayerId() { return playerId; }
+            public String getRole() { return role; }
+            public UUID getHeroId() { return heroId; }
+            public long getExperience() { return experience; }
+            public int getLevel() { return level; }
+        };
+    }
+}
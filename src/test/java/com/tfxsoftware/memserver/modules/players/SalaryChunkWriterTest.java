@@ -0,0 +1,68 @@
+package com.tfxsoftware.memserver.modules.players;
+
+import com.tfxsoftware.memserver.modules.bootcamps.BootcampService;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class SalaryChunkWriterTest {
+
+    @Mock
+    private PlayerRepository playerRepository;
+    @Mock
+    private SalarySettlementWriter settlementWriter;
+    @Mock
+    private BootcampService bootcampService;
+    @Mock
+    private EntityManager entityManager;
+    @InjectMocks
+    private SalaryChunkWriter writer;
+
+    @Test
+    void pay_releasesInsolventOwnersPlayersAndStopsTheirBootcampsOnFreshRosters() {
+        LocalDateTime now = LocalDateTime.of(2026, 1, 1, 12, 0);
+        UUID solvent = UUID.randomUUID();
+        UUID inDebt = UUID.randomUUID();
+        UUID rosterId = UUID.randomUUID();
+        when(settlementWriter.chargeDueSalaries(List.of(solvent, inDebt), now)).thenReturn(List.of(solvent));
+        when(playerRepository.advanceSalaryDates(List.of(solvent), now)).thenReturn(3);
+        when(settlementWriter.releaseDuePlayers(Set.of(inDebt), now)).thenReturn(List.of(rosterId));
+
+        SalaryChunkWriter.ChunkResult result = writer.pay(List.of(solvent, inDebt), now);
+
+        assertEquals(new SalaryChunkWriter.ChunkResult(1, 3, 1, 1), result);
+        InOrder order = inOrder(settlementWriter, entityManager, bootcampService);
+        order.verify(settlementWriter).releaseDuePlayers(Set.of(inDebt), now);
+        order.verify(entityManager).clear();
+        order.verify(bootcampService).stopBootcamps(List.of(rosterId));
+    }
+
+    @Test
+    void pay_allOwnersChargedReleasesNobody() {
+        LocalDateTime now = LocalDateTime.of(2026, 1, 1, 12, 0);
+        UUID owner = UUID.randomUUID();
+        when(settlementWriter.chargeDueSalaries(List.of(owner), now)).thenReturn(List.of(owner));
+        when(playerRepository.advanceSalaryDates(List.of(owner), now)).thenReturn(1);
+
+        SalaryChunkWriter.ChunkResult result = writer.pay(List.of(owner), now);
+
+        assertEquals(new SalaryChunkWriter.ChunkResult(1, 1, 0, 0), result);
+        verify(settlementWriter, never()).releaseDuePlayers(anyCollection(), any());
+        verifyNoInteractions(bootcampService);
+    }
+}
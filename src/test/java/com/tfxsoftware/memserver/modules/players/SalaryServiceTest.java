@@ -0,0 +1,47 @@
+package com.tfxsoftware.memserver.modules.players;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class SalaryServiceTest {
+
+    @Mock
+    private PlayerRepository playerRepository;
+    @Mock
+    private SalaryChunkWriter chunkWriter;
+
+    @Test
+    void processSalaries_walksOwnersInKeysetChunksAndSurvivesAFailedChunk() {
+        SalaryService service = new SalaryService(playerRepository, chunkWriter, 2);
+        UUID a = new UUID(0L, 1L);
+        UUID b = new UUID(0L, 2L);
+        UUID c = new UUID(0L, 3L);
+        UUID d = new UUID(0L, 4L);
+        UUID e = new UUID(0L, 5L);
+        when(playerRepository.findOwnersWithSalaryDue(any(), eq(new UUID(0L, 0L)), eq(2))).thenReturn(List.of(a, b));
+        when(playerRepository.findOwnersWithSalaryDue(any(), eq(b), eq(2))).thenReturn(List.of(c, d));
+        when(playerRepository.findOwnersWithSalaryDue(any(), eq(d), eq(2))).thenReturn(List.of(e));
+        when(chunkWriter.pay(eq(List.of(a, b)), any())).thenThrow(new IllegalStateException("deadlock"));
+        when(chunkWriter.pay(eq(List.of(c, d)), any())).thenReturn(new SalaryChunkWriter.ChunkResult(2, 5, 0, 0));
+        when(chunkWriter.pay(eq(List.of(e)), any())).thenReturn(new SalaryChunkWriter.ChunkResult(0, 0, 1, 1));
+
+        service.processSalaries();
+
+        verify(chunkWriter).pay(eq(List.of(c, d)), any(LocalDateTime.class));
+        verify(chunkWriter).pay(eq(List.of(e)), any(LocalDateTime.class));
+        // A short page is the last one: no query after it
+        verify(playerRepository, times(3)).findOwnersWithSalaryDue(any(), any(), anyInt());
+    }
+}
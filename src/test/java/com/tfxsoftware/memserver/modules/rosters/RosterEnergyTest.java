@@ -0,0 +1,33 @@
+package com.tfxsoftware.memserver.modules.rosters;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RosterEnergyTest {
+
+    private static final LocalDateTime UPDATED = LocalDateTime.of(2026, 1, 1, 12, 40);
+
+    @Test
+    void current_recoversPerHourBoundaryAtActivityRate() {
+        assertEquals(50, RosterEnergy.current(50, UPDATED, Roster.RosterActivity.IDLE, UPDATED.plusMinutes(19)));
+        assertEquals(52, RosterEnergy.current(50, UPDATED, Roster.RosterActivity.IDLE, UPDATED.plusMinutes(20)));
+        assertEquals(53, RosterEnergy.current(50, UPDATED, Roster.RosterActivity.IN_EVENT, UPDATED.plusHours(3)));
+        assertEquals(50, RosterEnergy.current(50, UPDATED, Roster.RosterActivity.BOOTCAMP, UPDATED.plusHours(3)));
+        assertEquals(RosterEnergy.MAX_ENERGY, RosterEnergy.current(50, UPDATED, Roster.RosterActivity.IDLE, UPDATED.plusDays(2)));
+    }
+
+    @Test
+    void settle_countsElapsedTimeAtThePreviousActivity() {
+        Roster roster = Roster.builder().energy(40).energyUpdatedAt(UPDATED).activity(Roster.RosterActivity.IDLE).build();
+
+        LocalDateTime joined = UPDATED.plusHours(2);
+        RosterEnergy.settle(roster, joined);
+        roster.setActivity(Roster.RosterActivity.IN_EVENT);
+
+        assertEquals(44, roster.getEnergy());
+        assertEquals(45, RosterEnergy.current(roster, joined.plusHours(1)));
+    }
+}
@@ -0,0 +1,54 @@
+package com.tfxsoftware.memserver.modules.users;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class BalanceServiceTest {
+
+    @Mock
+    private BalanceLedgerRepository ledgerRepository;
+
+    @InjectMocks
+    private BalanceService balanceService;
+
+    @Test
+    void debit_isOneGuardedUpdateWithNegatedAmount() {
+        UUID userId = UUID.randomUUID();
+        UUID eventId = UUID.randomUUID();
+        when(ledgerRepository.applyGuarded(eq(userId), eq(new BigDecimal("-150")), eq("ENTRY_FEE"), eq(eventId), any()))
+                .thenReturn(1);
+
+        assertTrue(balanceService.debit(userId, new BigDecimal("150"), BalanceLedgerEntry.Reason.ENTRY_FEE, eventId));
+        verify(ledgerRepository, never()).apply(any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void debit_returnsFalseWhenBalanceIsInsufficient() {
+        when(ledgerRepository.applyGuarded(any(), any(), any(), any(), any())).thenReturn(0);
+
+        assertFalse(balanceService.debit(UUID.randomUUID(), BigDecimal.TEN, BalanceLedgerEntry.Reason.ENTRY_FEE, null));
+    }
+
+    @Test
+    void movements_rejectNonPositiveAmounts() {
+        UUID userId = UUID.randomUUID();
+
+        assertThrows(IllegalArgumentException.class,
+                () -> balanceService.credit(userId, BigDecimal.ZERO, BalanceLedgerEntry.Reason.PRIZE, null));
+        assertThrows(IllegalArgumentException.class,
+                () -> balanceService.debit(userId, new BigDecimal("-1"), BalanceLedgerEntry.Reason.ENTRY_FEE, null));
+        verifyNoInteractions(ledgerRepository);
+    }
+}